@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import eclox.core.doxyfiles.Doxyfile;
+import eclox.core.doxyfiles.io.Parser;
+
+/**
+ * Measures the memory retained by parsed doxyfiles.
+ *
+ * The benchmark parses the same doxyfile several times, keeps all the results and
+ * reports the heap growth per doxyfile and per setting. Without argument, it runs
+ * on two generated doxyfiles: one with 3000 settings and one made mostly of
+ * comments. Otherwise it runs on the doxyfile given as argument.
+ *
+ * Compile it against the classes of the eclox.core plug-in and run it with the
+ * same class path plus the Eclipse runtime jars, for example:
+ *
+ * <pre>
+ * javac -cp bin:$ECLIPSE_JARS -d /tmp/bench misc/benchmark/MemoryBenchmark.java
+ * java -cp /tmp/bench:bin:$ECLIPSE_JARS MemoryBenchmark [doxyfile]
+ * </pre>
+ */
+public class MemoryBenchmark {
+
+    /**
+     * the number of parsed copies retained
+     */
+    private static final int COPIES = 30;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param   args    an optional path to a doxyfile
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            run(args[0], Files.readAllBytes(new File(args[0]).toPath()));
+        } else {
+            run("3000 settings", generateSettings(3000));
+            run("comments", generateComments(3000));
+        }
+    }
+
+    /**
+     * Parses the given content several times and reports the retained memory.
+     *
+     * @param   name    a string naming the content
+     * @param   content the content of a doxyfile
+     */
+    private static void run(String name, byte[] content) throws Exception {
+        // Warms up, so the classes and the setting schema do not count.
+        parse(content);
+
+        List<Doxyfile> retained = new ArrayList<Doxyfile>(COPIES);
+        long before = getUsedMemory();
+        for (int i = 0; i < COPIES; i++) {
+            retained.add(parse(content));
+        }
+        long after = getUsedMemory();
+
+        long perDoxyfile = (after - before) / COPIES;
+        int settings = retained.get(0).getSettings().length;
+        System.out.println(name + ": " + perDoxyfile / 1024 + " KiB per doxyfile, "
+                + ((settings > 0) ? perDoxyfile / settings : 0) + " bytes per setting ("
+                + settings + " settings, " + retained.get(0).getChunkCount() + " chunks)");
+    }
+
+    /**
+     * Parses the given content into a new doxyfile.
+     *
+     * @param   content the content of a doxyfile
+     *
+     * @return  a doxyfile
+     */
+    private static Doxyfile parse(byte[] content) throws Exception {
+        Doxyfile doxyfile = new Doxyfile(null, null);
+        new Parser(new ByteArrayInputStream(content)).read(doxyfile);
+        return doxyfile;
+    }
+
+    /**
+     * Retrieves the used heap memory, after collecting the garbage.
+     *
+     * @return  a number of bytes
+     */
+    private static long getUsedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Generates a doxyfile with the given number of settings, each preceded by a
+     * short comment like in doxygen templates.
+     *
+     * @param   count   the number of settings
+     *
+     * @return  the content of the doxyfile
+     */
+    private static byte[] generateSettings(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append("# The SETTING_").append(i).append(" tag is described here.\n\n");
+            text.append("SETTING_").append(i).append(" = value_").append(i).append(" \"quoted value\"\n\n");
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Generates a doxyfile made mostly of comment lines.
+     *
+     * @param   lines   the number of comment lines
+     *
+     * @return  the content of the doxyfile
+     */
+    private static byte[] generateComments(int lines) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            text.append("# This is the comment line ").append(i).append(" of a long description block.\n");
+            if (i % 100 == 99) {
+                text.append("SETTING_").append(i).append(" = YES\n");
+            }
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
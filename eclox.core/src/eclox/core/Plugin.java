@@ -24,6 +24,13 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.osgi.framework.BundleContext;
 
+import eclox.core.doxyfiles.DoxyfileManager;
+import eclox.core.doxyfiles.SettingIndex;
+import eclox.core.doxyfiles.SettingSchema;
+import eclox.core.doxyfiles.VariableExpander;
+import eclox.core.doxygen.Doxygen;
+import eclox.core.doxygen.LintJob;
+
 /**
  * Implements the core eclox plugin
  *
@@ -48,12 +55,18 @@ public class Plugin extends org.eclipse.core.runtime.Plugin {
      */
     public void start(BundleContext context) throws Exception {
         super.start(context);
+        SettingSchema.getDefault();
     }
 
     /**
      * This method is called when the plug-in is stopped
      */
     public void stop(BundleContext context) throws Exception {
+        DoxyfileManager.disposeDefault();
+        VariableExpander.disposeDefault();
+        SettingIndex.disposeDefault();
+        LintJob.disposeDefault();
+        Doxygen.disposeDefault();
         super.stop(context);
         plugin = null;
     }
@@ -94,6 +107,10 @@ public class Plugin extends org.eclipse.core.runtime.Plugin {
     }
 
     public static InputStream getResourceAsStream(IPath path) {
+        // Standalone tools, like the benchmarks, run without the plug-in.
+        if (plugin == null) {
+            return null;
+        }
         try {
             return FileLocator.openStream(plugin.getBundle(), path, true);
         } catch (IOException e) {
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implements a set of setting changes reported at once to the doxyfile listeners.
+ *
+ * Changes are coalesced: a setting whose value changed several times appears once,
+ * and so does a setting whose property changed or was removed several times.
+ */
+public final class ChangeSet {
+
+    /**
+     * the doxyfile the changes belong to
+     */
+    private final Doxyfile doxyfile;
+
+    /**
+     * the settings whose value changed, in order of the first change
+     */
+    private Set<Setting> valueChanges;
+
+    /**
+     * the settings whose property changed or was removed, by property name
+     */
+    private Map<String, Set<Setting>> propertyChanges;
+
+    /**
+     * Constructor
+     *
+     * @param	doxyfile	the doxyfile the changes belong to
+     */
+    ChangeSet(Doxyfile doxyfile) {
+        this.doxyfile = doxyfile;
+    }
+
+    /**
+     * Records a change of the value of the given setting.
+     *
+     * @param	setting	a setting
+     */
+    void addValueChange(Setting setting) {
+        if (valueChanges == null) {
+            valueChanges = new LinkedHashSet<Setting>();
+        }
+        valueChanges.add(setting);
+    }
+
+    /**
+     * Records a change or the removal of the given property of the given setting.
+     *
+     * @param	setting		a setting
+     * @param	property	a string containing a property name
+     */
+    void addPropertyChange(Setting setting, String property) {
+        if (propertyChanges == null) {
+            propertyChanges = new LinkedHashMap<String, Set<Setting>>();
+        }
+        Set<Setting> settings = propertyChanges.get(property);
+        if (settings == null) {
+            settings = new LinkedHashSet<Setting>();
+            propertyChanges.put(property, settings);
+        }
+        settings.add(setting);
+    }
+
+    /**
+     * Retrieves the doxyfile the changes belong to.
+     *
+     * @return	a doxyfile
+     */
+    public Doxyfile getDoxyfile() {
+        return doxyfile;
+    }
+
+    /**
+     * Tells if no change has been recorded.
+     *
+     * @return	true or false
+     */
+    public boolean isEmpty() {
+        return valueChanges == null && propertyChanges == null;
+    }
+
+    /**
+     * Retrieves the settings whose value changed.
+     *
+     * @return	a read-only collection of settings, in order of the first change
+     */
+    public Collection<Setting> getValueChanges() {
+        return (valueChanges != null) ? Collections.unmodifiableSet(valueChanges) : Collections.<Setting>emptySet();
+    }
+
+    /**
+     * Retrieves the names of the properties that changed or were removed.
+     *
+     * @return	a read-only collection of property names
+     */
+    public Collection<String> getChangedProperties() {
+        return (propertyChanges != null) ? Collections.unmodifiableSet(propertyChanges.keySet()) : Collections.<String>emptySet();
+    }
+
+    /**
+     * Retrieves the settings whose given property changed or was removed. Use
+     * {@link Setting#hasProperty(String)} to know which one happened last.
+     *
+     * @param	property	a string containing a property name
+     *
+     * @return	a read-only collection of settings, in order of the first change
+     */
+    public Collection<Setting> getPropertyChanges(String property) {
+        Set<Setting> settings = (propertyChanges != null) ? propertyChanges.get(property) : null;
+        return (settings != null) ? Collections.unmodifiableSet(settings) : Collections.<Setting>emptySet();
+    }
+
+}
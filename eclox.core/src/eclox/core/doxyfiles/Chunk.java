@@ -35,6 +35,31 @@ public abstract class Chunk {
      */
     private Doxyfile owner;
 
+    /**
+     * the first line of the chunk in the doxyfile (1-based), or 0 if unknown
+     */
+    private int firstLine;
+
+    /**
+     * the last line of the chunk in the doxyfile (1-based), or 0 if unknown
+     */
+    private int lastLine;
+
+    /**
+     * the offset of the first byte of the chunk in the doxyfile content, or -1 if unknown
+     */
+    private int startOffset = -1;
+
+    /**
+     * the offset after the last byte of the chunk in the doxyfile content, or -1 if unknown
+     */
+    private int endOffset = -1;
+
+    /**
+     * tells if the chunk has been changed since it has been read or saved
+     */
+    private boolean modified;
+
     /**
      * Retrieves the chunk owner.
      *
@@ -53,6 +78,95 @@ public abstract class Chunk {
         this.owner = owner;
     }
 
+    /**
+     * Retrieves the first line of the chunk in the doxyfile.
+     *
+     * @return	a 1-based line number, or 0 if unknown
+     */
+    public int getFirstLine() {
+        return firstLine;
+    }
+
+    /**
+     * Retrieves the last line of the chunk in the doxyfile.
+     *
+     * @return	a 1-based line number, or 0 if unknown
+     */
+    public int getLastLine() {
+        return lastLine;
+    }
+
+    /**
+     * Updates the lines covered by the chunk.
+     *
+     * @param	firstLine	the first line of the chunk
+     * @param	lastLine	the last line of the chunk
+     */
+    public void setLines(int firstLine, int lastLine) {
+        this.firstLine = firstLine;
+        this.lastLine = lastLine;
+        changed();
+    }
+
+    /**
+     * Retrieves the offset of the first byte of the chunk in the doxyfile content.
+     *
+     * @return	a byte offset, or -1 if unknown
+     */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /**
+     * Retrieves the offset after the last byte of the chunk in the doxyfile content,
+     * including the terminator of the last line.
+     *
+     * @return	a byte offset, or -1 if unknown
+     */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Updates the byte range of the chunk in the doxyfile content.
+     *
+     * @param	startOffset	the offset of the first byte of the chunk
+     * @param	endOffset	the offset after the last byte of the chunk
+     */
+    public void setOffsets(int startOffset, int endOffset) {
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    /**
+     * Tells if the chunk has been changed since it has been read or saved, in which
+     * case its original bytes no longer represent it.
+     *
+     * @return	true or false
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Updates the modified flag.
+     *
+     * @param	modified	true if the chunk differs from its original bytes
+     */
+    public void setModified(boolean modified) {
+        this.modified = modified;
+        changed();
+    }
+
+    /**
+     * Tells the owner that the chunk changed.
+     */
+    private void changed() {
+        if (owner != null) {
+            owner.touch();
+        }
+    }
+
     /**
      * Converts the chunk into a string representing its content.
      *
@@ -15,17 +15,20 @@
 
 package eclox.core.doxyfiles;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.CRC32;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -38,6 +41,7 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentType;
 
 import eclox.core.doxyfiles.io.Parser;
+import eclox.core.doxyfiles.io.SettingCollector;
 
 /**
  * Implements the Doxyfile wrapper.
@@ -46,6 +50,11 @@ import eclox.core.doxyfiles.io.Parser;
  */
 public class Doxyfile {
 
+    /**
+     * the identifier of the output directory setting
+     */
+    public static final String OUTPUT_DIRECTORY = "OUTPUT_DIRECTORY";
+
     /**
      * the eclipse file that holds the doxyfile content
      */
@@ -59,7 +68,7 @@ public class Doxyfile {
     /**
      * a collection containing all doxyfile's chunks
      */
-    private AbstractList<Chunk> chunks = new Vector<Chunk>();
+    private List<Chunk> chunks = new ArrayList<Chunk>();
 
     /**
      * a map containing all managed settings
@@ -71,6 +80,47 @@ public class Doxyfile {
      */
     private Map<String, Group> groups = new LinkedHashMap<String, Group>();
 
+    /**
+     * tells if every line belongs to the chunk representing it, which is not the case
+     * when a setting is assigned several times or when lines have been dropped
+     */
+    private boolean contiguous = true;
+
+    /**
+     * the length in bytes of the content the chunks have been read from, or -1 if unknown
+     */
+    private int contentLength = -1;
+
+    /**
+     * the checksum of the content the chunks have been read from
+     */
+    private long contentChecksum;
+
+    /**
+     * the doxyfile listeners, safe to modify while being notified
+     */
+    private List<IDoxyfileListener> listeners = new CopyOnWriteArrayList<IDoxyfileListener>();
+
+    /**
+     * the number of nested transactions being open
+     */
+    private int changeDepth;
+
+    /**
+     * the changes of the open transaction, or null when none
+     */
+    private ChangeSet pendingChanges;
+
+    /**
+     * the version of the doxyfile content, incremented on each change
+     */
+    private long version;
+
+    /**
+     * the last snapshot taken, or null
+     */
+    private DoxyfileSnapshot snapshot;
+
     /**
      * Tells if the given object is a doxyfile
      *
@@ -117,14 +167,56 @@ public class Doxyfile {
         this.file = file;
     }
 
-    public void load() throws CoreException, FileNotFoundException, IOException {
-        InputStream input;
+    /**
+     * Opens an input stream on the doxyfile content.
+     *
+     * @return  an input stream the caller is responsible to close
+     */
+    private InputStream openInput() throws CoreException, FileNotFoundException {
         if (ifile != null)
-            input = ifile.getContents();
+            return ifile.getContents();
         else
-            input = new BufferedInputStream(new FileInputStream(file));
-        Parser parser = new Parser(input);
-        parser.read(this);
+            return new FileInputStream(file);
+    }
+
+    public void load() throws CoreException, FileNotFoundException, IOException {
+        InputStream input = openInput();
+        try {
+            Parser parser = new Parser(input);
+            parser.read(this);
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Reads the values of the given settings directly from the doxyfile content,
+     * without building or updating the setting model. As with doxygen, the last
+     * assignment of a setting wins and increments are appended to its value.
+     *
+     * @param   identifiers the identifiers of the settings to read
+     *
+     * @return  a map containing the found values by identifier
+     */
+    public Map<String, String> readSettingValues(String... identifiers) throws CoreException, FileNotFoundException, IOException {
+        SettingCollector collector = new SettingCollector(identifiers);
+        InputStream input = openInput();
+        try {
+            new Parser(input).read(collector);
+        } finally {
+            input.close();
+        }
+        return collector.getValues();
+    }
+
+    /**
+     * Retrieves the effective configuration of the doxyfile as saved on disk, that
+     * is the setting values doxygen uses once all included files have been read.
+     *
+     * @return  the effective configuration
+     */
+    public EffectiveConfiguration getEffectiveConfiguration() throws IOException {
+        return IncludeResolver.getDefault().resolve(this);
     }
 
     /**
@@ -139,6 +231,7 @@ public class Doxyfile {
         // References the chunk.
         chunk.setOwner(this);
         this.chunks.add(chunk);
+        touch();
 
         // Do special handling for settings.
         if (chunk instanceof Setting) {
@@ -162,6 +255,447 @@ public class Doxyfile {
         }
     }
 
+    /**
+     * Retrieves the number of chunks.
+     *
+     * @return  the number of chunks
+     */
+    public int getChunkCount() {
+        return this.chunks.size();
+    }
+
+    /**
+     * Retrieves the chunk at the given index.
+     *
+     * @param   index   a chunk index
+     *
+     * @return  the chunk
+     */
+    public Chunk getChunk(int index) {
+        return this.chunks.get(index);
+    }
+
+    /**
+     * Searches the index of the chunk covering the given line. Chunks are kept in
+     * line order, so the search is a binary search. Lines that no chunk represents,
+     * like repeated assignments in a doxyfile that is not contiguous, are not found.
+     *
+     * @param   line    a 1-based line number
+     *
+     * @return  the chunk index, or -1 if no chunk covers the line
+     */
+    public int findChunkIndex(int line) {
+        int low = 0;
+        int high = this.chunks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Chunk chunk = this.chunks.get(middle);
+            if (chunk.getLastLine() < line) {
+                low = middle + 1;
+            } else if (chunk.getFirstLine() > line) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Searches the index of the chunk covering the given byte offset of the content
+     * the doxyfile has been read from or saved to.
+     *
+     * @param   offset  a byte offset
+     *
+     * @return  the chunk index, or -1 if no chunk covers the offset
+     */
+    public int findChunkIndexAtOffset(int offset) {
+        int low = 0;
+        int high = this.chunks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Chunk chunk = this.chunks.get(middle);
+            if (chunk.getEndOffset() <= offset) {
+                low = middle + 1;
+            } else if (chunk.getStartOffset() > offset) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the chunk covering the given line.
+     *
+     * @param   line    a 1-based line number
+     *
+     * @return  a chunk, or null if no chunk covers the line
+     */
+    public Chunk getChunkAt(int line) {
+        int index = findChunkIndex(line);
+        return (index != -1) ? this.chunks.get(index) : null;
+    }
+
+    /**
+     * Retrieves the setting written at the given line, for instance to map a marker
+     * back to its setting.
+     *
+     * @param   line    a 1-based line number
+     *
+     * @return  a setting, or null if the line does not belong to a setting
+     */
+    public Setting getSettingAt(int line) {
+        Chunk chunk = getChunkAt(line);
+        return (chunk instanceof Setting) ? (Setting) chunk : null;
+    }
+
+    /**
+     * Tells if every line of the doxyfile belongs to the chunk representing it.
+     *
+     * @return  true or false
+     */
+    public boolean isContiguous() {
+        return contiguous;
+    }
+
+    /**
+     * Updates the contiguous flag.
+     *
+     * @param   contiguous  true if every line belongs to the chunk representing it
+     *
+     * @see     #isContiguous()
+     */
+    public void setContiguous(boolean contiguous) {
+        this.contiguous = contiguous;
+    }
+
+    /**
+     * Shifts the lines and byte ranges of all chunks starting at the given index.
+     *
+     * @param   fromIndex   the index of the first chunk to shift
+     * @param   lineDelta   the number of lines to shift
+     * @param   byteDelta   the number of bytes to shift
+     */
+    public void shift(int fromIndex, int lineDelta, int byteDelta) {
+        for (int i = fromIndex; i < this.chunks.size(); i++) {
+            Chunk chunk = this.chunks.get(i);
+            if (lineDelta != 0) {
+                chunk.setLines(chunk.getFirstLine() + lineDelta, chunk.getLastLine() + lineDelta);
+            }
+            if (byteDelta != 0 && chunk.getStartOffset() >= 0) {
+                chunk.setOffsets(chunk.getStartOffset() + byteDelta, chunk.getEndOffset() + byteDelta);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the version of the doxyfile content, which is incremented each time
+     * a chunk is added, changed or moved.
+     *
+     * @return  a version number
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Increments the version of the doxyfile content.
+     */
+    void touch() {
+        this.version++;
+    }
+
+    /**
+     * Takes an immutable snapshot of the settings, that other threads can read while
+     * the doxyfile keeps changing. Like all other methods, it must be called by the
+     * thread modifying the doxyfile.
+     *
+     * @return  a snapshot, the previous one if nothing changed since it has been taken
+     */
+    public DoxyfileSnapshot getSnapshot() {
+        if (this.snapshot == null || this.snapshot.getVersion() != this.version) {
+            this.snapshot = new DoxyfileSnapshot(this, this.snapshot);
+        }
+        return this.snapshot;
+    }
+
+    /**
+     * Attaches a listener notified of the setting changes.
+     *
+     * @param   listener    a doxyfile listener
+     */
+    public void addDoxyfileListener(IDoxyfileListener listener) {
+        if (this.listeners.contains(listener) == false) {
+            this.listeners.add(listener);
+        }
+    }
+
+    /**
+     * Detaches a doxyfile listener.
+     *
+     * @param   listener    an attached doxyfile listener
+     */
+    public void removeDoxyfileListener(IDoxyfileListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Opens a transaction: setting changes are buffered until the transaction is
+     * committed, then reported at once. Transactions can be nested, only the outer
+     * one reports the changes. Each call must be followed by a call to
+     * {@link #commitChanges()}, typically in a finally block.
+     */
+    public void beginChanges() {
+        if (this.changeDepth++ == 0) {
+            this.pendingChanges = new ChangeSet(this);
+        }
+    }
+
+    /**
+     * Commits the current transaction. When it is the outer one, the setting
+     * listeners are notified once per changed setting and the doxyfile listeners
+     * receive the whole change set.
+     */
+    public void commitChanges() {
+        if (this.changeDepth == 0) {
+            throw new IllegalStateException("No transaction to commit.");
+        }
+        if (--this.changeDepth == 0) {
+            ChangeSet changes = this.pendingChanges;
+            this.pendingChanges = null;
+            fireChanges(changes);
+        }
+    }
+
+    /**
+     * Tells if a transaction is open.
+     *
+     * @return  true or false
+     */
+    public boolean isChanging() {
+        return this.changeDepth > 0;
+    }
+
+    /**
+     * Records or reports the change of the value of the given setting.
+     *
+     * @param   setting a setting owned by the doxyfile
+     */
+    void settingValueChanged(Setting setting) {
+        if (this.changeDepth > 0) {
+            this.pendingChanges.addValueChange(setting);
+        } else if (this.listeners.isEmpty()) {
+            setting.notifyValueChanged();
+        } else {
+            ChangeSet changes = new ChangeSet(this);
+            changes.addValueChange(setting);
+            fireChanges(changes);
+        }
+    }
+
+    /**
+     * Records or reports the change or removal of the given property of the given setting.
+     *
+     * @param   setting     a setting owned by the doxyfile
+     * @param   property    a string containing a property name
+     */
+    void settingPropertyChanged(Setting setting, String property) {
+        if (this.changeDepth > 0) {
+            this.pendingChanges.addPropertyChange(setting, property);
+        } else if (this.listeners.isEmpty()) {
+            setting.notifyPropertyChanged(property);
+        } else {
+            ChangeSet changes = new ChangeSet(this);
+            changes.addPropertyChange(setting, property);
+            fireChanges(changes);
+        }
+    }
+
+    /**
+     * Notifies the setting listeners and then the doxyfile listeners of the given changes.
+     *
+     * @param   changes the changes to report
+     */
+    private void fireChanges(ChangeSet changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (Setting setting : changes.getValueChanges()) {
+            setting.notifyValueChanged();
+        }
+        for (String property : changes.getChangedProperties()) {
+            for (Setting setting : changes.getPropertyChanges(property)) {
+                setting.notifyPropertyChanged(property);
+            }
+        }
+        for (IDoxyfileListener listener : this.listeners) {
+            listener.doxyfileChanged(changes);
+        }
+    }
+
+    /**
+     * Remembers the signature of the content the chunks have been read from or
+     * written to, so that content can be recognized later.
+     *
+     * @param   length      the content length in bytes
+     * @param   checksum    the CRC-32 checksum of the content
+     */
+    public void setContentSignature(int length, long checksum) {
+        this.contentLength = length;
+        this.contentChecksum = checksum;
+    }
+
+    /**
+     * Tells if the given bytes are the content the chunks have been read from or
+     * written to, in which case the byte ranges of the chunks apply to them.
+     *
+     * @param   content the bytes to test
+     *
+     * @return  true or false
+     */
+    public boolean isContent(byte[] content) {
+        if (content == null || content.length != this.contentLength) {
+            return false;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(content, 0, content.length);
+        return checksum.getValue() == this.contentChecksum;
+    }
+
+    /**
+     * Reads the current content of the doxyfile.
+     *
+     * @return  the content bytes, or null if the doxyfile does not exist
+     */
+    public byte[] readContent() throws CoreException, IOException {
+        if (this.exists(false) == false) {
+            return null;
+        }
+        InputStream input = openInput();
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(this.contentLength, 0) + 1);
+            byte[] buffer = new byte[8192];
+            for (int count = input.read(buffer); count != -1; count = input.read(buffer)) {
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Replaces a range of chunks with the given ones, like those read again by the
+     * parser after an edit.
+     *
+     * Settings existing in both the replaced and new chunks are kept and patched in
+     * place, so attached listeners remain registered and are only notified when the
+     * value really changed, once all chunks have been replaced. New chunks that are
+     * settings must not exist outside the replaced range.
+     *
+     * @param   fromIndex   the index of the first chunk to replace
+     * @param   toIndex     the index after the last chunk to replace
+     * @param   newChunks   the new chunks
+     */
+    public void replaceChunks(int fromIndex, int toIndex, List<Chunk> newChunks) {
+        // Reports the value changes at once.
+        beginChanges();
+        try {
+            // Collects the settings being replaced.
+            List<Chunk> window = this.chunks.subList(fromIndex, toIndex);
+            Map<String, Setting> oldSettings = new HashMap<String, Setting>();
+            List<Setting> oldOrder = new ArrayList<Setting>();
+            for (Chunk chunk : window) {
+                if (chunk instanceof Setting) {
+                    Setting setting = (Setting) chunk;
+                    oldSettings.put(setting.getIdentifier(), setting);
+                    oldOrder.add(setting);
+                }
+            }
+
+            // Patches the settings found again and collects the resulting chunks.
+            boolean settingsChanged = false;
+            int settingIndex = 0;
+            List<Chunk> result = new ArrayList<Chunk>(newChunks.size());
+            for (Chunk chunk : newChunks) {
+                if (chunk instanceof Setting) {
+                    Setting setting = (Setting) chunk;
+                    Setting existing = oldSettings.remove(setting.getIdentifier());
+                    if (settingIndex >= oldOrder.size() || oldOrder.get(settingIndex++) != existing) {
+                        settingsChanged = true;
+                    }
+                    if (existing != null) {
+                        existing.setOperator(setting.getOperator());
+                        existing.setContinued(setting.isContinued());
+                        existing.setLines(setting.getFirstLine(), setting.getLastLine());
+                        if (existing.getValue().equals(setting.getValue()) == false) {
+                            existing.setValue(setting.getValue());
+                        }
+                        existing.setOffsets(setting.getStartOffset(), setting.getEndOffset());
+                        existing.setModified(setting.isModified());
+                        chunk = existing;
+                    } else {
+                        settingsChanged = true;
+                    }
+                }
+                chunk.setOwner(this);
+                result.add(chunk);
+            }
+
+            // Detaches the settings that disappeared.
+            for (Setting setting : oldSettings.values()) {
+                setting.setOwner(null);
+                settingsChanged = true;
+            }
+
+            // Replaces the chunks and updates the settings and groups when needed.
+            window.clear();
+            this.chunks.addAll(fromIndex, result);
+            if (settingsChanged) {
+                rebuildSettings();
+            }
+        } finally {
+            commitChanges();
+        }
+    }
+
+    /**
+     * Rebuilds the setting and group maps from the chunks, in chunk order.
+     */
+    private void rebuildSettings() {
+        touch();
+        this.settings.clear();
+        for (Group group : this.groups.values()) {
+            group.clear();
+        }
+
+        Map<String, Group> oldGroups = this.groups;
+        this.groups = new LinkedHashMap<String, Group>();
+        for (Chunk chunk : this.chunks) {
+            if (chunk instanceof Setting) {
+                Setting setting = (Setting) chunk;
+                this.settings.put(setting.getIdentifier(), setting);
+
+                String groupName = setting.getProperty(Setting.GROUP);
+                if (groupName == null) {
+                    groupName = "Others";
+                    setting.setProperty(Setting.GROUP, groupName);
+                }
+                Group group = this.groups.get(groupName);
+                if (group == null) {
+                    group = oldGroups.get(groupName);
+                    if (group == null) {
+                        group = new Group(groupName);
+                    }
+                    this.groups.put(groupName, group);
+                }
+                group.add(setting);
+            }
+        }
+    }
+
     /**
      * Retrieves the resource file that contains the doxyfile.
      *
@@ -208,31 +742,53 @@ public class Doxyfile {
      * @return	a folder, or null when none
      */
     public IContainer getOutputContainer() {
+        Setting outputSetting = getSetting(OUTPUT_DIRECTORY);
+        return (outputSetting != null) ? getOutputContainer(outputSetting.getValue()) : null;
+    }
+
+    /**
+     * Retrieves the container that will receive the documentation build outputs,
+     * reading the output directory from the effective configuration on disk, so
+     * that values coming from included files are honored.
+     *
+     * @return  a folder, or null when none
+     */
+    public IContainer readOutputContainer() throws CoreException, FileNotFoundException, IOException {
+        String outputDirectory = getEffectiveConfiguration().getValue(OUTPUT_DIRECTORY);
+        return (outputDirectory != null) ? getOutputContainer(outputDirectory) : null;
+    }
+
+    /**
+     * Retrieves the container matching the given output directory.
+     *
+     * @param   outputDirectory a string containing the output directory setting value, whose
+     *                          variable references are expanded like doxygen does
+     *
+     * @return  a folder, or null when none
+     */
+    public IContainer getOutputContainer(String outputDirectory) {
         IContainer outputContainer = null;
-        Setting outputSetting = getSetting("OUTPUT_DIRECTORY");
-        if (outputSetting != null) {
-            Path outputPath = new Path(outputSetting.getValue());
-            if (outputPath.isEmpty()) {
-                if (ifile != null) {
-                    outputContainer = ifile.getParent();
-                }
+        Path outputPath = new Path(VariableExpander.getDefault().expand(outputDirectory));
+        if (outputPath.isEmpty()) {
+            if (ifile != null) {
+                outputContainer = ifile.getParent();
+            }
+        } else {
+            File containerFile = null;
+            if (outputPath.isAbsolute()) {
+                containerFile = outputPath.toFile();
             } else {
-                File containerFile = null;
-                if (outputPath.isAbsolute()) {
-                    containerFile = outputPath.toFile();
+                if (ifile != null) {
+                    containerFile = ifile.getParent().getLocation().append(outputPath).toFile();
                 } else {
-                    if (ifile != null) {
-                        containerFile = ifile.getParent().getLocation().append(outputPath).toFile();
-                    } else {
-                        containerFile = new Path(file.getParentFile().getAbsolutePath()).append(outputPath).toFile();
-                    }
+                    containerFile = new Path(file.getParentFile().getAbsolutePath()).append(outputPath).toFile();
                 }
-                if (containerFile != null && containerFile.exists()) {
-                    IContainer[] foundContainers = ResourcesPlugin.getWorkspace().getRoot()
-                            .findContainersForLocationURI(containerFile.toURI());
-                    if (foundContainers.length >= 1) {
-                        outputContainer = foundContainers[0];
-                    }
+            }
+            if (containerFile != null && containerFile.exists()) {
+                IContainer[] foundContainers = ResourcesPlugin.getWorkspace().getRoot()
+                        .findContainersForLocationURI(containerFile.toURI());
+                if (foundContainers.length >= 1) {
+                    outputContainer = foundContainers[0];
                 }
             }
         }
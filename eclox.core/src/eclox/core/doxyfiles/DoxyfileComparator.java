@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import eclox.core.doxyfiles.DoxyfileComparison.Difference;
+
+/**
+ * Implements the comparison of doxyfiles with a reference, either another doxyfile
+ * or the default values of doxygen.
+ *
+ * The reference values are normalized once, when the comparator is created, and
+ * kept in a hash map. Comparing a doxyfile then normalizes each of its values and
+ * looks the reference up, so a comparison is linear in the number of settings and
+ * one comparator can audit any number of doxyfiles. Normalization ignores the
+ * whitespace between list items and the quoting of the items, so
+ * <code>a   "b"</code> and <code>"a" b</code> are equal. Values that are not
+ * lists are compared as one string, so <code>"My Project"</code> and
+ * <code>My Project</code> are equal too. Boolean values are compared ignoring
+ * their case.
+ */
+public final class DoxyfileComparator {
+
+    /**
+     * the separator of the items of a normalized list value, which cannot appear in a value
+     */
+    private static final char ITEM_SEPARATOR = '\n';
+
+    /**
+     * the separator of the words of a normalized scalar value
+     */
+    private static final char WORD_SEPARATOR = ' ';
+
+    /**
+     * the reference values, by setting identifier
+     */
+    private final Map<String, String> referenceValues;
+
+    /**
+     * the normalized reference values, by setting identifier
+     */
+    private final Map<String, String> normalizedValues;
+
+    /**
+     * tells if the reference holds the defaults, so missing settings are not differences
+     */
+    private final boolean defaults;
+
+    /**
+     * the schema giving the setting types
+     */
+    private final SettingSchema schema;
+
+    /**
+     * Constructor
+     *
+     * @param   referenceValues the reference values, by setting identifier
+     * @param   defaults        true when the reference holds default values
+     */
+    private DoxyfileComparator(Map<String, String> referenceValues, boolean defaults) {
+        this.referenceValues = referenceValues;
+        this.normalizedValues = new HashMap<String, String>(referenceValues.size() * 2);
+        this.defaults = defaults;
+        this.schema = SettingSchema.getDefault();
+        for (Map.Entry<String, String> entry : referenceValues.entrySet()) {
+            this.normalizedValues.put(entry.getKey(), normalize(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Creates a comparator with the given doxyfile as reference.
+     *
+     * Settings missing in one of the doxyfiles are reported as added or removed.
+     *
+     * @param   reference   a doxyfile
+     *
+     * @return  a new comparator
+     */
+    public static DoxyfileComparator withDoxyfile(Doxyfile reference) {
+        return new DoxyfileComparator(getValues(reference), false);
+    }
+
+    /**
+     * Creates a comparator with the given default values as reference, typically
+     * the values of the template generated by doxygen.
+     *
+     * Settings missing in the doxyfile use their default value, so they are not
+     * reported. Empty boolean and integer values also stand for the default value.
+     *
+     * @param   defaultValues   the default values, by setting identifier
+     *
+     * @return  a new comparator
+     */
+    public static DoxyfileComparator withDefaults(Map<String, String> defaultValues) {
+        return new DoxyfileComparator(new LinkedHashMap<String, String>(defaultValues), true);
+    }
+
+    /**
+     * Tells if the reference holds default values.
+     *
+     * @return  true or false
+     */
+    public boolean isDefaults() {
+        return defaults;
+    }
+
+    /**
+     * Compares the given doxyfile with the reference.
+     *
+     * @param   doxyfile    a doxyfile
+     *
+     * @return  the comparison result
+     */
+    public DoxyfileComparison compare(Doxyfile doxyfile) {
+        Map<String, Difference> differences = new LinkedHashMap<String, Difference>();
+        Map<String, String> values = getValues(doxyfile);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            Difference difference = compare(entry.getKey(), entry.getValue());
+            if (difference != null) {
+                differences.put(difference.getIdentifier(), difference);
+            }
+        }
+        if (defaults == false) {
+            for (Map.Entry<String, String> entry : referenceValues.entrySet()) {
+                if (values.containsKey(entry.getKey()) == false) {
+                    differences.put(entry.getKey(), new Difference(entry.getKey(), Difference.Kind.removed, null, entry.getValue()));
+                }
+            }
+        }
+        return new DoxyfileComparison(doxyfile, differences);
+    }
+
+    /**
+     * Compares the given setting value with the reference.
+     *
+     * @param   identifier  a string containing a setting identifier
+     * @param   value       a string containing the setting value
+     *
+     * @return  the difference, or null if the value matches the reference
+     */
+    public Difference compare(String identifier, String value) {
+        String normalizedValue = normalizedValues.get(identifier);
+        if (normalizedValue == null) {
+            return defaults ? null : new Difference(identifier, Difference.Kind.added, value, null);
+        }
+        if (defaults && value.trim().isEmpty() && isScalar(identifier)) {
+            return null;
+        }
+        String normalized = normalize(identifier, value);
+        if (normalized.equals(normalizedValue)) {
+            return null;
+        }
+        return new Difference(identifier, Difference.Kind.changed, value, referenceValues.get(identifier));
+    }
+
+    /**
+     * Loads the given doxyfiles in parallel and compares each one with the reference.
+     *
+     * @param   files   a collection of doxyfiles, either IFile or File instances
+     * @param   monitor a progress monitor, or null
+     *
+     * @return  the comparisons by file, in the order of the given files, with a null
+     *          comparison for the doxyfiles that could not be loaded
+     */
+    public Map<Object, DoxyfileComparison> compareAll(Collection<?> files, IProgressMonitor monitor) {
+        List<DoxyfileLoader.Result> results = DoxyfileLoader.load(files, monitor);
+        Map<Object, DoxyfileComparison> comparisons = new LinkedHashMap<Object, DoxyfileComparison>(results.size() * 2);
+        for (DoxyfileLoader.Result result : results) {
+            comparisons.put(result.getFile(), result.isOK() ? compare(result.getDoxyfile()) : null);
+        }
+        return comparisons;
+    }
+
+    /**
+     * Normalizes the given value: items are unquoted and joined with a single separator,
+     * which depends on whether the setting holds a list.
+     *
+     * @param   identifier  a string containing a setting identifier
+     * @param   value       a string containing a value
+     *
+     * @return  a string containing the normalized value
+     */
+    private String normalize(String identifier, String value) {
+        SettingSchema.Entry entry = schema.get(identifier);
+        SettingType type = (entry != null) ? entry.getType() : SettingType.unknown;
+        char separator = (type == SettingType.textList || type == SettingType.directoryList || type == SettingType.pathList) ? ITEM_SEPARATOR : WORD_SEPARATOR;
+        StringBuilder buffer = new StringBuilder(value.length());
+        int length = value.length();
+        int position = 0;
+        while (position < length) {
+            char c = value.charAt(position);
+            if (Character.isWhitespace(c)) {
+                position++;
+                continue;
+            }
+            if (buffer.length() > 0) {
+                buffer.append(separator);
+            }
+            if (c == '"') {
+                for (position++; position < length && value.charAt(position) != '"'; position++) {
+                    if (value.charAt(position) == '\\' && position + 1 < length && value.charAt(position + 1) == '"') {
+                        position++;
+                    }
+                    buffer.append(value.charAt(position));
+                }
+                position++;
+            } else {
+                for (; position < length && Character.isWhitespace(value.charAt(position)) == false && value.charAt(position) != '"'; position++) {
+                    buffer.append(value.charAt(position));
+                }
+            }
+        }
+        if (type == SettingType.booleanValue) {
+            return buffer.toString().toUpperCase();
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Tells if the given setting holds a boolean or an integer.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  true or false
+     */
+    private boolean isScalar(String identifier) {
+        SettingSchema.Entry entry = schema.get(identifier);
+        return entry != null && (entry.getType() == SettingType.booleanValue || entry.getType() == SettingType.integer);
+    }
+
+    /**
+     * Retrieves the values of the given doxyfile.
+     *
+     * @param   doxyfile    a doxyfile
+     *
+     * @return  a map of values, by setting identifier in doxyfile order
+     */
+    private static Map<String, String> getValues(Doxyfile doxyfile) {
+        Map<String, String> values = new LinkedHashMap<String, String>();
+        for (Iterator<Setting> i = doxyfile.settingIterator(); i.hasNext();) {
+            Setting setting = i.next();
+            values.put(setting.getIdentifier(), setting.getValue());
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Implements the result of the comparison of a doxyfile with a reference, as
+ * computed by a {@link DoxyfileComparator}.
+ */
+public final class DoxyfileComparison {
+
+    /**
+     * Implements a difference between a setting of the doxyfile and the reference.
+     */
+    public static final class Difference {
+
+        /**
+         * Enumerates the kinds of differences.
+         */
+        public enum Kind {
+            /** the setting has another value in the reference */
+            changed,
+            /** the setting is missing in the reference */
+            added,
+            /** the setting is missing in the doxyfile */
+            removed
+        }
+
+        /**
+         * the setting identifier
+         */
+        private final String identifier;
+
+        /**
+         * the kind of difference
+         */
+        private final Kind kind;
+
+        /**
+         * the value in the doxyfile, or null when missing
+         */
+        private final String value;
+
+        /**
+         * the value in the reference, or null when missing
+         */
+        private final String referenceValue;
+
+        /**
+         * Constructor
+         */
+        Difference(String identifier, Kind kind, String value, String referenceValue) {
+            this.identifier = identifier;
+            this.kind = kind;
+            this.value = value;
+            this.referenceValue = referenceValue;
+        }
+
+        /**
+         * Retrieves the identifier of the setting.
+         *
+         * @return  a string containing a setting identifier
+         */
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        /**
+         * Retrieves the kind of difference.
+         *
+         * @return  a kind
+         */
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Retrieves the value of the setting in the doxyfile.
+         *
+         * @return  a string containing the value, or null when the setting is missing
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Retrieves the value of the setting in the reference.
+         *
+         * @return  a string containing the value, or null when the setting is missing
+         */
+        public String getReferenceValue() {
+            return referenceValue;
+        }
+
+        public String toString() {
+            return identifier + " " + kind + ": " + value + " <> " + referenceValue;
+        }
+    }
+
+    /**
+     * the compared doxyfile
+     */
+    private final Doxyfile doxyfile;
+
+    /**
+     * the differences, by setting identifier in doxyfile order, the removed settings last
+     */
+    private final Map<String, Difference> differences;
+
+    /**
+     * Constructor
+     *
+     * @param   doxyfile    the compared doxyfile
+     * @param   differences the differences, by setting identifier
+     */
+    DoxyfileComparison(Doxyfile doxyfile, Map<String, Difference> differences) {
+        this.doxyfile = doxyfile;
+        this.differences = Collections.unmodifiableMap(differences);
+    }
+
+    /**
+     * Retrieves the compared doxyfile.
+     *
+     * @return  a doxyfile
+     */
+    public Doxyfile getDoxyfile() {
+        return doxyfile;
+    }
+
+    /**
+     * Retrieves all differences.
+     *
+     * @return  a collection of differences, in doxyfile order, the removed settings last
+     */
+    public Collection<Difference> getDifferences() {
+        return differences.values();
+    }
+
+    /**
+     * Retrieves the difference of the given setting.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  the difference, or null if the setting does not differ
+     */
+    public Difference getDifference(String identifier) {
+        return differences.get(identifier);
+    }
+
+    /**
+     * Tells if the given setting differs from the reference.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  true or false
+     */
+    public boolean isDifferent(String identifier) {
+        return differences.containsKey(identifier);
+    }
+
+    /**
+     * Tells if the doxyfile matches the reference.
+     *
+     * @return  true or false
+     */
+    public boolean isEmpty() {
+        return differences.isEmpty();
+    }
+
+    /**
+     * Retrieves the number of differences.
+     *
+     * @return  a number of differences
+     */
+    public int size() {
+        return differences.size();
+    }
+
+}
@@ -0,0 +1,419 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+
+/**
+ * Implements the checks of doxyfiles for problems doxygen would report or silently
+ * ignore: unknown or obsolete settings, increments of settings not declared before,
+ * values not matching the setting type and input paths that do not exist.
+ *
+ * Checks are incremental. The linter remembers the results of each doxyfile by
+ * setting, and only checks again the settings whose value changed. Path checks
+ * also depend on the file system: their results, and the existence of the paths,
+ * are kept for a short time when a doxyfile is checked again, and are dropped by
+ * {@link #expirePathChecks()} once files are known to have been added or removed.
+ */
+public class DoxyfileLinter {
+
+    /**
+     * the time path checks and existence answers are kept, in milliseconds
+     */
+    private static final long PATH_CHECK_TIME_TO_LIVE = 2000;
+
+    /**
+     * the identifiers of the settings listing paths that must exist
+     */
+    private static final String[] INPUT_PATH_SETTINGS = { "INPUT", "EXAMPLE_PATH", "IMAGE_PATH", "INCLUDE_PATH" };
+
+    /**
+     * the identifier of the output directory setting, whose parent must exist
+     */
+    private static final String OUTPUT_DIRECTORY = "OUTPUT_DIRECTORY";
+
+    /**
+     * Implements a problem found in a doxyfile.
+     */
+    public static class Problem {
+
+        /**
+         * the identifier of the setting
+         */
+        private final String identifier;
+
+        /**
+         * the line of the setting
+         */
+        private final int line;
+
+        /**
+         * the problem description
+         */
+        private final String message;
+
+        /**
+         * the marker severity
+         */
+        private final int severity;
+
+        /**
+         * Constructor
+         */
+        Problem(String identifier, int line, String message, int severity) {
+            this.identifier = identifier;
+            this.line = line;
+            this.message = message;
+            this.severity = severity;
+        }
+
+        /**
+         * Retrieves the identifier of the setting having the problem.
+         *
+         * @return  a string containing a setting identifier
+         */
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        /**
+         * Retrieves the line of the setting having the problem.
+         *
+         * @return  a line number, starting at 1
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * Retrieves the problem description.
+         *
+         * @return  a string containing a message
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Retrieves the problem severity.
+         *
+         * @return  a marker severity, like {@link IMarker#SEVERITY_WARNING}
+         */
+        public int getSeverity() {
+            return severity;
+        }
+
+        /**
+         * Creates the same problem at another line.
+         *
+         * @param   line    a line number
+         *
+         * @return  a problem
+         */
+        Problem atLine(int line) {
+            return (line == this.line) ? this : new Problem(identifier, line, message, severity);
+        }
+
+        public boolean equals(Object object) {
+            if ((object instanceof Problem) == false) {
+                return false;
+            }
+            Problem other = (Problem) object;
+            return line == other.line && severity == other.severity && identifier.equals(other.identifier) && message.equals(other.message);
+        }
+
+        public int hashCode() {
+            return (identifier.hashCode() * 31 + message.hashCode()) * 31 + line;
+        }
+
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+
+    /**
+     * Implements the remembered results of the checks of one setting.
+     */
+    private static class SettingCheck {
+
+        /**
+         * the checked value
+         */
+        final String value;
+
+        /**
+         * the checked operator
+         */
+        final String operator;
+
+        /**
+         * tells if the doxyfile included other doxyfiles when checked
+         */
+        final boolean includes;
+
+        /**
+         * the problems of the value, independent of the file system
+         */
+        final List<Problem> valueProblems;
+
+        /**
+         * the problems of the paths, or null when the setting has no paths
+         */
+        List<Problem> pathProblems;
+
+        /**
+         * the time the path problems expire, in nanoseconds
+         */
+        long pathExpiry;
+
+        SettingCheck(String value, String operator, boolean includes, List<Problem> valueProblems) {
+            this.value = value;
+            this.operator = operator;
+            this.includes = includes;
+            this.valueProblems = valueProblems;
+        }
+    }
+
+    /**
+     * the schema giving the known settings and their types
+     */
+    private final SettingSchema schema;
+
+    /**
+     * the identifiers of the settings supported by the doxygen in use, or null to
+     * only rely on the schema
+     */
+    private Set<String> supportedIdentifiers;
+
+    /**
+     * the cache of path existence answers
+     */
+    private final FileExistenceCache existenceCache = new FileExistenceCache(PATH_CHECK_TIME_TO_LIVE);
+
+    /**
+     * the remembered checks, by doxyfile key and setting identifier
+     */
+    private final Map<Object, Map<String, SettingCheck>> checks = new HashMap<Object, Map<String, SettingCheck>>();
+
+    /**
+     * Constructor using the default setting schema.
+     */
+    public DoxyfileLinter() {
+        this(SettingSchema.getDefault());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param   schema  the schema giving the known settings and their types
+     */
+    public DoxyfileLinter(SettingSchema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Sets the identifiers of the settings supported by the doxygen in use, like
+     * the ones of its template. Other settings are reported as unknown or obsolete.
+     *
+     * @param   identifiers the supported setting identifiers, or null to only rely on the schema
+     */
+    public synchronized void setSupportedIdentifiers(Collection<String> identifiers) {
+        supportedIdentifiers = (identifiers != null) ? new HashSet<String>(identifiers) : null;
+        checks.clear();
+    }
+
+    /**
+     * Checks the given doxyfile, reusing the results of the previous check of the
+     * same key for the settings that did not change.
+     *
+     * @param   key         a key identifying the doxyfile, like its resource
+     * @param   snapshot    the snapshot of the doxyfile to check
+     * @param   directory   the directory relative paths are resolved against
+     *
+     * @return  the problems, sorted by line
+     */
+    public synchronized List<Problem> lint(Object key, DoxyfileSnapshot snapshot, File directory) {
+        Map<String, SettingCheck> previousChecks = checks.get(key);
+        Map<String, SettingCheck> currentChecks = new HashMap<String, SettingCheck>();
+        List<Problem> problems = new ArrayList<Problem>();
+        boolean includes = false;
+        boolean includesKnown = false;
+        long now = System.nanoTime();
+
+        for (DoxyfileSnapshot.Entry entry : snapshot.getEntries()) {
+            String identifier = entry.getIdentifier();
+            int line = entry.getFirstLine();
+
+            // Increments are checked against the includes, which may have changed.
+            boolean increment = Setting.INCREMENT.equals(entry.getOperator());
+            if (increment && includesKnown == false) {
+                includes = hasIncludes(snapshot);
+                includesKnown = true;
+            }
+
+            // Checks the value again only when it changed.
+            SettingCheck check = (previousChecks != null) ? previousChecks.get(identifier) : null;
+            if (check == null || check.value.equals(entry.getValue()) == false || check.operator.equals(entry.getOperator()) == false
+                    || (increment && check.includes != includes)) {
+                check = new SettingCheck(entry.getValue(), entry.getOperator(), includes, checkValue(entry, includes));
+            }
+            currentChecks.put(identifier, check);
+
+            // Checks the paths again once the previous results expired.
+            if (isPathSetting(identifier) && (check.pathProblems == null || check.pathExpiry - now <= 0)) {
+                check.pathProblems = checkPaths(identifier, entry.getValue(), directory);
+                check.pathExpiry = now + PATH_CHECK_TIME_TO_LIVE * 1000000L;
+            }
+
+            for (Problem problem : check.valueProblems) {
+                problems.add(problem.atLine(line));
+            }
+            if (check.pathProblems != null) {
+                for (Problem problem : check.pathProblems) {
+                    problems.add(problem.atLine(line));
+                }
+            }
+        }
+        checks.put(key, currentChecks);
+        return problems;
+    }
+
+    /**
+     * Drops the remembered path checks of all doxyfiles, so the paths are checked
+     * again on the next check of each doxyfile.
+     */
+    public synchronized void expirePathChecks() {
+        existenceCache.clear();
+        for (Map<String, SettingCheck> doxyfileChecks : checks.values()) {
+            for (SettingCheck check : doxyfileChecks.values()) {
+                check.pathProblems = null;
+            }
+        }
+    }
+
+    /**
+     * Forgets the remembered results of the given doxyfile.
+     *
+     * @param   key a key identifying the doxyfile
+     */
+    public synchronized void forget(Object key) {
+        checks.remove(key);
+    }
+
+    /**
+     * Checks the value and the operator of the given setting.
+     *
+     * @param   setting     a setting snapshot
+     * @param   includes    tells if the doxyfile includes other doxyfiles
+     *
+     * @return  a list of problems, empty when none
+     */
+    private List<Problem> checkValue(DoxyfileSnapshot.Entry setting, boolean includes) {
+        String identifier = setting.getIdentifier();
+        List<Problem> problems = new ArrayList<Problem>(1);
+        SettingSchema.Entry entry = schema.get(identifier);
+        if ((supportedIdentifiers != null) ? supportedIdentifiers.contains(identifier) == false : entry == null) {
+            problems.add(new Problem(identifier, 0, "Setting `" + identifier + "' is unknown or obsolete and will be ignored by doxygen.", IMarker.SEVERITY_WARNING));
+        }
+        if (Setting.INCREMENT.equals(setting.getOperator()) && includes == false) {
+            problems.add(new Problem(identifier, 0, "Setting `" + identifier + "' is incremented with += but has not been declared before.", IMarker.SEVERITY_WARNING));
+        }
+        if (entry != null && setting.isValueValid() == false) {
+            String expected = (entry.getType() == SettingType.booleanValue) ? "YES or NO" : "an integer";
+            problems.add(new Problem(identifier, 0, "Setting `" + identifier + "' expects " + expected + " but has `" + setting.getValue().trim() + "'.", IMarker.SEVERITY_ERROR));
+        }
+        return problems.isEmpty() ? Collections.<Problem>emptyList() : problems;
+    }
+
+    /**
+     * Checks that the paths of the given setting exist.
+     *
+     * @param   identifier  a string containing the setting identifier
+     * @param   value       a string containing the setting value
+     * @param   directory   the directory relative paths are resolved against
+     *
+     * @return  a list of problems, empty when none
+     */
+    private List<Problem> checkPaths(String identifier, String value, File directory) {
+        List<Problem> problems = new ArrayList<Problem>(0);
+        String expandedValue = VariableExpander.getDefault().expand(value);
+        for (String path : Setting.splitValue(expandedValue, new ArrayList<String>())) {
+            if (path.isEmpty()) {
+                continue;
+            }
+            File file = new File(path);
+            if (file.isAbsolute() == false && directory != null) {
+                file = new File(directory, path);
+            }
+            if (OUTPUT_DIRECTORY.equals(identifier)) {
+                // Doxygen creates the output directory, but not its parents.
+                File parent = file.getAbsoluteFile().getParentFile();
+                if (parent != null && existenceCache.isDirectory(parent) == false) {
+                    problems.add(new Problem(identifier, 0, "The parent directory of `" + path + "' does not exist.", IMarker.SEVERITY_WARNING));
+                }
+            } else if (existenceCache.exists(file) == false) {
+                problems.add(new Problem(identifier, 0, "Path `" + path + "' does not exist.", IMarker.SEVERITY_WARNING));
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Tells if the given setting lists paths to check.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  true or false
+     */
+    private static boolean isPathSetting(String identifier) {
+        if (OUTPUT_DIRECTORY.equals(identifier)) {
+            return true;
+        }
+        for (String pathSetting : INPUT_PATH_SETTINGS) {
+            if (pathSetting.equals(identifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells if the given doxyfile includes other doxyfiles, which may declare the
+     * incremented settings.
+     *
+     * @param   snapshot    a doxyfile snapshot
+     *
+     * @return  true or false, true when unknown
+     */
+    private static boolean hasIncludes(DoxyfileSnapshot snapshot) {
+        try {
+            EffectiveConfiguration configuration = IncludeResolver.getDefault().resolve(snapshot);
+            return configuration.getFiles().size() > 1 || configuration.getMissingIncludes().isEmpty() == false;
+        } catch (IOException exception) {
+            return true;
+        }
+    }
+
+}
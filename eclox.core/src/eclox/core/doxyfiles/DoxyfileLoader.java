@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+/**
+ * Implements the loading of many doxyfiles at once.
+ *
+ * Doxyfiles are parsed in parallel on a bounded fork/join pool shared by all
+ * loaders. A file that fails to load does not stop the others: each result either
+ * holds the loaded doxyfile or the error that occurred. Doxyfiles are retrieved
+ * from the {@link DoxyfileManager}, so unchanged files are not parsed again and the
+ * loaded doxyfiles must not be modified.
+ */
+public class DoxyfileLoader {
+
+    /**
+     * the maximum number of doxyfiles parsed at the same time
+     */
+    private static final int MAX_PARALLELISM = 8;
+
+    /**
+     * the interval in milliseconds at which cancellation is checked
+     */
+    private static final long POLL_INTERVAL = 100;
+
+    /**
+     * the pool shared by all loaders and upgraders, created on first use
+     */
+    private static ForkJoinPool pool;
+
+    /**
+     * Implements the result of the loading of one doxyfile.
+     */
+    public static class Result {
+
+        /**
+         * the file that has been loaded, an IFile or a File
+         */
+        private Object file;
+
+        /**
+         * the loaded doxyfile, or null on error
+         */
+        private Doxyfile doxyfile;
+
+        /**
+         * the error that occurred, or null on success
+         */
+        private Throwable error;
+
+        /**
+         * Constructor
+         */
+        Result(Object file, Doxyfile doxyfile, Throwable error) {
+            this.file = file;
+            this.doxyfile = doxyfile;
+            this.error = error;
+        }
+
+        /**
+         * Retrieves the file that has been loaded.
+         *
+         * @return  an IFile or a File, as given to the loader
+         */
+        public Object getFile() {
+            return file;
+        }
+
+        /**
+         * Retrieves the loaded doxyfile.
+         *
+         * @return  a doxyfile, or null if it could not be loaded
+         */
+        public Doxyfile getDoxyfile() {
+            return doxyfile;
+        }
+
+        /**
+         * Retrieves the error that prevented the doxyfile from being loaded.
+         *
+         * @return  an error, or null if the doxyfile has been loaded
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * Tells if the doxyfile has been loaded.
+         *
+         * @return  true or false
+         */
+        public boolean isOK() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Retrieves the pool shared by all loaders and upgraders.
+     *
+     * @return  a fork/join pool
+     */
+    static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARALLELISM));
+        }
+        return pool;
+    }
+
+    /**
+     * Loads all doxyfiles collected by the given resource collector.
+     *
+     * @param   collector   a resource collector
+     * @param   monitor     a progress monitor, or null
+     *
+     * @return  a list of results, in the order of the collected doxyfiles
+     */
+    public static List<Result> load(ResourceCollector collector, IProgressMonitor monitor) {
+        return load(collector.getDoxyfiles(), monitor);
+    }
+
+    /**
+     * Loads the given doxyfiles in parallel.
+     *
+     * @param   files       a collection of doxyfiles, either IFile or File instances
+     * @param   monitor     a progress monitor, or null
+     *
+     * @return  a list of results, in the order of the given files
+     *
+     * @throws  OperationCanceledException  when the monitor has been canceled
+     */
+    public static List<Result> load(Collection<?> files, IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, "Loading doxyfiles", files.size());
+        if (files.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Submits one task per file.
+        CompletionService<Result> service = new ExecutorCompletionService<Result>(getPool());
+        List<Future<Result>> futures = new ArrayList<Future<Result>>(files.size());
+        for (final Object file : files) {
+            if ((file instanceof IFile) == false && (file instanceof File) == false) {
+                throw new IllegalArgumentException("Not a file: " + file);
+            }
+            futures.add(service.submit(new Callable<Result>() {
+                public Result call() {
+                    return loadFile(file);
+                }
+            }));
+        }
+
+        // Waits for the results while reporting progress.
+        try {
+            for (int done = 0; done < futures.size();) {
+                if (progress.isCanceled()) {
+                    throw new OperationCanceledException();
+                }
+                Future<Result> future = service.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (future != null) {
+                    done++;
+                    progress.subTask(getName(future.get().getFile()));
+                    progress.worked(1);
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        } catch (ExecutionException exception) {
+            // Cannot happen since loadFile catches everything.
+            throw new IllegalStateException(exception.getCause());
+        } finally {
+            for (Future<Result> future : futures) {
+                future.cancel(false);
+            }
+        }
+
+        // Collects the results in the order of the files.
+        List<Result> results = new ArrayList<Result>(futures.size());
+        for (Future<Result> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Loads a single doxyfile.
+     *
+     * @param   file    an IFile or a File
+     *
+     * @return  the result
+     */
+    private static Result loadFile(Object file) {
+        try {
+            return new Result(file, DoxyfileManager.getDefault().getDoxyfile(file), null);
+        } catch (Throwable throwable) {
+            return new Result(file, null, throwable);
+        }
+    }
+
+    /**
+     * Retrieves the name of the given file for progress reporting.
+     *
+     * @param   file    an IFile or a File
+     *
+     * @return  a string containing the file name
+     */
+    private static String getName(Object file) {
+        return (file instanceof IFile) ? ((IFile) file).getFullPath().toString() : ((File) file).getPath();
+    }
+
+}
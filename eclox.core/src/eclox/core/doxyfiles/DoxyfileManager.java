@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import eclox.core.Plugin;
+
+/**
+ * Implements the workspace-wide cache of parsed doxyfiles.
+ *
+ * Each doxyfile is parsed once and the resulting model is shared by all callers
+ * until the file changes. Entries are validated against the modification stamp of
+ * the resource, or the modification time and length of files outside the
+ * workspace, and are dropped as soon as a single resource change listener sees
+ * the resource change. There is no fixed bound, so that all the doxyfiles of a
+ * workspace stay cached across index rebuilds and audits: the models are softly
+ * referenced and the garbage collector reclaims them under memory pressure, their
+ * entries being purged afterwards.
+ *
+ * Shared models must not be modified: editors keep their own model, and background
+ * consumers should work on {@link Doxyfile#getSnapshot() snapshots}.
+ */
+public class DoxyfileManager {
+
+    /**
+     * the shared manager instance, created on first use
+     */
+    private static DoxyfileManager defaultManager;
+
+    /**
+     * Implements a cached doxyfile, softly referenced.
+     */
+    private static class CachedDoxyfile extends SoftReference<Doxyfile> {
+
+        /**
+         * the key of the entry
+         */
+        final Object key;
+
+        /**
+         * the stamp of the file when it has been parsed
+         */
+        final long stamp;
+
+        /**
+         * the length of the file when it has been parsed, or -1 for resources
+         */
+        final long length;
+
+        CachedDoxyfile(Object key, long stamp, long length, Doxyfile doxyfile, ReferenceQueue<Doxyfile> queue) {
+            super(doxyfile, queue);
+            this.key = key;
+            this.stamp = stamp;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Implements the resource change listener dropping the changed doxyfiles.
+     */
+    private class MyResourceChangeListener implements IResourceChangeListener, IResourceDeltaVisitor {
+
+        public void resourceChanged(IResourceChangeEvent event) {
+            IResourceDelta delta = event.getDelta();
+            if (delta != null && isEmpty() == false) {
+                try {
+                    delta.accept(this);
+                } catch (CoreException exception) {
+                    Plugin.log(exception);
+                }
+            }
+        }
+
+        public boolean visit(IResourceDelta delta) {
+            IResource resource = delta.getResource();
+            if (resource.getType() == IResource.FILE) {
+                if (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+                    invalidate(resource);
+                }
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * the cached doxyfiles, by IFile or normalized absolute File
+     */
+    private final Map<Object, CachedDoxyfile> entries = new HashMap<Object, CachedDoxyfile>();
+
+    /**
+     * the queue receiving the entries whose doxyfile has been reclaimed
+     */
+    private final ReferenceQueue<Doxyfile> reclaimed = new ReferenceQueue<Doxyfile>();
+
+    /**
+     * the resource change listener, or null when not registered
+     */
+    private MyResourceChangeListener resourceChangeListener;
+
+    /**
+     * Retrieves the shared manager instance, registering its resource change
+     * listener on first use.
+     *
+     * @return  the shared manager
+     */
+    public static synchronized DoxyfileManager getDefault() {
+        if (defaultManager == null) {
+            defaultManager = new DoxyfileManager();
+            defaultManager.resourceChangeListener = defaultManager.new MyResourceChangeListener();
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(defaultManager.resourceChangeListener, IResourceChangeEvent.POST_CHANGE);
+        }
+        return defaultManager;
+    }
+
+    /**
+     * Disposes the shared manager instance, if any.
+     */
+    public static synchronized void disposeDefault() {
+        if (defaultManager != null) {
+            ResourcesPlugin.getWorkspace().removeResourceChangeListener(defaultManager.resourceChangeListener);
+            defaultManager.clear();
+            defaultManager = null;
+        }
+    }
+
+    /**
+     * Retrieves the parsed doxyfile for the given resource, parsing it only when it
+     * is not cached or changed since.
+     *
+     * @param   ifile   a doxyfile resource
+     *
+     * @return  the shared doxyfile, which must not be modified
+     */
+    public Doxyfile getDoxyfile(IFile ifile) throws CoreException, IOException {
+        return getDoxyfile(ifile, ifile.getModificationStamp(), -1);
+    }
+
+    /**
+     * Retrieves the parsed doxyfile for the given file, parsing it only when it is
+     * not cached or changed since.
+     *
+     * @param   file    a doxyfile outside the workspace
+     *
+     * @return  the shared doxyfile, which must not be modified
+     */
+    public Doxyfile getDoxyfile(File file) throws CoreException, IOException {
+        File absoluteFile = normalize(file);
+        return getDoxyfile(absoluteFile, absoluteFile.lastModified(), absoluteFile.length());
+    }
+
+    /**
+     * Retrieves the parsed doxyfile for the given IFile or File.
+     *
+     * @param   file    an IFile or a File
+     *
+     * @return  the shared doxyfile, which must not be modified
+     */
+    public Doxyfile getDoxyfile(Object file) throws CoreException, IOException {
+        if (file instanceof IFile) {
+            return getDoxyfile((IFile) file);
+        } else if (file instanceof File) {
+            return getDoxyfile((File) file);
+        } else {
+            throw new IllegalArgumentException("Not a file: " + file);
+        }
+    }
+
+    /**
+     * Retrieves a snapshot of the given doxyfile.
+     *
+     * @param   file    an IFile or a File
+     *
+     * @return  the snapshot of the shared doxyfile
+     */
+    public DoxyfileSnapshot getSnapshot(Object file) throws CoreException, IOException {
+        Doxyfile doxyfile = getDoxyfile(file);
+        synchronized (doxyfile) {
+            return doxyfile.getSnapshot();
+        }
+    }
+
+    /**
+     * Retrieves the doxyfile cached under the given key, parsing it when needed.
+     *
+     * @param   key     an IFile or an absolute and normalized File
+     * @param   stamp   the current stamp of the file
+     * @param   length  the current length of the file, or -1 for resources
+     *
+     * @return  the shared doxyfile
+     */
+    private Doxyfile getDoxyfile(Object key, long stamp, long length) throws CoreException, IOException {
+        CachedDoxyfile entry;
+        synchronized (entries) {
+            purge();
+            entry = entries.get(key);
+        }
+        Doxyfile doxyfile = (entry != null && entry.stamp == stamp && entry.length == length) ? entry.get() : null;
+        if (doxyfile == null) {
+            doxyfile = (key instanceof IFile) ? new Doxyfile((IFile) key, null) : new Doxyfile(null, (File) key);
+            doxyfile.load();
+            synchronized (entries) {
+                entries.put(key, new CachedDoxyfile(key, stamp, length, doxyfile, reclaimed));
+            }
+        }
+        return doxyfile;
+    }
+
+    /**
+     * Removes the entries whose doxyfile has been reclaimed by the garbage collector,
+     * unless they have been replaced since. Must be called while holding the lock
+     * of the entries.
+     */
+    private void purge() {
+        for (Reference<? extends Doxyfile> reference = reclaimed.poll(); reference != null; reference = reclaimed.poll()) {
+            CachedDoxyfile entry = (CachedDoxyfile) reference;
+            if (entries.get(entry.key) == entry) {
+                entries.remove(entry.key);
+            }
+        }
+    }
+
+    /**
+     * Drops the cached doxyfile of the given resource, including when it has been
+     * cached as a file outside the workspace.
+     *
+     * @param   resource    a resource
+     */
+    public void invalidate(IResource resource) {
+        IPath location = resource.getLocation();
+        synchronized (entries) {
+            entries.remove(resource);
+            if (location != null) {
+                entries.remove(normalize(location.toFile()));
+            }
+        }
+    }
+
+    /**
+     * Makes the given file absolute and normalized, to be used as a key.
+     *
+     * @param   file    a file
+     *
+     * @return  the absolute file without redundant path elements
+     */
+    private static File normalize(File file) {
+        return file.toPath().toAbsolutePath().normalize().toFile();
+    }
+
+    /**
+     * Tells if no doxyfile is cached.
+     *
+     * @return  true or false
+     */
+    private boolean isEmpty() {
+        synchronized (entries) {
+            return entries.isEmpty();
+        }
+    }
+
+    /**
+     * Drops all cached doxyfiles.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+}
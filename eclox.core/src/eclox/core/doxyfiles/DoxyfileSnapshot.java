@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Implements an immutable view of the settings of a doxyfile at a given version.
+ *
+ * Snapshots are taken from a live doxyfile by {@link Doxyfile#getSnapshot()} and can
+ * then be read by any thread without locking, while the doxyfile keeps changing.
+ * Consecutive snapshots share the entries of the settings that did not change, and
+ * taking a snapshot of an unchanged doxyfile returns the previous one, so consumers
+ * can skip their work when the version did not change.
+ */
+public final class DoxyfileSnapshot {
+
+    /**
+     * Implements the immutable state of a setting.
+     */
+    public static final class Entry {
+
+        /**
+         * the setting identifier
+         */
+        private final String identifier;
+
+        /**
+         * the setting schema entry, or null for unknown settings
+         */
+        private final SettingSchema.Entry schema;
+
+        /**
+         * the setting operator
+         */
+        private final String operator;
+
+        /**
+         * the setting value
+         */
+        private final String value;
+
+        /**
+         * the setting group name
+         */
+        private final String group;
+
+        /**
+         * the first line of the setting, or 0 if unknown
+         */
+        private final int firstLine;
+
+        /**
+         * the last line of the setting, or 0 if unknown
+         */
+        private final int lastLine;
+
+        /**
+         * tells if the value matches the setting type
+         */
+        private final boolean valueValid;
+
+        /**
+         * Constructor
+         *
+         * @param   setting a setting to capture
+         */
+        private Entry(Setting setting) {
+            this.identifier = setting.getIdentifier();
+            this.schema = setting.getSchema();
+            this.operator = setting.getOperator();
+            this.value = setting.getValue();
+            this.group = setting.getProperty(Setting.GROUP);
+            this.firstLine = setting.getFirstLine();
+            this.lastLine = setting.getLastLine();
+            this.valueValid = setting.isValueValid();
+        }
+
+        /**
+         * Tells if the entry still describes the given setting.
+         *
+         * @param   setting a setting
+         *
+         * @return  true or false
+         */
+        private boolean matches(Setting setting) {
+            return this.value == setting.getValue()
+                && this.operator == setting.getOperator()
+                && this.firstLine == setting.getFirstLine()
+                && this.lastLine == setting.getLastLine()
+                && this.group == setting.getProperty(Setting.GROUP);
+        }
+
+        /**
+         * Retrieves the setting identifier.
+         *
+         * @return  a string containing the identifier
+         */
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        /**
+         * Retrieves the setting schema entry.
+         *
+         * @return  the schema entry, or null for unknown settings
+         */
+        public SettingSchema.Entry getSchema() {
+            return schema;
+        }
+
+        /**
+         * Retrieves the setting type.
+         *
+         * @return  a setting type, unknown for unknown settings
+         */
+        public SettingType getType() {
+            return (schema != null) ? schema.getType() : SettingType.unknown;
+        }
+
+        /**
+         * Tells if the value matches the setting type, like YES or NO for booleans.
+         *
+         * @return  true or false
+         */
+        public boolean isValueValid() {
+            return valueValid;
+        }
+
+        /**
+         * Retrieves the setting operator.
+         *
+         * @return  a string containing the operator
+         */
+        public String getOperator() {
+            return operator;
+        }
+
+        /**
+         * Retrieves the setting value.
+         *
+         * @return  a string containing the value
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Retrieves the setting group name.
+         *
+         * @return  a string containing the group name, or null if none
+         */
+        public String getGroup() {
+            return group;
+        }
+
+        /**
+         * Retrieves the first line of the setting.
+         *
+         * @return  a 1-based line number, or 0 if unknown
+         */
+        public int getFirstLine() {
+            return firstLine;
+        }
+
+        /**
+         * Retrieves the last line of the setting.
+         *
+         * @return  a 1-based line number, or 0 if unknown
+         */
+        public int getLastLine() {
+            return lastLine;
+        }
+    }
+
+    /**
+     * the doxyfile resource, or null
+     */
+    private final IFile ifile;
+
+    /**
+     * the doxyfile outside the workspace, or null
+     */
+    private final File file;
+
+    /**
+     * the version of the doxyfile the snapshot has been taken at
+     */
+    private final long version;
+
+    /**
+     * the setting entries, in doxyfile order
+     */
+    private final List<Entry> entries;
+
+    /**
+     * the setting entries, by identifier
+     */
+    private final Map<String, Entry> entryMap;
+
+    /**
+     * Constructor
+     *
+     * @param   doxyfile    the doxyfile to capture
+     * @param   previous    a previous snapshot of the doxyfile whose entries can be shared, or null
+     */
+    DoxyfileSnapshot(Doxyfile doxyfile, DoxyfileSnapshot previous) {
+        List<Entry> entries = new ArrayList<Entry>();
+        Map<String, Entry> entryMap = new HashMap<String, Entry>();
+        for (Object object : doxyfile.getSettings()) {
+            Setting setting = (Setting) object;
+            Entry entry = (previous != null) ? previous.entryMap.get(setting.getIdentifier()) : null;
+            if (entry == null || entry.matches(setting) == false) {
+                entry = new Entry(setting);
+            }
+            entries.add(entry);
+            entryMap.put(entry.getIdentifier(), entry);
+        }
+        this.ifile = doxyfile.getIFile();
+        this.file = doxyfile.getFile();
+        this.version = doxyfile.getVersion();
+        this.entries = Collections.unmodifiableList(entries);
+        this.entryMap = entryMap;
+    }
+
+    /**
+     * Retrieves the doxyfile resource.
+     *
+     * @return  a file resource, or null for doxyfiles outside the workspace
+     */
+    public IFile getIFile() {
+        return ifile;
+    }
+
+    /**
+     * Retrieves the doxyfile outside the workspace.
+     *
+     * @return  a file, or null for doxyfiles in the workspace
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Retrieves the version of the doxyfile the snapshot has been taken at. Two
+     * snapshots of a doxyfile with the same version have the same content.
+     *
+     * @return  a version number
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the entries of all settings.
+     *
+     * @return  a read-only list of entries, in doxyfile order
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Retrieves the entry of the given setting.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  the entry, or null if the doxyfile has no such setting
+     */
+    public Entry getEntry(String identifier) {
+        return entryMap.get(identifier);
+    }
+
+    /**
+     * Retrieves the value of the given setting.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  a string containing the value, or null if the doxyfile has no such setting
+     */
+    public String getValue(String identifier) {
+        Entry entry = entryMap.get(identifier);
+        return (entry != null) ? entry.getValue() : null;
+    }
+
+}
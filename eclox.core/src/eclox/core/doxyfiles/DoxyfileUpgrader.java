@@ -0,0 +1,663 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import eclox.core.ListSeparateMode;
+import eclox.core.TagFormat;
+import eclox.core.doxyfiles.io.IParserHandler;
+import eclox.core.doxyfiles.io.Parser;
+import eclox.core.doxyfiles.io.Serializer;
+
+/**
+ * Implements the upgrade of doxyfiles to the settings of a doxygen version, in
+ * place of running <code>doxygen -u</code>.
+ *
+ * The settings of the version are described either by the template doxygen
+ * generates with <code>doxygen -g</code>, or by the setting schema, which
+ * describes the settings of {@link #SCHEMA_VERSION}. Missing settings are inserted
+ * in their order, each one following the closest preceding setting of the
+ * doxyfile, with the comment and the default value of the template, or with the
+ * note of the schema and an empty value. Existing settings, values and comments
+ * are kept as they are, and settings unknown to the version are reported as
+ * obsolete. When saved, only the inserted lines are added to the original content.
+ */
+public class DoxyfileUpgrader {
+
+    /**
+     * the version of doxygen whose settings are described by the setting schema
+     */
+    public static final String SCHEMA_VERSION = "1.5.6";
+
+    /**
+     * the maximum width of the inserted comment lines
+     */
+    private static final int COMMENT_WIDTH = 78;
+
+    /**
+     * the width identifiers are padded to, like doxygen does
+     */
+    private static final int IDENTIFIER_WIDTH = 23;
+
+    /**
+     * the interval in milliseconds at which cancellation is checked
+     */
+    private static final long POLL_INTERVAL = 100;
+
+    /**
+     * the shared upgrader instance, created on first use
+     */
+    private static DoxyfileUpgrader defaultUpgrader;
+
+    /**
+     * Implements the result of the upgrade of one doxyfile.
+     */
+    public static class Result {
+
+        /**
+         * the upgraded file, an IFile, a File or null for a doxyfile upgraded in memory
+         */
+        private Object file;
+
+        /**
+         * the settings that have been added
+         */
+        private List<Setting> addedSettings;
+
+        /**
+         * the settings that are not known by the doxygen version
+         */
+        private List<Setting> obsoleteSettings;
+
+        /**
+         * the error that occurred, or null on success
+         */
+        private Throwable error;
+
+        /**
+         * Constructor
+         */
+        Result(Object file, List<Setting> addedSettings, List<Setting> obsoleteSettings, Throwable error) {
+            this.file = file;
+            this.addedSettings = addedSettings;
+            this.obsoleteSettings = obsoleteSettings;
+            this.error = error;
+        }
+
+        /**
+         * Retrieves the file that has been upgraded.
+         *
+         * @return  an IFile or a File, or null for a doxyfile upgraded in memory
+         */
+        public Object getFile() {
+            return file;
+        }
+
+        /**
+         * Retrieves the settings that have been added.
+         *
+         * @return  a list of settings, in canonical order
+         */
+        public List<Setting> getAddedSettings() {
+            return addedSettings;
+        }
+
+        /**
+         * Retrieves the settings that are not known by the doxygen version, and that
+         * doxygen would report as obsolete.
+         *
+         * @return  a list of settings, in doxyfile order
+         */
+        public List<Setting> getObsoleteSettings() {
+            return obsoleteSettings;
+        }
+
+        /**
+         * Retrieves the error that prevented the doxyfile from being upgraded.
+         *
+         * @return  an error, or null if the doxyfile has been upgraded
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * Tells if the doxyfile has been upgraded.
+         *
+         * @return  true or false
+         */
+        public boolean isOK() {
+            return error == null;
+        }
+
+        /**
+         * Tells if settings have been added.
+         *
+         * @return  true or false
+         */
+        public boolean isChanged() {
+            return addedSettings.isEmpty() == false;
+        }
+    }
+
+    /**
+     * Implements a setting of the doxygen version doxyfiles are upgraded to.
+     */
+    private static class Target {
+
+        /**
+         * the position of the setting in the doxygen version order
+         */
+        final int index;
+
+        /**
+         * the setting identifier
+         */
+        final String identifier;
+
+        /**
+         * the default value of the setting
+         */
+        final String value;
+
+        /**
+         * the comment lines describing the setting
+         */
+        final List<String> comment;
+
+        Target(int index, String identifier, String value, List<String> comment) {
+            this.index = index;
+            this.identifier = identifier;
+            this.value = value;
+            this.comment = comment;
+        }
+    }
+
+    /**
+     * Implements a parser handler collecting the settings of a template with
+     * their comments.
+     */
+    private static class TemplateReader implements IParserHandler {
+
+        /**
+         * the settings collected so far, by identifier, in template order
+         */
+        final Map<String, Target> targets = new LinkedHashMap<String, Target>();
+
+        /**
+         * the raw lines read since the previous setting
+         */
+        private final List<String> lines = new ArrayList<String>();
+
+        public boolean onSetting(String identifier, String value, int line) {
+            if (targets.containsKey(identifier) == false) {
+                targets.put(identifier, new Target(targets.size(), identifier, value, getComment()));
+            }
+            lines.clear();
+            return true;
+        }
+
+        public boolean onIncrement(String identifier, String value, int line) {
+            lines.clear();
+            return true;
+        }
+
+        public boolean onInclude(String file, int line) {
+            lines.clear();
+            return true;
+        }
+
+        public boolean onIncludePath(String path, int line) {
+            lines.clear();
+            return true;
+        }
+
+        public boolean onRawLine(String text, int line) {
+            lines.add(text);
+            return true;
+        }
+
+        /**
+         * Retrieves the comment of the setting being read, that is the raw lines
+         * following the last group header, without the surrounding empty lines.
+         *
+         * @return  a list of comment lines
+         */
+        private List<String> getComment() {
+            int begin = 0;
+            int end = lines.size();
+            for (int i = 0; i < end; i++) {
+                if (lines.get(i).startsWith("#---")) {
+                    begin = i + 1;
+                }
+            }
+            while (begin < end && lines.get(begin).trim().isEmpty()) {
+                begin++;
+            }
+            while (end > begin && lines.get(end - 1).trim().isEmpty()) {
+                end--;
+            }
+            return Collections.unmodifiableList(new ArrayList<String>(lines.subList(begin, end)));
+        }
+    }
+
+    /**
+     * the settings of the doxygen version, in order
+     */
+    private final List<Target> targets;
+
+    /**
+     * the settings of the doxygen version, by identifier
+     */
+    private final Map<String, Target> targetMap;
+
+    /**
+     * Constructor using the default schema.
+     */
+    public DoxyfileUpgrader() {
+        this(SettingSchema.getDefault());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param   schema  the schema giving the settings and their order
+     */
+    public DoxyfileUpgrader(SettingSchema schema) {
+        Map<String, Target> targetMap = new LinkedHashMap<String, Target>();
+        for (SettingSchema.Entry entry : schema.getOrderedEntries()) {
+            targetMap.put(entry.getIdentifier(), new Target(targetMap.size(), entry.getIdentifier(), "", getCommentLines(entry)));
+        }
+        this.targets = new ArrayList<Target>(targetMap.values());
+        this.targetMap = targetMap;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param   template    the content of the template generated by <code>doxygen -g</code>,
+     *                      giving the settings, their order, comments and default values
+     */
+    public DoxyfileUpgrader(byte[] template) throws IOException {
+        TemplateReader reader = new TemplateReader();
+        new Parser(new ByteArrayInputStream(template)).read(reader);
+        if (reader.targets.isEmpty()) {
+            throw new IOException("The doxygen template has no settings.");
+        }
+        this.targets = new ArrayList<Target>(reader.targets.values());
+        this.targetMap = reader.targets;
+    }
+
+    /**
+     * Retrieves the shared upgrader instance, using the default schema.
+     *
+     * @return  the shared upgrader
+     */
+    public static synchronized DoxyfileUpgrader getDefault() {
+        if (defaultUpgrader == null) {
+            defaultUpgrader = new DoxyfileUpgrader();
+        }
+        return defaultUpgrader;
+    }
+
+    /**
+     * Tells if doxyfiles for the given doxygen version can be upgraded without
+     * running doxygen, which is the case when that version is not newer than the
+     * one described by the schema. Unknown versions are not supported, since the
+     * schema could drop or miss their settings.
+     *
+     * @param   doxygenVersion  a string containing a doxygen version, or null when
+     *                          it is unknown
+     *
+     * @return  true or false
+     */
+    public static boolean isSupported(String doxygenVersion) {
+        return doxygenVersion != null && compareVersions(doxygenVersion, SCHEMA_VERSION) <= 0;
+    }
+
+    /**
+     * Compares two dotted version numbers.
+     *
+     * @return  a negative number, zero or a positive number when the first version
+     *          is older, the same or newer than the second one
+     */
+    private static int compareVersions(String version1, String version2) {
+        String[] parts1 = version1.trim().split("\\.");
+        String[] parts2 = version2.trim().split("\\.");
+        for (int i = 0; i < Math.max(parts1.length, parts2.length); i++) {
+            int part1 = (i < parts1.length) ? parseVersionPart(parts1[i]) : 0;
+            int part2 = (i < parts2.length) ? parseVersionPart(parts2[i]) : 0;
+            if (part1 != part2) {
+                return part1 - part2;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Parses the leading digits of a version part.
+     *
+     * @return  the number, or 0 when none
+     */
+    private static int parseVersionPart(String part) {
+        int end = 0;
+        while (end < part.length() && end < 9 && Character.isDigit(part.charAt(end))) {
+            end++;
+        }
+        return (end > 0) ? Integer.parseInt(part.substring(0, end)) : 0;
+    }
+
+    /**
+     * Upgrades the given doxyfile in memory, in a single change transaction.
+     *
+     * The inserted chunks have no position until the doxyfile has been saved.
+     *
+     * @param   doxyfile    a doxyfile
+     *
+     * @return  the result, whose file is null
+     */
+    public Result upgrade(Doxyfile doxyfile) {
+        // Locates the settings present in the doxyfile and collects the obsolete ones.
+        int[] chunkIndexes = new int[targets.size()];
+        int firstSettingIndex = -1;
+        List<Setting> obsoleteSettings = new ArrayList<Setting>();
+        for (int i = 0; i < doxyfile.getChunkCount(); i++) {
+            Chunk chunk = doxyfile.getChunk(i);
+            if (chunk instanceof Setting) {
+                Setting setting = (Setting) chunk;
+                Target target = targetMap.get(setting.getIdentifier());
+                if (target == null) {
+                    obsoleteSettings.add(setting);
+                } else {
+                    chunkIndexes[target.index] = i + 1;
+                }
+                if (firstSettingIndex == -1) {
+                    firstSettingIndex = i;
+                }
+            }
+        }
+
+        // Groups the missing settings by the index of the chunk they are inserted at.
+        Map<Integer, List<Chunk>> insertions = new TreeMap<Integer, List<Chunk>>(Collections.<Integer>reverseOrder());
+        List<Setting> addedSettings = new ArrayList<Setting>();
+        int insertionIndex = (firstSettingIndex != -1) ? firstSettingIndex : doxyfile.getChunkCount();
+        boolean leading = firstSettingIndex != -1;
+        for (Target target : targets) {
+            if (chunkIndexes[target.index] != 0) {
+                insertionIndex = chunkIndexes[target.index];
+                leading = false;
+                continue;
+            }
+            List<Chunk> chunks = insertions.get(insertionIndex);
+            if (chunks == null) {
+                chunks = new ArrayList<Chunk>();
+                insertions.put(insertionIndex, chunks);
+            }
+            Setting setting = createSetting(target);
+            chunks.add(createComment(target, leading == false));
+            chunks.add(setting);
+            if (leading) {
+                chunks.add(createComment(null, true));
+            }
+            addedSettings.add(setting);
+        }
+
+        // Inserts the chunks from the end, so the indexes of the next insertions remain valid.
+        if (insertions.isEmpty() == false) {
+            doxyfile.beginChanges();
+            try {
+                for (Map.Entry<Integer, List<Chunk>> insertion : insertions.entrySet()) {
+                    int index = insertion.getKey();
+                    doxyfile.replaceChunks(index, index, insertion.getValue());
+                }
+            } finally {
+                doxyfile.commitChanges();
+            }
+        }
+        return new Result(null, addedSettings, obsoleteSettings, null);
+    }
+
+    /**
+     * Loads, upgrades and saves the given doxyfile when settings are missing.
+     *
+     * The doxyfile is loaded on its own, not from the {@link DoxyfileManager}, which
+     * notices the new content once saved.
+     *
+     * @param   file    an IFile or a File
+     *
+     * @return  the result
+     */
+    public Result upgradeFile(Object file) {
+        try {
+            Doxyfile doxyfile;
+            if (file instanceof IFile) {
+                doxyfile = new Doxyfile((IFile) file, null);
+            } else if (file instanceof File) {
+                doxyfile = new Doxyfile(null, (File) file);
+            } else {
+                throw new IllegalArgumentException("Not a file: " + file);
+            }
+            doxyfile.load();
+            Result result = upgrade(doxyfile);
+            if (result.isChanged()) {
+                save(doxyfile, file);
+            }
+            return new Result(file, result.getAddedSettings(), result.getObsoleteSettings(), null);
+        } catch (Throwable throwable) {
+            return new Result(file, Collections.<Setting>emptyList(), Collections.<Setting>emptyList(), throwable);
+        }
+    }
+
+    /**
+     * Upgrades the given doxyfiles in parallel, on the pool shared with the
+     * {@link DoxyfileLoader}.
+     *
+     * @param   files       a collection of doxyfiles, either IFile or File instances
+     * @param   monitor     a progress monitor, or null
+     *
+     * @return  a list of results, in the order of the given files
+     *
+     * @throws  OperationCanceledException  when the monitor has been canceled
+     */
+    public List<Result> upgradeAll(Collection<?> files, IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, "Upgrading doxyfiles", files.size());
+        List<Future<Result>> futures = new ArrayList<Future<Result>>(files.size());
+        for (final Object file : files) {
+            futures.add(DoxyfileLoader.getPool().submit(new Callable<Result>() {
+                public Result call() {
+                    return upgradeFile(file);
+                }
+            }));
+        }
+
+        // Waits for the results in order while reporting progress.
+        List<Result> results = new ArrayList<Result>(futures.size());
+        try {
+            for (Future<Result> future : futures) {
+                for (;;) {
+                    if (progress.isCanceled()) {
+                        throw new OperationCanceledException();
+                    }
+                    try {
+                        results.add(future.get(POLL_INTERVAL, TimeUnit.MILLISECONDS));
+                        progress.worked(1);
+                        break;
+                    } catch (TimeoutException exception) {
+                        // Checks the cancellation again.
+                    }
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        } catch (ExecutionException exception) {
+            // Cannot happen since upgradeFile catches everything.
+            throw new IllegalStateException(exception.getCause());
+        } finally {
+            for (Future<Result> future : futures) {
+                future.cancel(false);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Saves the given upgraded doxyfile, splicing the inserted chunks into its
+     * current content.
+     *
+     * @param   doxyfile    an upgraded doxyfile
+     * @param   file        the IFile or File to save to
+     */
+    private static void save(Doxyfile doxyfile, Object file) throws CoreException, IOException {
+        byte[] original = doxyfile.readContent();
+        String lineSeparator = Serializer.getLineSeparator(original, "\n");
+        Serializer serializer = new Serializer(doxyfile, original, lineSeparator,
+                ListSeparateMode.listSeparateModeDoNotChange, TagFormat.tagFormatDoNotChange);
+        if (file instanceof IFile) {
+            ((IFile) file).setContents(serializer, IResource.KEEP_HISTORY, null);
+        } else {
+            FileOutputStream outputStream = new FileOutputStream((File) file);
+            try {
+                serializer.writeTo(outputStream.getChannel());
+            } finally {
+                outputStream.close();
+            }
+        }
+        serializer.commit();
+    }
+
+    /**
+     * Creates a setting with its default value, an empty value letting doxygen
+     * use its built-in default.
+     *
+     * @param   target  the setting of the doxygen version
+     *
+     * @return  a new setting
+     */
+    private static Setting createSetting(Target target) {
+        String identifier = target.identifier;
+        StringBuilder spaces = new StringBuilder(" ");
+        while (identifier.length() + spaces.length() < IDENTIFIER_WIDTH) {
+            spaces.append(' ');
+        }
+        return new Setting(identifier, spaces.toString(), target.value, "=", false);
+    }
+
+    /**
+     * Creates the comment preceding an inserted setting, like doxygen writes it.
+     *
+     * @param   target          the setting of the doxygen version, or null for an empty line only
+     * @param   separated       tells if an empty line precedes the comment
+     *
+     * @return  a new raw text chunk
+     */
+    private static RawText createComment(Target target, boolean separated) {
+        RawText rawText = new RawText();
+        if (separated) {
+            rawText.addLine("");
+        }
+        if (target != null) {
+            for (String line : target.comment) {
+                rawText.addLine(line);
+            }
+            rawText.addLine("");
+        }
+        rawText.trim();
+        return rawText;
+    }
+
+    /**
+     * Retrieves the comment lines describing the given setting, built from its note.
+     *
+     * @param   entry   the schema entry of a setting
+     *
+     * @return  a list of comment lines
+     */
+    private static List<String> getCommentLines(SettingSchema.Entry entry) {
+        List<String> lines = new ArrayList<String>();
+        String note = (entry.getNote() != null) ? entry.getNote() : entry.getText();
+        if (note != null) {
+            for (String paragraph : toParagraphs(note)) {
+                if (lines.isEmpty() == false) {
+                    lines.add("#");
+                }
+                addCommentLines(lines, paragraph);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Converts a note into plain text paragraphs.
+     *
+     * @param   note    a string containing a note, possibly with HTML paragraphs
+     *
+     * @return  a list of paragraphs
+     */
+    private static List<String> toParagraphs(String note) {
+        List<String> paragraphs = new ArrayList<String>();
+        for (String paragraph : note.split("(?i)</?p>|<br\\s*/?>")) {
+            paragraph = paragraph.replaceAll("<[^>]*>", "").replace("&lt;", "<").replace("&gt;", ">")
+                    .replace("&quot;", "\"").replace("&amp;", "&").trim();
+            if (paragraph.isEmpty() == false) {
+                paragraphs.add(paragraph);
+            }
+        }
+        return paragraphs;
+    }
+
+    /**
+     * Adds the given paragraph as comment lines wrapped at the comment width.
+     *
+     * @param   lines       a list receiving the comment lines
+     * @param   paragraph   a string containing a paragraph
+     */
+    private static void addCommentLines(List<String> lines, String paragraph) {
+        StringBuilder line = new StringBuilder("#");
+        for (String word : paragraph.split("\\s+")) {
+            if (line.length() > 1 && line.length() + 1 + word.length() > COMMENT_WIDTH) {
+                lines.add(line.toString());
+                line.setLength(1);
+            }
+            line.append(' ').append(word);
+        }
+        if (line.length() > 1) {
+            lines.add(line.toString());
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implements the effective configuration of a doxyfile, that is the setting values
+ * doxygen really uses once all <code>@INCLUDE</code> directives have been followed.
+ *
+ * Instances are built by the {@link IncludeResolver} and should be considered as
+ * read-only snapshots.
+ */
+public class EffectiveConfiguration {
+
+    /**
+     * Implements an effective setting value and remembers where it comes from.
+     */
+    public static class Value {
+
+        /**
+         * a string containing the effective value
+         */
+        private String value;
+
+        /**
+         * the file containing the last assignment or increment of the setting
+         */
+        private File source;
+
+        /**
+         * the line of the last assignment or increment in the source file
+         */
+        private int line;
+
+        /**
+         * Constructor
+         */
+        Value(String value, File source, int line) {
+            this.value = value;
+            this.source = source;
+            this.line = line;
+        }
+
+        /**
+         * Retrieves the effective value.
+         *
+         * @return  a string containing the value
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Retrieves the file that last assigned or incremented the value.
+         *
+         * @return  a file
+         */
+        public File getSource() {
+            return source;
+        }
+
+        /**
+         * Retrieves the line of the last assignment or increment in the source file.
+         *
+         * @return  a line number
+         */
+        public int getLine() {
+            return line;
+        }
+    }
+
+    /**
+     * the root doxyfile
+     */
+    private File root;
+
+    /**
+     * the effective values, by setting identifier, in order of first appearance
+     */
+    private Map<String, Value> values = new LinkedHashMap<String, Value>();
+
+    /**
+     * all files that contributed to the configuration, root first
+     */
+    private List<File> files = new ArrayList<File>();
+
+    /**
+     * the include directives that could not be resolved
+     */
+    private List<String> missingIncludes = new ArrayList<String>();
+
+    /**
+     * Constructor
+     *
+     * @param   root    the root doxyfile
+     */
+    EffectiveConfiguration(File root) {
+        this.root = root;
+    }
+
+    /**
+     * Assigns a value.
+     */
+    void assign(String identifier, String value, File source, int line) {
+        values.put(identifier, new Value(value, source, line));
+    }
+
+    /**
+     * Appends a value to the current one.
+     */
+    void increment(String identifier, String value, File source, int line) {
+        Value current = values.get(identifier);
+        String newValue = (current != null) ? current.getValue() + " " + value : value;
+        values.put(identifier, new Value(newValue, source, line));
+    }
+
+    /**
+     * Adds a file that contributed to the configuration.
+     */
+    void addFile(File file) {
+        files.add(file);
+    }
+
+    /**
+     * Adds an include directive that could not be resolved.
+     */
+    void addMissingInclude(String include) {
+        missingIncludes.add(include);
+    }
+
+    /**
+     * Retrieves the root doxyfile.
+     *
+     * @return  a file
+     */
+    public File getRoot() {
+        return root;
+    }
+
+    /**
+     * Retrieves the effective value of the given setting.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  a string containing the value, or null if the setting is not set
+     */
+    public String getValue(String identifier) {
+        Value value = values.get(identifier);
+        return (value != null) ? value.getValue() : null;
+    }
+
+    /**
+     * Retrieves the file that gives the given setting its value.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  a file, or null if the setting is not set
+     */
+    public File getSource(String identifier) {
+        Value value = values.get(identifier);
+        return (value != null) ? value.getSource() : null;
+    }
+
+    /**
+     * Retrieves the effective value of the given setting with its origin.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  the value, or null if the setting is not set
+     */
+    public Value get(String identifier) {
+        return values.get(identifier);
+    }
+
+    /**
+     * Tells if the given setting has a value.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  true or false
+     */
+    public boolean hasValue(String identifier) {
+        return values.containsKey(identifier);
+    }
+
+    /**
+     * Retrieves the iterator on all setting identifiers.
+     *
+     * @return  an iterator on setting identifiers
+     */
+    public Iterator<String> identifierIterator() {
+        return Collections.unmodifiableCollection(values.keySet()).iterator();
+    }
+
+    /**
+     * Retrieves all files that contributed to the configuration, in the order
+     * they have been read, starting with the root doxyfile.
+     *
+     * @return  a collection of files
+     */
+    public Collection<File> getFiles() {
+        return Collections.unmodifiableList(files);
+    }
+
+    /**
+     * Retrieves the include directives that could not be resolved.
+     *
+     * @return  a collection of strings containing the included file names
+     */
+    public Collection<String> getMissingIncludes() {
+        return Collections.unmodifiableList(missingIncludes);
+    }
+
+}
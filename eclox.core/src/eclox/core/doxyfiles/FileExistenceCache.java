@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implements a cache of file existence checks, whose answers are kept for a short
+ * time so long path lists checked again and again do not query the file system
+ * each time.
+ */
+public class FileExistenceCache {
+
+    /**
+     * the maximum number of cached answers
+     */
+    private static final int MAX_ENTRIES = 4096;
+
+    /**
+     * Implements a cached answer.
+     */
+    private static class CachedKind {
+
+        /**
+         * the kind of file, see the KIND constants
+         */
+        final byte kind;
+
+        /**
+         * the time the answer expires, in nanoseconds
+         */
+        final long expiry;
+
+        CachedKind(byte kind, long expiry) {
+            this.kind = kind;
+            this.expiry = expiry;
+        }
+    }
+
+    /**
+     * the kind of missing files
+     */
+    private static final byte KIND_MISSING = 0;
+
+    /**
+     * the kind of regular files
+     */
+    private static final byte KIND_FILE = 1;
+
+    /**
+     * the kind of directories
+     */
+    private static final byte KIND_DIRECTORY = 2;
+
+    /**
+     * the time answers are kept, in nanoseconds
+     */
+    private final long timeToLive;
+
+    /**
+     * the time of the last removal of expired answers, in nanoseconds
+     */
+    private long lastPurge = System.nanoTime();
+
+    /**
+     * the cached answers, by absolute path in access order
+     */
+    private final Map<String, CachedKind> entries = new LinkedHashMap<String, CachedKind>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        protected boolean removeEldestEntry(Map.Entry<String, CachedKind> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Constructor
+     *
+     * @param   timeToLive  the time answers are kept, in milliseconds
+     */
+    public FileExistenceCache(long timeToLive) {
+        this.timeToLive = timeToLive * 1000000L;
+    }
+
+    /**
+     * Tells if the given file exists, whatever its kind.
+     *
+     * @param   file    a file
+     *
+     * @return  true or false
+     */
+    public boolean exists(File file) {
+        return getKind(file) != KIND_MISSING;
+    }
+
+    /**
+     * Tells if the given file exists and is a directory.
+     *
+     * @param   file    a file
+     *
+     * @return  true or false
+     */
+    public boolean isDirectory(File file) {
+        return getKind(file) == KIND_DIRECTORY;
+    }
+
+    /**
+     * Drops all cached answers.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Retrieves the kind of the given file, from the cache when not expired.
+     *
+     * @param   file    a file
+     *
+     * @return  the kind of file
+     */
+    private byte getKind(File file) {
+        String path = file.getAbsolutePath();
+        long now = System.nanoTime();
+        synchronized (this) {
+            CachedKind entry = entries.get(path);
+            if (entry != null && entry.expiry - now > 0) {
+                return entry.kind;
+            }
+        }
+
+        // Queries the file system outside of the lock.
+        byte kind = file.isDirectory() ? KIND_DIRECTORY : (file.exists() ? KIND_FILE : KIND_MISSING);
+        synchronized (this) {
+            entries.put(path, new CachedKind(kind, now + timeToLive));
+            if (now - lastPurge > timeToLive) {
+                purge(now);
+            }
+        }
+        return kind;
+    }
+
+    /**
+     * Removes the expired answers.
+     *
+     * @param   now the current time, in nanoseconds
+     */
+    private void purge(long now) {
+        lastPurge = now;
+        for (Iterator<CachedKind> i = entries.values().iterator(); i.hasNext();) {
+            if (i.next().expiry - now <= 0) {
+                i.remove();
+            }
+        }
+    }
+
+}
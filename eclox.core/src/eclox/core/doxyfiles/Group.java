@@ -52,6 +52,13 @@ public class Group {
         settings.add(setting);
     }
 
+    /**
+     * Removes all settings from the group.
+     */
+    void clear() {
+        settings.clear();
+    }
+
     /**
      * Retrieves the group name.
      *
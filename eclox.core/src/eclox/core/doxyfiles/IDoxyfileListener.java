@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+/**
+ * Defines the interface for listeners listening for the changes of a doxyfile.
+ *
+ * Changes made within a transaction are reported once, when the transaction is
+ * committed, while other changes are reported as they happen.
+ *
+ * @see Doxyfile#beginChanges()
+ * @see Doxyfile#commitChanges()
+ */
+public interface IDoxyfileListener {
+
+    /**
+     * Notifies that settings of a doxyfile changed.
+     *
+     * @param	changes	the change set describing the changed settings
+     */
+    void doxyfileChanged(ChangeSet changes);
+
+}
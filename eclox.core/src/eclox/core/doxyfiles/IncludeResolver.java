@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+
+import eclox.core.doxyfiles.io.IParserHandler;
+import eclox.core.doxyfiles.io.Parser;
+
+/**
+ * Implements the resolution of <code>@INCLUDE</code> and <code>@INCLUDE_PATH</code>
+ * directives into an {@link EffectiveConfiguration}.
+ *
+ * Each file is parsed once into a list of statements that is cached by path and
+ * modification stamp, the least recently used files being dropped once the cache
+ * is full. The cache is shared by all doxyfiles, so a base doxyfile
+ * included by many others is only parsed again once it changed on disk. Included
+ * files are searched like doxygen does, first relative to the directory of the
+ * root doxyfile (doxygen's working directory) and then in the include path.
+ * Variable references in included files and include paths are expanded.
+ *
+ * The resolver also maintains the include graph of the configurations resolved so
+ * far, telling which root doxyfiles include a given file, so they can be checked
+ * again once that file changed.
+ */
+public class IncludeResolver {
+
+    /**
+     * the maximum include depth, like doxygen does
+     */
+    private static final int MAX_INCLUDE_DEPTH = 10;
+
+    /**
+     * the maximum number of cached parsed files
+     */
+    private static final int MAX_CACHED_FILES = 256;
+
+    /**
+     * the shared resolver instance
+     */
+    private static IncludeResolver defaultResolver = new IncludeResolver();
+
+    /**
+     * Implements a statement of a parsed doxyfile.
+     */
+    private static class Statement {
+
+        static final int ASSIGNMENT = 0;
+        static final int INCREMENT = 1;
+        static final int INCLUDE = 2;
+        static final int INCLUDE_PATH = 3;
+
+        final int kind;
+        final String identifier;
+        final String value;
+        final int line;
+
+        Statement(int kind, String identifier, String value, int line) {
+            this.kind = kind;
+            this.identifier = identifier;
+            this.value = value;
+            this.line = line;
+        }
+    }
+
+    /**
+     * Implements a parsed file as stored in the cache.
+     */
+    private static class ParsedFile implements IParserHandler {
+
+        /**
+         * the modification stamp of the file when it has been parsed
+         */
+        final long lastModified;
+
+        /**
+         * the size of the file when it has been parsed
+         */
+        final long length;
+
+        /**
+         * the statements of the file, in order
+         */
+        final List<Statement> statements = new ArrayList<Statement>();
+
+        ParsedFile(long lastModified, long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        boolean isUpToDate(File file) {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+
+        public boolean onSetting(String identifier, String value, int line) {
+            statements.add(new Statement(Statement.ASSIGNMENT, identifier, value, line));
+            return true;
+        }
+
+        public boolean onIncrement(String identifier, String value, int line) {
+            statements.add(new Statement(Statement.INCREMENT, identifier, value, line));
+            return true;
+        }
+
+        public boolean onInclude(String file, int line) {
+            statements.add(new Statement(Statement.INCLUDE, null, file, line));
+            return true;
+        }
+
+        public boolean onIncludePath(String path, int line) {
+            statements.add(new Statement(Statement.INCLUDE_PATH, null, path, line));
+            return true;
+        }
+
+        public boolean onRawLine(String text, int line) {
+            return true;
+        }
+    }
+
+    /**
+     * the parsed files, by canonical path in access order, the least recently used being dropped
+     */
+    private final Map<String, ParsedFile> cache = new LinkedHashMap<String, ParsedFile>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        protected boolean removeEldestEntry(Map.Entry<String, ParsedFile> eldest) {
+            return size() > MAX_CACHED_FILES;
+        }
+    };
+
+    /**
+     * the include graph: for each root doxyfile, the other files it includes
+     */
+    private final Map<File, List<File>> includedFiles = new HashMap<File, List<File>>();
+
+    /**
+     * the include graph reversed: for each included file, the root doxyfiles including it
+     */
+    private final Map<File, Set<File>> includers = new HashMap<File, Set<File>>();
+
+    /**
+     * Retrieves the shared resolver instance.
+     *
+     * @return  the shared resolver
+     */
+    public static IncludeResolver getDefault() {
+        return defaultResolver;
+    }
+
+    /**
+     * Resolves the effective configuration of the given doxyfile.
+     *
+     * @param   doxyfile    a doxyfile
+     *
+     * @return  the effective configuration
+     */
+    public EffectiveConfiguration resolve(Doxyfile doxyfile) throws IOException {
+        File file = doxyfile.getFile();
+        if (doxyfile.getIFile() != null) {
+            IPath location = doxyfile.getIFile().getLocation();
+            if (location == null) {
+                throw new IOException(doxyfile.getFullPath() + ": not a local file.");
+            }
+            file = location.toFile();
+        }
+        return resolve(file);
+    }
+
+    /**
+     * Resolves the effective configuration of the doxyfile the given snapshot
+     * has been taken from.
+     *
+     * @param   snapshot    a doxyfile snapshot
+     *
+     * @return  the effective configuration
+     */
+    public EffectiveConfiguration resolve(DoxyfileSnapshot snapshot) throws IOException {
+        File file = snapshot.getFile();
+        if (snapshot.getIFile() != null) {
+            IPath location = snapshot.getIFile().getLocation();
+            if (location == null) {
+                throw new IOException(snapshot.getIFile().getFullPath() + ": not a local file.");
+            }
+            file = location.toFile();
+        }
+        return resolve(file);
+    }
+
+    /**
+     * Resolves the effective configuration of the given doxyfile.
+     *
+     * @param   file    a doxyfile on the file system
+     *
+     * @return  the effective configuration
+     */
+    public EffectiveConfiguration resolve(File file) throws IOException {
+        File root = file.getCanonicalFile();
+        EffectiveConfiguration configuration = new EffectiveConfiguration(root);
+        List<File> includePath = new ArrayList<File>();
+        List<File> stack = new ArrayList<File>();
+        apply(root, root.getParentFile(), configuration, includePath, stack);
+        updateGraph(root, configuration);
+        return configuration;
+    }
+
+    /**
+     * Retrieves the root doxyfiles known to include the given file, directly or
+     * not, according to the configurations resolved so far.
+     *
+     * @param   file    a file
+     *
+     * @return  a collection of root doxyfiles, empty when none
+     */
+    public Collection<File> getIncluders(File file) throws IOException {
+        synchronized (includers) {
+            if (includers.isEmpty()) {
+                return Collections.<File>emptyList();
+            }
+            Set<File> roots = includers.get(file.getCanonicalFile());
+            return (roots != null) ? new ArrayList<File>(roots) : Collections.<File>emptyList();
+        }
+    }
+
+    /**
+     * Replaces the edges of the given root doxyfile in the include graph. Only
+     * the files included by that root before and now are visited.
+     *
+     * @param   root            a root doxyfile, canonical
+     * @param   configuration   the configuration resolved for the root doxyfile
+     */
+    private void updateGraph(File root, EffectiveConfiguration configuration) {
+        List<File> files = new ArrayList<File>();
+        for (File file : configuration.getFiles()) {
+            if (file.equals(root) == false) {
+                files.add(file);
+            }
+        }
+        synchronized (includers) {
+            List<File> previousFiles = includedFiles.remove(root);
+            if (previousFiles != null) {
+                for (File file : previousFiles) {
+                    Set<File> roots = includers.get(file);
+                    if (roots != null && roots.remove(root) && roots.isEmpty()) {
+                        includers.remove(file);
+                    }
+                }
+            }
+            if (files.isEmpty() == false) {
+                includedFiles.put(root, files);
+                for (File file : files) {
+                    Set<File> roots = includers.get(file);
+                    if (roots == null) {
+                        roots = new HashSet<File>();
+                        includers.put(file, roots);
+                    }
+                    roots.add(root);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all cached files.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        synchronized (includers) {
+            includedFiles.clear();
+            includers.clear();
+        }
+    }
+
+    /**
+     * Applies the statements of the given file to the configuration, following includes.
+     *
+     * @param   file            the file to apply
+     * @param   workingDir      the directory include files are searched in first
+     * @param   configuration   the configuration to update
+     * @param   includePath     the current include path
+     * @param   stack           the files being applied, used to detect cycles
+     */
+    private void apply(File file, File workingDir, EffectiveConfiguration configuration, List<File> includePath,
+            List<File> stack) throws IOException {
+        ParsedFile parsedFile = getParsedFile(file);
+        VariableExpander expander = VariableExpander.getDefault();
+        configuration.addFile(file);
+        stack.add(file);
+        for (Statement statement : parsedFile.statements) {
+            switch (statement.kind) {
+            case Statement.ASSIGNMENT:
+                configuration.assign(statement.identifier, statement.value, file, statement.line);
+                break;
+            case Statement.INCREMENT:
+                configuration.increment(statement.identifier, statement.value, file, statement.line);
+                break;
+            case Statement.INCLUDE_PATH:
+                includePath.clear();
+                for (String path : Setting.splitValue(expander.expand(statement.value), new ArrayList<String>())) {
+                    includePath.add(makeAbsolute(path, workingDir));
+                }
+                break;
+            case Statement.INCLUDE:
+                for (String name : Setting.splitValue(expander.expand(statement.value), new ArrayList<String>())) {
+                    File included = findInclude(name, workingDir, includePath);
+                    if (included == null) {
+                        configuration.addMissingInclude(name);
+                    } else if (stack.contains(included) == false && stack.size() < MAX_INCLUDE_DEPTH) {
+                        apply(included, workingDir, configuration, includePath, stack);
+                    }
+                }
+                break;
+            }
+        }
+        stack.remove(stack.size() - 1);
+    }
+
+    /**
+     * Searches the given include file.
+     *
+     * @return  the canonical included file, or null if not found
+     */
+    private File findInclude(String name, File workingDir, List<File> includePath) throws IOException {
+        File candidate = makeAbsolute(name, workingDir);
+        if (candidate.isFile()) {
+            return candidate.getCanonicalFile();
+        }
+        for (File directory : includePath) {
+            candidate = new File(directory, name);
+            if (candidate.isFile()) {
+                return candidate.getCanonicalFile();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes the given path absolute, relative paths being relative to the working directory.
+     *
+     * @return  a file
+     */
+    private static File makeAbsolute(String path, File workingDir) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(workingDir, path);
+    }
+
+    /**
+     * Retrieves the parsed content of the given file, from the cache when up to date.
+     *
+     * @param   file    a canonical file
+     *
+     * @return  the parsed file
+     */
+    private ParsedFile getParsedFile(File file) throws IOException {
+        String key = file.getPath();
+        ParsedFile parsedFile;
+        synchronized (cache) {
+            parsedFile = cache.get(key);
+        }
+        if (parsedFile == null || parsedFile.isUpToDate(file) == false) {
+            parsedFile = new ParsedFile(file.lastModified(), file.length());
+            InputStream input = new FileInputStream(file);
+            try {
+                new Parser(input).read(parsedFile);
+            } finally {
+                input.close();
+            }
+            synchronized (cache) {
+                cache.put(key, parsedFile);
+            }
+        }
+        return parsedFile;
+    }
+
+}
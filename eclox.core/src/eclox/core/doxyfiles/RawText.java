@@ -17,9 +17,6 @@
 
 package eclox.core.doxyfiles;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import eclox.core.ListSeparateMode;
 import eclox.core.TagFormat;
 import eclox.core.doxyfiles.Chunk;
@@ -32,17 +29,29 @@ import eclox.core.doxyfiles.Chunk;
 public class RawText extends Chunk {
 
     /**
-     * a string array containing the raw text piece
+     * the characters of all lines, each line being terminated by a line feed
+     *
+     * A string builder grows geometrically and stores Latin-1 text with one byte
+     * per character on recent Java runtimes, like strings do.
      */
-    List<String> content = new ArrayList<String>();
+    private final StringBuilder content = new StringBuilder();
 
     /**
      * Appends a new piece of text to the raw text chunk.
      *
+     * The content grows geometrically, so appending many lines stays linear.
+     *
      * @param	text	a string containing a piece of text to append
      */
     public void addLine(String text) {
-        content.add(text);
+        content.append(text).append('\n');
+    }
+
+    /**
+     * Releases the unused capacity of the content, once all lines have been added.
+     */
+    public void trim() {
+        content.trimToSize();
     }
 
     /**
@@ -51,11 +60,17 @@ public class RawText extends Chunk {
      * @return	a string containing the raw text content
      */
     public String getString(String lineSeparator, ListSeparateMode listSepMode, TagFormat tagFormat) {
-        String ret = new String();
-        for(String line : content) {
-            ret += line + lineSeparator;
+        if (lineSeparator.equals("\n")) {
+            return content.toString();
+        }
+
+        StringBuilder ret = new StringBuilder(content.length() + content.length() / 16);
+        int start = 0;
+        for (int end = content.indexOf("\n"); end != -1; end = content.indexOf("\n", start)) {
+            ret.append(content, start, end).append(lineSeparator);
+            start = end + 1;
         }
-        return ret;
+        return ret.toString();
     }
 
 }
@@ -19,18 +19,21 @@
 
 package eclox.core.doxyfiles;
 
-import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Set;
-import java.util.Vector;
-import java.util.Properties;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
 import eclox.core.ListSeparateMode;
-import eclox.core.Plugin;
 import eclox.core.TagFormat;
 import eclox.core.doxyfiles.Chunk;
 
@@ -49,14 +52,14 @@ public class Setting extends Chunk {
     private static String fixedLinePrefix = new String("                         ");
 
     /**
-     * The default setting properties.
+     * A string containing the node identifier.
      */
-    private static Properties defaultProperties;
+    private final String identifier;
 
     /**
-     * A string containing the node identifier.
+     * The entry describing the setting in the schema, or null for unknown settings.
      */
-    private final String identifier;
+    private final SettingSchema.Entry schema;
 
     /**
      * A string containing the node identifier.
@@ -64,9 +67,14 @@ public class Setting extends Chunk {
     private final String spaces;
 
     /**
-     * A collection with all attached listeners
+     * The attached value listeners, replaced on each change, or null when none
      */
-    private Set<ISettingListener> listeners = new HashSet<ISettingListener>();
+    private ISettingValueListener[] valueListeners;
+
+    /**
+     * The attached property listeners, replaced on each change, or null when none
+     */
+    private ISettingPropertyListener[] propertyListeners;
 
     /**
      * The string containing the operator (= or +=).
@@ -78,15 +86,50 @@ public class Setting extends Chunk {
      */
     private String value;
 
+    /**
+     * The parts of the setting value, split on first use, or null when not split yet.
+     */
+    private List<String> splittedValue;
+
+    /**
+     * The kind of the setting value, parsed on first use, or VALUE_UNPARSED.
+     */
+    private byte valueKind = VALUE_UNPARSED;
+
+    /**
+     * The integer value, when the value kind is VALUE_INTEGER.
+     */
+    private int intValue;
+
     /**
      * The boolean telling if the setting assignment is continued on multiple line.
      */
     private boolean continued;
 
     /**
-     * The setting local properties.
+     * The setting local properties, created when the first one is set
+     */
+    private Map<String, String> properties;
+
+    /**
+     * Defines the value kinds.
+     */
+    private static final byte VALUE_UNPARSED = 0;
+    private static final byte VALUE_EMPTY = 1;
+    private static final byte VALUE_YES = 2;
+    private static final byte VALUE_NO = 3;
+    private static final byte VALUE_INTEGER = 4;
+    private static final byte VALUE_TEXT = 5;
+
+    /**
+     * Defines the true boolean value, as written by doxygen.
+     */
+    public static final String YES = "YES";
+
+    /**
+     * Defines the false boolean value, as written by doxygen.
      */
-    private Properties properties = new Properties();
+    public static final String NO = "NO";
 
     /**
      * Defines the assignment operator.
@@ -118,38 +161,6 @@ public class Setting extends Chunk {
      */
     public static final String TYPE = "type";
 
-    /**
-     * Initializes all setting default properties.
-     */
-    private static void initDefaultProperties() {
-        // Ensures that properties have been loaded.
-        if (defaultProperties == null) {
-            try {
-                InputStream propertiesInput = Plugin.getResourceAsStream("/misc/setting-properties.txt");
-                defaultProperties = new Properties();
-                if (propertiesInput != null)
-                    defaultProperties.load(propertiesInput);
-            } catch (Throwable throwable) {
-                Plugin.log(throwable);
-            }
-        }
-    }
-
-    /**
-     * Retrieves the specified default property given a setting.
-     *
-     * @param   setting     a setting instance
-     * @param   property    a string containing the name of the property to retrieve.
-     *
-     * @return  a string containing the desired property value or null when
-     *          no such property exists
-     */
-    private static String getDefaultPropertyValue(Setting setting, String property) {
-        initDefaultProperties();
-        String propertyIdentifier = setting.getIdentifier() + "." + property;
-        return defaultProperties.getProperty(propertyIdentifier);
-    }
-
     /**
      * Constructor.
      *
@@ -160,11 +171,13 @@ public class Setting extends Chunk {
      * @param   continued   a boolean shows if the line is continued with '\'
      */
     public Setting(String identifier, String spaces, String value, String operator, boolean continued) {
-        this.identifier = new String(identifier);
-        this.spaces = new String(spaces);
-        this.value = new String(value);
-        this.operator = new String(operator);
+        this.schema = SettingSchema.getDefault().get(identifier);
+        this.identifier = (schema != null) ? schema.getIdentifier() : identifier.intern();
+        this.spaces = spaces.intern();
+        this.value = value;
+        this.operator = internOperator(operator);
         this.continued = continued;
+        setModified(true);
     }
 
     /**
@@ -173,7 +186,77 @@ public class Setting extends Chunk {
      * @param	listener	a new setting listener instance
      */
     public void addSettingListener(ISettingListener listener) {
-        this.listeners.add(listener);
+        if (listener instanceof ISettingValueListener) {
+            this.valueListeners = addListener(this.valueListeners, (ISettingValueListener) listener, new ISettingValueListener[1]);
+        }
+        if (listener instanceof ISettingPropertyListener) {
+            this.propertyListeners = addListener(this.propertyListeners, (ISettingPropertyListener) listener, new ISettingPropertyListener[1]);
+        }
+    }
+
+    /**
+     * Adds a listener to a copy-on-write listener array.
+     *
+     * @param	listeners	an array of listeners, or null
+     * @param	listener	the listener to add
+     * @param	single		an array of one element to use when there is no listener yet
+     *
+     * @return	the new array of listeners
+     */
+    private static <T> T[] addListener(T[] listeners, T listener, T[] single) {
+        if (listeners == null) {
+            single[0] = listener;
+            return single;
+        }
+        for (T attached : listeners) {
+            if (attached == listener) {
+                return listeners;
+            }
+        }
+        T[] result = Arrays.copyOf(listeners, listeners.length + 1);
+        result[listeners.length] = listener;
+        return result;
+    }
+
+    /**
+     * Removes a listener from a copy-on-write listener array.
+     *
+     * @param	listeners	an array of listeners, or null
+     * @param	listener	the listener to remove
+     *
+     * @return	the new array of listeners, or null when empty
+     */
+    private static <T> T[] removeListener(T[] listeners, Object listener) {
+        if (listeners != null) {
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i] == listener) {
+                    if (listeners.length == 1) {
+                        return null;
+                    }
+                    T[] result = Arrays.copyOf(listeners, listeners.length - 1);
+                    System.arraycopy(listeners, i + 1, result, i, listeners.length - i - 1);
+                    return result;
+                }
+            }
+        }
+        return listeners;
+    }
+
+    /**
+     * Retrieves the shared instance of the given operator.
+     *
+     * @param   operator    a string containing an operator
+     *
+     * @return  a string containing the same operator
+     */
+    private static String internOperator(String operator) {
+        if (ASSIGNMENT.equals(operator)) {
+            return ASSIGNMENT;
+        } else if (INCREMENT.equals(operator)) {
+            return INCREMENT;
+        } else {
+            return operator.intern();
+        }
     }
 
     /**
@@ -185,6 +268,24 @@ public class Setting extends Chunk {
         return this.identifier;
     }
 
+    /**
+     * Retrieves the entry describing the setting in the schema.
+     *
+     * @return  the schema entry, or null if the setting is not known
+     */
+    public SettingSchema.Entry getSchema() {
+        return schema;
+    }
+
+    /**
+     * Retrieves the setting type, as given by the schema.
+     *
+     * @return  the setting type, unknown when the setting is not known
+     */
+    public SettingType getType() {
+        return (schema != null) ? schema.getType() : SettingType.unknown;
+    }
+
     /**
      * Retrieves the value of the specified property.
      *
@@ -193,10 +294,10 @@ public class Setting extends Chunk {
      * @return  a string containing the property value or null when the property was not found
      */
     public String getProperty(String property) {
-        if (properties.containsKey(property)) {
-            return properties.getProperty(property);
+        if (properties != null && properties.containsKey(property)) {
+            return properties.get(property);
         } else {
-            return getDefaultPropertyValue(this, property);
+            return (schema != null) ? schema.getProperty(property) : null;
         }
     }
 
@@ -235,13 +336,168 @@ public class Setting extends Chunk {
      * @return	the collection that received the value parts
      */
     public Collection<String> getSplittedValue(Collection<String> collection) {
+        collection.addAll(getSplittedValue());
+        return collection;
+    }
+
+    /**
+     * Retrieves the splitted setting value. The value is only split again once it
+     * has been changed.
+     *
+     * @return	a read-only list containing the value parts
+     */
+    public List<String> getSplittedValue() {
+        List<String> result = splittedValue;
+        if (result == null) {
+            List<String> parts = new ArrayList<String>();
+            splitValue(value, parts);
+            result = Collections.unmodifiableList(parts);
+            splittedValue = result;
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the setting value as a list.
+     *
+     * @return	a read-only list containing the value parts
+     *
+     * @see		#getSplittedValue()
+     */
+    public List<String> getList() {
+        return getSplittedValue();
+    }
+
+    /**
+     * Retrieves the setting value as a boolean. Like doxygen, YES, TRUE and 1 are
+     * true, NO, FALSE and 0 are false, regardless of the case.
+     *
+     * @param	defaultValue	the value to return when the setting is empty or not a boolean
+     *
+     * @return	the boolean value
+     */
+    public boolean getBoolean(boolean defaultValue) {
+        switch (getValueKind()) {
+        case VALUE_YES:
+            return true;
+        case VALUE_NO:
+            return false;
+        case VALUE_INTEGER:
+            return (intValue == 0 || intValue == 1) ? intValue == 1 : defaultValue;
+        default:
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Retrieves the setting value as an integer.
+     *
+     * @param	defaultValue	the value to return when the setting is empty or not an integer
+     *
+     * @return	the integer value
+     */
+    public int getInt(int defaultValue) {
+        return (getValueKind() == VALUE_INTEGER) ? intValue : defaultValue;
+    }
+
+    /**
+     * Retrieves the setting value as a path, without any quotes.
+     *
+     * @return	a path, or null when the setting is empty
+     */
+    public IPath getPath() {
+        List<String> parts = getSplittedValue();
+        return parts.isEmpty() ? null : new Path(parts.get(0));
+    }
+
+    /**
+     * Updates the setting value with the given boolean.
+     *
+     * @param	value	a boolean value
+     */
+    public void setBoolean(boolean value) {
+        setValue(value ? YES : NO);
+    }
+
+    /**
+     * Updates the setting value with the given integer.
+     *
+     * @param	value	an integer value
+     */
+    public void setInt(int value) {
+        setValue(Integer.toString(value));
+    }
+
+    /**
+     * Tells if the setting value is empty or matches the setting type given by the
+     * schema. Settings of other types than boolean and integer are always valid.
+     *
+     * @return	true or false
+     */
+    public boolean isValueValid() {
+        byte kind = getValueKind();
+        switch (getType()) {
+        case booleanValue:
+            return kind == VALUE_EMPTY || kind == VALUE_YES || kind == VALUE_NO
+                || (kind == VALUE_INTEGER && (intValue == 0 || intValue == 1));
+        case integer:
+            return kind == VALUE_EMPTY || kind == VALUE_INTEGER;
+        default:
+            return true;
+        }
+    }
+
+    /**
+     * Retrieves the kind of the setting value, parsing the value on first use.
+     *
+     * @return	the value kind
+     */
+    private byte getValueKind() {
+        if (valueKind == VALUE_UNPARSED) {
+            String text = value.trim();
+            if (text.length() == 0) {
+                valueKind = VALUE_EMPTY;
+            } else if (text.equalsIgnoreCase(YES) || text.equalsIgnoreCase("TRUE")) {
+                valueKind = VALUE_YES;
+            } else if (text.equalsIgnoreCase(NO) || text.equalsIgnoreCase("FALSE")) {
+                valueKind = VALUE_NO;
+            } else {
+                try {
+                    intValue = Integer.parseInt(text);
+                    valueKind = VALUE_INTEGER;
+                } catch (NumberFormatException exception) {
+                    valueKind = VALUE_TEXT;
+                }
+            }
+        }
+        return valueKind;
+    }
+
+    /**
+     * Forgets the parsed forms of the value, after it changed.
+     */
+    private void resetParsedValue() {
+        splittedValue = null;
+        valueKind = VALUE_UNPARSED;
+    }
+
+    /**
+     * Splits the given value into its parts, like list entries separated by spaces
+     * or quoted strings.
+     *
+     * @param value			a string containing the value to split
+     * @param collection	a collection instance that will receive the value parts
+     *
+     * @return	the collection that received the value parts
+     */
+    public static Collection<String> splitValue(String value, Collection<String> collection) {
         Matcher valueMatcher = valuePattern.matcher(value);
         while (valueMatcher.find() == true) {
-            String value = valueMatcher.group(1);
-            if (value == null) {
-                value = valueMatcher.group(2).trim();
+            String part = valueMatcher.group(1);
+            if (part == null) {
+                part = valueMatcher.group(2).trim();
             }
-            collection.add(value);
+            collection.add(part);
         }
         return collection;
     }
@@ -254,10 +510,10 @@ public class Setting extends Chunk {
      * @return	a boolean
      */
     public boolean hasProperty(String property) {
-        if (properties.containsKey(property)) {
+        if (properties != null && properties.containsKey(property)) {
             return true;
         } else {
-            return getDefaultPropertyValue(this, property) != null;
+            return schema != null && schema.getProperty(property) != null;
         }
     }
 
@@ -267,7 +523,8 @@ public class Setting extends Chunk {
      * @param	listener	a attached setting listener instance
      */
     public void removeSettingListener(ISettingListener listener) {
-        this.listeners.remove(listener);
+        this.valueListeners = removeListener(this.valueListeners, listener);
+        this.propertyListeners = removeListener(this.propertyListeners, listener);
     }
 
     /**
@@ -278,17 +535,11 @@ public class Setting extends Chunk {
      */
     public void setProperty(String property, String value) {
         // Updates the given property.
-        properties.setProperty(property, value);
-
-        // Walks through the attached listeners and notify them.
-        Iterator<ISettingListener> i = this.listeners.iterator();
-        while (i.hasNext() == true) {
-            ISettingListener listener = (ISettingListener) i.next();
-            if (listener instanceof ISettingPropertyListener) {
-                ISettingPropertyListener propertyListener = (ISettingPropertyListener) listener;
-                propertyListener.settingPropertyChanged(this, property);
-            }
+        if (properties == null) {
+            properties = new HashMap<String, String>(4);
         }
+        properties.put(property, value);
+        firePropertyChangedEvent(property);
     }
 
     /**
@@ -297,18 +548,9 @@ public class Setting extends Chunk {
      * @param	property		a string containing a property name
      */
     public void removeProperty(String property) {
-        if (properties.containsKey(property)) {
+        if (properties != null && properties.containsKey(property)) {
             properties.remove(property);
-
-            // Walks through the attached listeners and notify them.
-            Iterator<ISettingListener> i = this.listeners.iterator();
-            while (i.hasNext() == true) {
-                ISettingListener listener = (ISettingListener) i.next();
-                if (listener instanceof ISettingPropertyListener) {
-                    ISettingPropertyListener propertyListener = (ISettingPropertyListener) listener;
-                    propertyListener.settingPropertyRemoved(this, property);
-                }
-            }
+            firePropertyChangedEvent(property);
         }
     }
 
@@ -318,7 +560,8 @@ public class Setting extends Chunk {
      * @param   operator   a string representing a operator to set
      */
     public void setOperator(String operator) {
-        this.operator = new String(operator);
+        this.operator = internOperator(operator);
+        setModified(true);
     }
 
     /**
@@ -327,7 +570,9 @@ public class Setting extends Chunk {
      * @param	value	a string representing a value to set
      */
     public void setValue(String value) {
-        this.value = new String(value);
+        this.value = value;
+        resetParsedValue();
+        setModified(true);
         fireValueChangedEvent();
     }
 
@@ -347,9 +592,8 @@ public class Setting extends Chunk {
      * @param compounds	a collection of objects representing compounds of the new value
      */
     public void setValue(Collection<?> compounds) {
-        // Resets the managed value string.
-        value = new String();
         // Walks through the comounds to rebuild the value.
+        StringBuilder builder = new StringBuilder();
         Iterator<?> i = compounds.iterator();
         while (i.hasNext()) {
             // Retrieves the current compound.
@@ -359,22 +603,23 @@ public class Setting extends Chunk {
             if (compound.length() == 0) {
                 continue;
             } else if (compound.indexOf(' ') != -1) {
-                value = value.concat("\"" + compound + "\" ");
+                builder.append('"').append(compound).append("\" ");
             } else {
-                value = value.concat(compound + " ");
+                builder.append(compound).append(' ');
             }
         }
+        value = builder.toString();
+        resetParsedValue();
+        setModified(true);
 
         // Notifies all observers.
         fireValueChangedEvent();
     }
 
     private String toString_ListSeparated(String linePrefix, String lineSeparator) {
-        String valueOut = new String();
-        Collection<String> compounds = new Vector<String>();
-        getSplittedValue(compounds);
+        StringBuilder valueOut = new StringBuilder();
         // Walks through the comounds to rebuild the value.
-        Iterator<?> i = compounds.iterator();
+        Iterator<?> i = getSplittedValue().iterator();
         boolean first = true;
         while (i.hasNext()) {
             // Retrieves the current compound.
@@ -385,29 +630,27 @@ public class Setting extends Chunk {
                 continue;
             } else {
                 // add quotes ?
-                String quotes = new String();
+                String quotes = "";
                 if (compound.indexOf(' ') != -1) {
                     quotes = "\"";
                 }
                 if (first) {
                     first = false;
                 } else {
-                    valueOut = valueOut.concat(" \\" + lineSeparator + linePrefix);
+                    valueOut.append(" \\").append(lineSeparator).append(linePrefix);
                 }
-                valueOut = valueOut.concat(quotes + compound + quotes);
+                valueOut.append(quotes).append(compound).append(quotes);
             }
         }
-        return valueOut;
+        return valueOut.toString();
     }
 
     private String toString_ListSeparate(String lineSeparator, TagFormat tagFormat) {
-        String linePrefix = new String();
+        String linePrefix;
         switch(tagFormat) {
         case tagFormatDoNotChange:
             //ID+SPACES=.
-            for (int i=0;i<(this.identifier.length() + this.spaces.length() + this.operator.length() + 1);i++) {
-                linePrefix = linePrefix.concat(" ");
-            }
+            linePrefix = getBlanks(this.identifier.length() + this.spaces.length() + this.operator.length() + 1);
         break;
         case tagFormatFixed:
             linePrefix = fixedLinePrefix;
@@ -415,14 +658,18 @@ public class Setting extends Chunk {
         case tagFormatTrimmed:
         default:
             //ID.=.
-            for (int i=0;i<(this.identifier.length() + 1 + this.operator.length() + 1);i++) {
-                linePrefix = linePrefix.concat(" ");
-            }
+            linePrefix = getBlanks(this.identifier.length() + 1 + this.operator.length() + 1);
         break;
         }
         return toString_ListSeparated(linePrefix, lineSeparator);
     }
 
+    private static String getBlanks(int count) {
+        char[] blanks = new char[count];
+        Arrays.fill(blanks, ' ');
+        return new String(blanks);
+    }
+
     private String toString_List(String lineSeparator, ListSeparateMode listSepMode, TagFormat tagFormat) {
         switch(listSepMode) {
             case listSeparateModeSeparate : return toString_ListSeparate(lineSeparator, tagFormat);
@@ -465,15 +712,61 @@ public class Setting extends Chunk {
     }
 
     /**
-     * Notifies all observers that the setting value has changed.
+     * Reports a value change to the owner, which notifies the observers now or when
+     * its pending transaction is committed.
      */
     private void fireValueChangedEvent() {
-        Iterator<ISettingListener> i = listeners.iterator();
-        while (i.hasNext() == true) {
-            ISettingListener listener = (ISettingListener) i.next();
-            if (listener instanceof ISettingValueListener) {
-                ISettingValueListener valueListener = (ISettingValueListener) listener;
-                valueListener.settingValueChanged(this);
+        Doxyfile owner = getOwner();
+        if (owner != null) {
+            owner.settingValueChanged(this);
+        } else {
+            notifyValueChanged();
+        }
+    }
+
+    /**
+     * Reports a property change or removal to the owner, which notifies the observers
+     * now or when its pending transaction is committed.
+     *
+     * @param	property	a string containing a property name
+     */
+    private void firePropertyChangedEvent(String property) {
+        Doxyfile owner = getOwner();
+        if (owner != null) {
+            owner.settingPropertyChanged(this, property);
+        } else {
+            notifyPropertyChanged(property);
+        }
+    }
+
+    /**
+     * Notifies all value listeners that the setting value has changed.
+     */
+    void notifyValueChanged() {
+        ISettingValueListener[] listeners = this.valueListeners;
+        if (listeners != null) {
+            for (ISettingValueListener listener : listeners) {
+                listener.settingValueChanged(this);
+            }
+        }
+    }
+
+    /**
+     * Notifies all property listeners that the given property has changed or has
+     * been removed, according to its current state.
+     *
+     * @param	property	a string containing a property name
+     */
+    void notifyPropertyChanged(String property) {
+        ISettingPropertyListener[] listeners = this.propertyListeners;
+        if (listeners != null) {
+            boolean removed = properties == null || properties.containsKey(property) == false;
+            for (ISettingPropertyListener listener : listeners) {
+                if (removed) {
+                    listener.settingPropertyRemoved(this, property);
+                } else {
+                    listener.settingPropertyChanged(this, property);
+                }
             }
         }
     }
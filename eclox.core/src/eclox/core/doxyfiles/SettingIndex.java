@@ -0,0 +1,576 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import eclox.core.Plugin;
+
+/**
+ * Implements a workspace-wide index of the setting values of all doxyfiles, to
+ * answer queries like "which doxyfiles have HAVE_DOT set to YES".
+ *
+ * The index is columnar: each doxyfile gets a row and each setting identifier a
+ * column. A column stores its distinct values once, in a dictionary, and one code
+ * per row, so a {@link SettingQuery} is evaluated once per distinct value and then
+ * resolved by scanning integer codes.
+ *
+ * The index is built on the first query from the doxyfiles found by the
+ * {@link ResourceCollector}. Afterwards, a resource change listener records the
+ * added, changed and removed doxyfiles, and only these are loaded again on the
+ * next query.
+ */
+public class SettingIndex {
+
+    /**
+     * the shared index instance, created on first use
+     */
+    private static SettingIndex defaultIndex;
+
+    /**
+     * Implements a doxyfile matching a query.
+     */
+    public static class Match {
+
+        /**
+         * the matching doxyfile
+         */
+        private final IFile file;
+
+        /**
+         * the values of the queried settings, in query order
+         */
+        private final String[] values;
+
+        /**
+         * Constructor
+         */
+        Match(IFile file, String[] values) {
+            this.file = file;
+            this.values = values;
+        }
+
+        /**
+         * Retrieves the matching doxyfile.
+         *
+         * @return  a doxyfile resource
+         */
+        public IFile getFile() {
+            return file;
+        }
+
+        /**
+         * Retrieves the value of the setting of the query at the given position.
+         *
+         * @param   index   the position of the query
+         *
+         * @return  a string containing the value
+         */
+        public String getValue(int index) {
+            return values[index];
+        }
+
+        /**
+         * Retrieves the values of the queried settings.
+         *
+         * @return  a list of values, in query order
+         */
+        public List<String> getValues() {
+            return Collections.unmodifiableList(Arrays.asList(values));
+        }
+    }
+
+    /**
+     * Implements the column of one setting.
+     */
+    private static class Column {
+
+        /**
+         * the distinct values, the code of a value being its position plus one, null
+         * for the codes no row uses anymore
+         */
+        private final List<String> dictionary = new ArrayList<String>();
+
+        /**
+         * the codes of the distinct values
+         */
+        private final Map<String, Integer> codes = new HashMap<String, Integer>();
+
+        /**
+         * the number of rows using each code, by code
+         */
+        private int[] references = new int[16];
+
+        /**
+         * the codes no row uses anymore, reused for new values
+         */
+        private final BitSet freeCodes = new BitSet();
+
+        /**
+         * the value codes by row, 0 when the doxyfile does not define the setting
+         */
+        private int[] rows = new int[16];
+
+        /**
+         * the number of rows defining the setting
+         */
+        private int count;
+
+        /**
+         * Sets the value of the given row.
+         *
+         * @param   row     a row index
+         * @param   value   a string containing the value, or null to clear it
+         */
+        void set(int row, String value) {
+            if (row >= rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(rows.length * 2, row + 1));
+            }
+            int code = (value != null) ? acquire(value) : 0;
+            int previous = rows[row];
+            if (previous != 0) {
+                release(previous);
+            }
+            if (previous == 0 && code != 0) {
+                count++;
+            } else if (previous != 0 && code == 0) {
+                count--;
+            }
+            rows[row] = code;
+        }
+
+        /**
+         * Retrieves the code of the given value and adds a reference to it, giving
+         * the value a code when it has none.
+         *
+         * @param   value   a string containing a value
+         *
+         * @return  the code of the value
+         */
+        private int acquire(String value) {
+            Integer existing = codes.get(value);
+            int code;
+            if (existing != null) {
+                code = existing.intValue();
+            } else {
+                code = freeCodes.nextSetBit(1);
+                if (code > 0) {
+                    freeCodes.clear(code);
+                    dictionary.set(code - 1, value);
+                } else {
+                    dictionary.add(value);
+                    code = dictionary.size();
+                    if (code >= references.length) {
+                        references = Arrays.copyOf(references, references.length * 2);
+                    }
+                }
+                codes.put(value, Integer.valueOf(code));
+            }
+            references[code]++;
+            return code;
+        }
+
+        /**
+         * Removes a reference to the given code, freeing the code and its value once
+         * no row uses it anymore.
+         *
+         * @param   code    a value code
+         */
+        private void release(int code) {
+            if (--references[code] == 0) {
+                codes.remove(dictionary.get(code - 1));
+                dictionary.set(code - 1, null);
+                freeCodes.set(code);
+            }
+        }
+
+        /**
+         * Retrieves the value of the given row.
+         *
+         * @param   row a row index
+         *
+         * @return  a string containing the value, or null when not defined
+         */
+        String get(int row) {
+            int code = (row < rows.length) ? rows[row] : 0;
+            return (code != 0) ? dictionary.get(code - 1) : null;
+        }
+
+        /**
+         * Tells if no row defines the setting.
+         *
+         * @return  true or false
+         */
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        /**
+         * Selects the rows whose value matches the given query, among the given rows.
+         *
+         * @param   query       a query
+         * @param   candidates  the rows to consider, updated to only keep the matching ones
+         */
+        void select(SettingQuery query, BitSet candidates) {
+            // Evaluates the query once per distinct value still in use.
+            boolean[] matching = new boolean[dictionary.size() + 1];
+            for (int code = 1; code < matching.length; ++code) {
+                String value = dictionary.get(code - 1);
+                matching[code] = (value != null) && query.matches(value);
+            }
+            for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                if (row >= rows.length || matching[rows[row]] == false) {
+                    candidates.clear(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Implements the resource change listener recording the changed doxyfiles.
+     */
+    private class MyResourceChangeListener implements IResourceChangeListener, IResourceDeltaVisitor {
+
+        public void resourceChanged(IResourceChangeEvent event) {
+            IResourceDelta delta = event.getDelta();
+            if (delta != null) {
+                try {
+                    delta.accept(this);
+                } catch (CoreException exception) {
+                    Plugin.log(exception);
+                }
+            }
+        }
+
+        public boolean visit(IResourceDelta delta) {
+            IResource resource = delta.getResource();
+            if (resource.getType() == IResource.PROJECT && (delta.getFlags() & IResourceDelta.OPEN) != 0) {
+                // Opened or closed projects bring or take many doxyfiles at once.
+                invalidate();
+                return false;
+            }
+            if (resource.getType() == IResource.FILE) {
+                if (Doxyfile.isDoxyfile(resource) && (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0)) {
+                    synchronized (pending) {
+                        pending.add((IFile) resource);
+                    }
+                }
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * the indexed doxyfiles by row, null for free rows
+     */
+    private final List<IFile> files = new ArrayList<IFile>();
+
+    /**
+     * the rows by indexed doxyfile
+     */
+    private final Map<IFile, Integer> rows = new HashMap<IFile, Integer>();
+
+    /**
+     * the used rows
+     */
+    private final BitSet used = new BitSet();
+
+    /**
+     * the columns, by setting identifier
+     */
+    private final Map<String, Column> columns = new HashMap<String, Column>();
+
+    /**
+     * the doxyfiles changed since the last update, guarded by itself
+     */
+    private final Set<IFile> pending = new LinkedHashSet<IFile>();
+
+    /**
+     * tells if the index must be built from scratch, guarded by pending
+     */
+    private boolean stale = true;
+
+    /**
+     * the resource change listener, or null when not registered
+     */
+    private MyResourceChangeListener resourceChangeListener;
+
+    /**
+     * Retrieves the shared index, registering its resource change listener on
+     * first use. The index itself is built on the first query.
+     *
+     * @return  the shared index
+     */
+    public static synchronized SettingIndex getDefault() {
+        if (defaultIndex == null) {
+            defaultIndex = new SettingIndex();
+            defaultIndex.resourceChangeListener = defaultIndex.new MyResourceChangeListener();
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(defaultIndex.resourceChangeListener, IResourceChangeEvent.POST_CHANGE);
+        }
+        return defaultIndex;
+    }
+
+    /**
+     * Releases the shared index and unregisters its resource change listener.
+     */
+    public static synchronized void disposeDefault() {
+        if (defaultIndex != null) {
+            ResourcesPlugin.getWorkspace().removeResourceChangeListener(defaultIndex.resourceChangeListener);
+            defaultIndex = null;
+        }
+    }
+
+    /**
+     * Retrieves the doxyfiles matching all given queries.
+     *
+     * @param   monitor a progress monitor, or null
+     * @param   queries the queries doxyfiles must match
+     *
+     * @return  a list of matches, sorted by doxyfile path
+     */
+    public synchronized List<Match> query(IProgressMonitor monitor, SettingQuery... queries) throws CoreException {
+        update(monitor);
+
+        // Narrows the rows column after column.
+        BitSet candidates = (BitSet) used.clone();
+        Column[] queried = new Column[queries.length];
+        for (int i = 0; i < queries.length && candidates.isEmpty() == false; ++i) {
+            queried[i] = columns.get(queries[i].getIdentifier());
+            if (queried[i] == null) {
+                candidates.clear();
+            } else {
+                queried[i].select(queries[i], candidates);
+            }
+        }
+
+        // Collects the matches.
+        List<Match> matches = new ArrayList<Match>(candidates.cardinality());
+        for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+            String[] values = new String[queries.length];
+            for (int i = 0; i < queries.length; ++i) {
+                values[i] = queried[i].get(row);
+            }
+            matches.add(new Match(files.get(row), values));
+        }
+        Collections.sort(matches, new Comparator<Match>() {
+            public int compare(Match first, Match second) {
+                return first.getFile().getFullPath().toString().compareTo(second.getFile().getFullPath().toString());
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * Retrieves the identifiers of the settings defined by at least one doxyfile.
+     *
+     * @param   monitor a progress monitor, or null
+     *
+     * @return  a sorted collection of setting identifiers
+     */
+    public synchronized Collection<String> getIdentifiers(IProgressMonitor monitor) throws CoreException {
+        update(monitor);
+        Collection<String> identifiers = new TreeSet<String>();
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            if (entry.getValue().isEmpty() == false) {
+                identifiers.add(entry.getKey());
+            }
+        }
+        return identifiers;
+    }
+
+    /**
+     * Retrieves the indexed value of a setting of a doxyfile.
+     *
+     * @param   file        a doxyfile resource
+     * @param   identifier  a string containing a setting identifier
+     * @param   monitor     a progress monitor, or null
+     *
+     * @return  a string containing the value, or null when not defined
+     */
+    public synchronized String getValue(IFile file, String identifier, IProgressMonitor monitor) throws CoreException {
+        update(monitor);
+        Integer row = rows.get(file);
+        Column column = columns.get(identifier);
+        return (row != null && column != null) ? column.get(row.intValue()) : null;
+    }
+
+    /**
+     * Retrieves the number of indexed doxyfiles.
+     *
+     * @param   monitor a progress monitor, or null
+     *
+     * @return  a number of doxyfiles
+     */
+    public synchronized int getSize(IProgressMonitor monitor) throws CoreException {
+        update(monitor);
+        return rows.size();
+    }
+
+    /**
+     * Requests the index to be built again from scratch on the next query.
+     */
+    public void invalidate() {
+        synchronized (pending) {
+            stale = true;
+            pending.clear();
+        }
+    }
+
+    /**
+     * Brings the index up to date, either building it from scratch or loading the
+     * doxyfiles changed since the last update.
+     *
+     * @param   monitor a progress monitor, or null
+     */
+    private void update(IProgressMonitor monitor) throws CoreException {
+        boolean rebuild;
+        List<IFile> changed;
+        synchronized (pending) {
+            rebuild = stale;
+            changed = new ArrayList<IFile>(pending);
+            stale = false;
+            pending.clear();
+        }
+
+        boolean done = false;
+        try {
+            if (rebuild) {
+                Collection<IResource> doxyfiles = ResourceCollector.run().getDoxyfiles();
+                files.clear();
+                rows.clear();
+                used.clear();
+                columns.clear();
+                changed.clear();
+                for (IResource resource : doxyfiles) {
+                    changed.add((IFile) resource);
+                }
+            }
+
+            // Removes the doxyfiles that are gone, the others are loaded again.
+            List<IFile> accessible = new ArrayList<IFile>(changed.size());
+            for (IFile file : changed) {
+                if (file.isAccessible()) {
+                    accessible.add(file);
+                } else {
+                    removeRow(file);
+                }
+            }
+            if (accessible.isEmpty() == false) {
+                for (DoxyfileLoader.Result result : DoxyfileLoader.load(accessible, monitor)) {
+                    IFile file = (IFile) result.getFile();
+                    if (result.isOK()) {
+                        Doxyfile doxyfile = result.getDoxyfile();
+                        DoxyfileSnapshot snapshot;
+                        synchronized (doxyfile) {
+                            snapshot = doxyfile.getSnapshot();
+                        }
+                        setRow(file, snapshot);
+                    } else {
+                        // Unreadable doxyfiles are not indexed.
+                        removeRow(file);
+                    }
+                }
+            }
+            done = true;
+        } finally {
+            if (done == false) {
+                // Keeps the changes for the next update, like after a cancellation.
+                synchronized (pending) {
+                    stale |= rebuild;
+                    pending.addAll(changed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores the values of the given doxyfile in its row.
+     *
+     * @param   file        the doxyfile resource
+     * @param   snapshot    the snapshot of the loaded doxyfile
+     */
+    private void setRow(IFile file, DoxyfileSnapshot snapshot) {
+        Integer existing = rows.get(file);
+        int row;
+        if (existing != null) {
+            row = existing.intValue();
+            clearRow(row);
+        } else {
+            row = used.nextClearBit(0);
+            used.set(row);
+            rows.put(file, Integer.valueOf(row));
+            while (files.size() <= row) {
+                files.add(null);
+            }
+            files.set(row, file);
+        }
+
+        for (DoxyfileSnapshot.Entry entry : snapshot.getEntries()) {
+            Column column = columns.get(entry.getIdentifier());
+            if (column == null) {
+                column = new Column();
+                columns.put(entry.getIdentifier(), column);
+            }
+            column.set(row, entry.getValue());
+        }
+    }
+
+    /**
+     * Removes the row of the given doxyfile, if indexed.
+     *
+     * @param   file    the doxyfile resource
+     */
+    private void removeRow(IFile file) {
+        Integer row = rows.remove(file);
+        if (row != null) {
+            clearRow(row.intValue());
+            files.set(row.intValue(), null);
+            used.clear(row.intValue());
+        }
+    }
+
+    /**
+     * Clears all values of the given row.
+     *
+     * @param   row a row index
+     */
+    private void clearRow(int row) {
+        for (Column column : columns.values()) {
+            column.set(row, null);
+        }
+    }
+
+}
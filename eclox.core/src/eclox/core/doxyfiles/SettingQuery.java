@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.util.ArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Implements a condition on the value of one setting, to be evaluated by a
+ * {@link SettingIndex}.
+ *
+ * A query only sees the values, never the doxyfiles, so the index evaluates it
+ * once per distinct value of the setting across the workspace.
+ */
+public abstract class SettingQuery {
+
+    /**
+     * the identifier of the queried setting
+     */
+    private final String identifier;
+
+    /**
+     * Constructor
+     *
+     * @param   identifier  a string containing the identifier of the queried setting
+     */
+    protected SettingQuery(String identifier) {
+        this.identifier = identifier;
+    }
+
+    /**
+     * Retrieves the identifier of the queried setting.
+     *
+     * @return  a string containing a setting identifier
+     */
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Tells if the given value matches the query.
+     *
+     * @param   value   a string containing the raw value of the setting
+     *
+     * @return  true or false
+     */
+    public abstract boolean matches(String value);
+
+    /**
+     * Creates a query matching the doxyfiles defining the given setting.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  a new query
+     */
+    public static SettingQuery isDefined(String identifier) {
+        return new SettingQuery(identifier) {
+            public boolean matches(String value) {
+                return true;
+            }
+
+            public String toString() {
+                return getIdentifier() + " is defined";
+            }
+        };
+    }
+
+    /**
+     * Creates a query matching the settings whose value, unquoted and trimmed,
+     * equals the given one. The comparison ignores case, as doxygen does for
+     * boolean values.
+     *
+     * @param   identifier  a string containing a setting identifier
+     * @param   expected    a string containing the expected value
+     *
+     * @return  a new query
+     */
+    public static SettingQuery isEqual(String identifier, final String expected) {
+        final String normalizedExpected = unquote(expected.trim());
+        return new SettingQuery(identifier) {
+            public boolean matches(String value) {
+                return unquote(value.trim()).equalsIgnoreCase(normalizedExpected);
+            }
+
+            public String toString() {
+                return getIdentifier() + " = " + expected;
+            }
+        };
+    }
+
+    /**
+     * Creates a query matching the settings having the given item in their value,
+     * which is split into items like list values.
+     *
+     * @param   identifier  a string containing a setting identifier
+     * @param   token       a string containing the expected item
+     *
+     * @return  a new query
+     */
+    public static SettingQuery hasToken(String identifier, final String token) {
+        return new SettingQuery(identifier) {
+            public boolean matches(String value) {
+                return Setting.splitValue(value, new ArrayList<String>()).contains(token);
+            }
+
+            public String toString() {
+                return getIdentifier() + " contains " + token;
+            }
+        };
+    }
+
+    /**
+     * Creates a query matching the settings having an item matching the given
+     * regular expression in their value.
+     *
+     * @param   identifier  a string containing a setting identifier
+     * @param   pattern     a regular expression items must match
+     *
+     * @return  a new query
+     */
+    public static SettingQuery hasTokenMatching(String identifier, final Pattern pattern) {
+        return new SettingQuery(identifier) {
+            public boolean matches(String value) {
+                for (String token : Setting.splitValue(value, new ArrayList<String>())) {
+                    if (pattern.matcher(token).matches()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            public String toString() {
+                return getIdentifier() + " contains " + pattern.pattern();
+            }
+        };
+    }
+
+    /**
+     * Creates a query matching the settings whose whole value matches the given
+     * regular expression.
+     *
+     * @param   identifier  a string containing a setting identifier
+     * @param   pattern     a regular expression the value must match
+     *
+     * @return  a new query
+     */
+    public static SettingQuery isMatching(String identifier, final Pattern pattern) {
+        return new SettingQuery(identifier) {
+            public boolean matches(String value) {
+                return pattern.matcher(value.trim()).matches();
+            }
+
+            public String toString() {
+                return getIdentifier() + " matches " + pattern.pattern();
+            }
+        };
+    }
+
+    /**
+     * Removes the quotes around the given value.
+     *
+     * @param   value   a string containing a trimmed value
+     *
+     * @return  a string containing the value without the surrounding quotes
+     */
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import eclox.core.Plugin;
+
+/**
+ * Implements the schema of the known settings, compiled once from the setting
+ * properties file shipped with the plug-in.
+ *
+ * The schema is immutable and can be shared by all threads. Each known setting is
+ * described by an entry that settings reference directly, so retrieving a default
+ * property no longer requires any lookup. Entries are kept in canonical order, the
+ * order in which doxygen writes the settings.
+ */
+public final class SettingSchema {
+
+    /**
+     * the path of the setting properties file in the plug-in
+     */
+    private static final String PROPERTIES_PATH = "/misc/setting-properties.txt";
+
+    /**
+     * Implements the description of a known setting.
+     */
+    public static final class Entry {
+
+        /**
+         * the setting identifier
+         */
+        private final String identifier;
+
+        /**
+         * the setting text, or null
+         */
+        private final String text;
+
+        /**
+         * the setting group name, or null
+         */
+        private final String group;
+
+        /**
+         * the setting type name, or null
+         */
+        private final String typeName;
+
+        /**
+         * the setting type
+         */
+        private final SettingType type;
+
+        /**
+         * the setting note, or null
+         */
+        private final String note;
+
+        /**
+         * the other properties, by name
+         */
+        private final Map<String, String> others;
+
+        /**
+         * the position of the setting in canonical order
+         */
+        private final int index;
+
+        /**
+         * Constructor
+         *
+         * @param   identifier  a string containing the setting identifier
+         * @param   properties  the setting properties, by name
+         * @param   index       the position of the setting in canonical order
+         */
+        private Entry(String identifier, Map<String, String> properties, int index) {
+            Map<String, String> others = new HashMap<String, String>(properties);
+            this.identifier = identifier;
+            this.index = index;
+            this.text = others.remove(Setting.TEXT);
+            this.group = others.remove(Setting.GROUP);
+            this.typeName = others.remove(Setting.TYPE);
+            this.type = SettingType.getFromName(typeName);
+            this.note = others.remove(Setting.NOTE);
+            this.others = others.isEmpty() ? Collections.<String, String>emptyMap() : others;
+        }
+
+        /**
+         * Retrieves the setting identifier.
+         *
+         * @return  a string containing the setting identifier
+         */
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        /**
+         * Retrieves the position of the setting in canonical order.
+         *
+         * @return  an index in the ordered entries of the schema
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Retrieves the setting text.
+         *
+         * @return  a string containing the text, or null when none
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Retrieves the setting group name.
+         *
+         * @return  a string containing the group name, or null when none
+         */
+        public String getGroup() {
+            return group;
+        }
+
+        /**
+         * Retrieves the setting type.
+         *
+         * @return  a setting type, unknown when none or not supported
+         */
+        public SettingType getType() {
+            return type;
+        }
+
+        /**
+         * Retrieves the setting note.
+         *
+         * @return  a string containing the note, or null when none
+         */
+        public String getNote() {
+            return note;
+        }
+
+        /**
+         * Retrieves the given property.
+         *
+         * @param   property    a string containing a property name
+         *
+         * @return  a string containing the property value, or null when none
+         */
+        public String getProperty(String property) {
+            if (Setting.TEXT.equals(property)) {
+                return text;
+            } else if (Setting.GROUP.equals(property)) {
+                return group;
+            } else if (Setting.TYPE.equals(property)) {
+                return typeName;
+            } else if (Setting.NOTE.equals(property)) {
+                return note;
+            } else {
+                return others.get(property);
+            }
+        }
+    }
+
+    /**
+     * Implements the lazy and thread-safe creation of the default schema.
+     */
+    private static class DefaultHolder {
+        static final SettingSchema INSTANCE = load();
+    }
+
+    /**
+     * the entries, by setting identifier
+     */
+    private final Map<String, Entry> entries;
+
+    /**
+     * the entries, in canonical order
+     */
+    private final List<Entry> orderedEntries;
+
+    /**
+     * Retrieves the schema compiled from the setting properties of the plug-in.
+     *
+     * @return  the default schema
+     */
+    public static SettingSchema getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Loads and compiles the setting properties of the plug-in.
+     *
+     * @return  a schema, empty if the properties could not be read
+     */
+    private static SettingSchema load() {
+        // Records the identifiers in the order of the file, which is doxygen's one.
+        final Set<String> order = new LinkedHashSet<String>();
+        Properties properties = new Properties() {
+            private static final long serialVersionUID = 1L;
+
+            public synchronized Object put(Object key, Object value) {
+                String identifier = getIdentifier((String) key);
+                if (identifier != null) {
+                    order.add(identifier);
+                }
+                return super.put(key, value);
+            }
+        };
+        try {
+            InputStream input = Plugin.getResourceAsStream(PROPERTIES_PATH);
+            if (input != null) {
+                try {
+                    properties.load(input);
+                } finally {
+                    input.close();
+                }
+            }
+        } catch (IOException exception) {
+            Plugin.log(exception);
+        }
+        return new SettingSchema(properties, order);
+    }
+
+    /**
+     * Retrieves the setting identifier of the given property key.
+     *
+     * @param   key a string containing a key like <code>IDENTIFIER.property</code>
+     *
+     * @return  a string containing the identifier, or null if the key is not valid
+     */
+    private static String getIdentifier(String key) {
+        int dot = key.lastIndexOf('.');
+        return (dot > 0) ? key.substring(0, dot).intern() : null;
+    }
+
+    /**
+     * Constructor, the settings being ordered by identifier.
+     *
+     * @param   properties  properties named like <code>IDENTIFIER.property</code>
+     */
+    public SettingSchema(Properties properties) {
+        this(properties, Collections.<String>emptySet());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param   properties  properties named like <code>IDENTIFIER.property</code>
+     * @param   order       the setting identifiers in canonical order, the missing ones
+     *                      following by identifier
+     */
+    public SettingSchema(Properties properties, Collection<String> order) {
+        // Groups the properties by setting identifier.
+        Map<String, Map<String, String>> grouped = new HashMap<String, Map<String, String>>();
+        for (String key : properties.stringPropertyNames()) {
+            String identifier = getIdentifier(key);
+            if (identifier == null) {
+                continue;
+            }
+            int dot = key.lastIndexOf('.');
+            Map<String, String> settingProperties = grouped.get(identifier);
+            if (settingProperties == null) {
+                settingProperties = new HashMap<String, String>();
+                grouped.put(identifier, settingProperties);
+            }
+            settingProperties.put(key.substring(dot + 1), properties.getProperty(key));
+        }
+
+        // Compiles the entries in canonical order.
+        Set<String> identifiers = new LinkedHashSet<String>();
+        for (String identifier : order) {
+            if (grouped.containsKey(identifier)) {
+                identifiers.add(identifier);
+            }
+        }
+        identifiers.addAll(new TreeSet<String>(grouped.keySet()));
+        Map<String, Entry> entries = new HashMap<String, Entry>(grouped.size() * 2);
+        List<Entry> orderedEntries = new ArrayList<Entry>(identifiers.size());
+        for (String identifier : identifiers) {
+            Entry entry = new Entry(identifier, grouped.get(identifier), orderedEntries.size());
+            entries.put(identifier, entry);
+            orderedEntries.add(entry);
+        }
+        this.entries = Collections.unmodifiableMap(entries);
+        this.orderedEntries = Collections.unmodifiableList(orderedEntries);
+    }
+
+    /**
+     * Retrieves the entry of the given setting.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  the entry, or null if the setting is not known
+     */
+    public Entry get(String identifier) {
+        return entries.get(identifier);
+    }
+
+    /**
+     * Retrieves all entries.
+     *
+     * @return  a collection of entries
+     */
+    public Collection<Entry> getEntries() {
+        return entries.values();
+    }
+
+    /**
+     * Retrieves all entries in canonical order.
+     *
+     * @return  a list of entries, whose index is the one given by the entries
+     */
+    public List<Entry> getOrderedEntries() {
+        return orderedEntries;
+    }
+
+}
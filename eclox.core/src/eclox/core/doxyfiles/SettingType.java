@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+/**
+ * Enumerates the setting types, as given by the type property of the settings.
+ */
+public enum SettingType {
+    text("text"),
+    booleanValue("boolean"),
+    integer("integer"),
+    file("file"),
+    directory("directory"),
+    textList("text list"),
+    directoryList("directory list"),
+    pathList("path list"),
+    unknown("");
+
+    /**
+     * the type name, as written in the setting properties
+     */
+    private final String name;
+
+    /**
+     * Constructor
+     *
+     * @param   name    a string containing the type name
+     */
+    SettingType(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Retrieves the type name.
+     *
+     * @return  a string containing the type name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Tells if the values of this type are lists.
+     *
+     * @return  true or false
+     */
+    public boolean isList() {
+        return this == textList || this == directoryList || this == pathList;
+    }
+
+    /**
+     * Retrieves the type with the given name.
+     *
+     * @param   name    a string containing a type name, or null
+     *
+     * @return  the matching type, or unknown when none
+     */
+    public static SettingType getFromName(String name) {
+        for (SettingType type : values()) {
+            if (type.getName().equals(name)) {
+                return type;
+            }
+        }
+        return unknown;
+    }
+
+}
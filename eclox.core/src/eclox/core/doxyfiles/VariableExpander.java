@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.variables.IStringVariableManager;
+import org.eclipse.core.variables.IValueVariable;
+import org.eclipse.core.variables.IValueVariableListener;
+import org.eclipse.core.variables.VariablesPlugin;
+
+/**
+ * Implements the expansion of <code>$(VAR)</code> references in setting values,
+ * like doxygen does when it reads a doxyfile.
+ *
+ * An expander works on one fixed set of variables and memoizes the values it has
+ * expanded. The default expander uses the environment doxygen is launched with:
+ * the process environment overridden by the Eclipse value variables. It is built
+ * lazily, on the first value that actually references a variable, and replaced
+ * when the Eclipse value variables change. As in doxygen, undefined variables
+ * expand to an empty string and expanded values are not expanded again.
+ */
+public final class VariableExpander {
+
+    /**
+     * the maximum number of memoized expansions, above which they are dropped
+     */
+    private static final int MAX_EXPANSIONS = 1024;
+
+    /**
+     * the default expander, or null when it must be created again
+     */
+    private static VariableExpander defaultExpander;
+
+    /**
+     * the resolved Eclipse value variables, or null when they must be resolved again
+     */
+    private static Map<String, String> eclipseVariables;
+
+    /**
+     * the listener invalidating the default expander, or null when not registered
+     */
+    private static IValueVariableListener variableListener;
+
+    /**
+     * the variables, or null until first needed by the default expander
+     */
+    private volatile Map<String, String> variables;
+
+    /**
+     * the memoized expansions, by original value
+     */
+    private final Map<String, String> expansions = new ConcurrentHashMap<String, String>();
+
+    /**
+     * Constructor
+     *
+     * @param   variables   the variable values, by name
+     */
+    public VariableExpander(Map<String, String> variables) {
+        this.variables = Collections.unmodifiableMap(createMap(variables));
+    }
+
+    /**
+     * Constructor for the default expander, whose variables are retrieved lazily.
+     */
+    private VariableExpander() {
+        this.variables = null;
+    }
+
+    /**
+     * Retrieves the expander using the environment doxygen is launched with.
+     *
+     * @return  the default expander
+     */
+    public static synchronized VariableExpander getDefault() {
+        if (defaultExpander == null) {
+            defaultExpander = new VariableExpander();
+        }
+        return defaultExpander;
+    }
+
+    /**
+     * Releases the default expander and stops listening to Eclipse variable changes.
+     */
+    public static synchronized void disposeDefault() {
+        if (variableListener != null) {
+            getVariableManager().removeValueVariableListener(variableListener);
+            variableListener = null;
+        }
+        defaultExpander = null;
+        eclipseVariables = null;
+    }
+
+    /**
+     * Retrieves the values of the Eclipse value variables, resolved once until
+     * one of them changes.
+     *
+     * @return  an unmodifiable map of variable values, by name
+     */
+    public static synchronized Map<String, String> getEclipseVariables() {
+        if (eclipseVariables == null) {
+            IStringVariableManager variableManager = getVariableManager();
+            if (variableListener == null) {
+                variableListener = new IValueVariableListener() {
+                    public void variablesAdded(IValueVariable[] variables) {
+                        invalidate();
+                    }
+
+                    public void variablesRemoved(IValueVariable[] variables) {
+                        invalidate();
+                    }
+
+                    public void variablesChanged(IValueVariable[] variables) {
+                        invalidate();
+                    }
+                };
+                variableManager.addValueVariableListener(variableListener);
+            }
+
+            Map<String, String> resolved = new HashMap<String, String>();
+            for (IValueVariable variable : variableManager.getValueVariables()) {
+                String name = variable.getName();
+                String value = variable.getValue();
+                if (name != null && name.isEmpty() == false && value != null) {
+                    resolved.put(name, value);
+                }
+            }
+            eclipseVariables = Collections.unmodifiableMap(resolved);
+        }
+        return eclipseVariables;
+    }
+
+    /**
+     * Tells if the given value references variables.
+     *
+     * @param   value   a string containing a value, or null
+     *
+     * @return  true or false
+     */
+    public static boolean hasVariables(String value) {
+        return value != null && value.indexOf("$(") != -1;
+    }
+
+    /**
+     * Retrieves the variables of the expander.
+     *
+     * @return  an unmodifiable map of variable values, by name
+     */
+    public Map<String, String> getVariables() {
+        Map<String, String> result = this.variables;
+        if (result == null) {
+            synchronized (this) {
+                result = this.variables;
+                if (result == null) {
+                    Map<String, String> environment = createMap(System.getenv());
+                    environment.putAll(getEclipseVariables());
+                    result = Collections.unmodifiableMap(environment);
+                    this.variables = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the value of the given variable.
+     *
+     * @param   name    a string containing a variable name
+     *
+     * @return  a string containing the value, empty if the variable is not defined
+     */
+    public String getVariable(String name) {
+        String value = getVariables().get(name);
+        return (value != null) ? value : "";
+    }
+
+    /**
+     * Expands the variable references of the given value.
+     *
+     * @param   value   a string containing a value, or null
+     *
+     * @return  a string containing the expanded value, the given one if it has no reference
+     */
+    public String expand(String value) {
+        if (hasVariables(value) == false) {
+            return value;
+        }
+        String expanded = expansions.get(value);
+        if (expanded == null) {
+            expanded = substitute(value);
+            if (expansions.size() >= MAX_EXPANSIONS) {
+                expansions.clear();
+            }
+            expansions.put(value, expanded);
+        }
+        return expanded;
+    }
+
+    /**
+     * Substitutes the variable references of the given value, like doxygen does.
+     *
+     * Names start with a letter or an underscore and go on with letters, digits,
+     * underscores, dots and dashes. A trailing <code>(x86)</code> is part of the name,
+     * so <code>$(PROGRAMFILES(X86))</code> is supported. Other text is kept.
+     *
+     * @param   value   a string containing a value
+     *
+     * @return  a string containing the substituted value
+     */
+    private String substitute(String value) {
+        StringBuilder buffer = new StringBuilder(value.length() + 32);
+        int position = 0;
+        for (int start = value.indexOf("$("); start != -1; start = value.indexOf("$(", position)) {
+            int nameStart = start + 2;
+            int nameEnd = nameStart;
+            if (nameEnd < value.length() && isNameStart(value.charAt(nameEnd))) {
+                do {
+                    nameEnd++;
+                } while (nameEnd < value.length() && isNamePart(value.charAt(nameEnd)));
+                if (value.regionMatches(true, nameEnd, "(x86)", 0, 5)) {
+                    nameEnd += 5;
+                }
+            }
+            if (nameEnd == nameStart || nameEnd == value.length() || value.charAt(nameEnd) != ')') {
+                buffer.append(value, position, nameStart);
+                position = nameStart;
+                continue;
+            }
+            buffer.append(value, position, start);
+            buffer.append(getVariable(value.substring(nameStart, nameEnd)));
+            position = nameEnd + 1;
+        }
+        buffer.append(value, position, value.length());
+        return buffer.toString();
+    }
+
+    /**
+     * Tells if the given character can start a variable name.
+     */
+    private static boolean isNameStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    /**
+     * Tells if the given character can be part of a variable name.
+     */
+    private static boolean isNamePart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-';
+    }
+
+    /**
+     * Creates a map holding the given variables, whose names are case insensitive
+     * on platforms where environment variables are.
+     *
+     * @param   variables   the variable values, by name
+     *
+     * @return  a new map
+     */
+    private static Map<String, String> createMap(Map<String, String> variables) {
+        Map<String, String> map;
+        if (File.separatorChar == '\\') {
+            map = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+        } else {
+            map = new HashMap<String, String>(variables.size() * 2);
+        }
+        map.putAll(variables);
+        return map;
+    }
+
+    /**
+     * Drops the resolved Eclipse variables and the default expander, so they are
+     * created again with the new variable values.
+     */
+    private static synchronized void invalidate() {
+        defaultExpander = null;
+        eclipseVariables = null;
+    }
+
+    /**
+     * Retrieves the Eclipse string variable manager.
+     *
+     * @return  the string variable manager
+     */
+    private static IStringVariableManager getVariableManager() {
+        return VariablesPlugin.getDefault().getStringVariableManager();
+    }
+
+}
@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles.io;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.zip.CRC32;
+
+import eclox.core.Plugin;
+
+/**
+ * Implements a line reader for doxyfiles that decodes the content like doxygen does.
+ *
+ * Lines are decoded as UTF-8 until a <code>DOXYFILE_ENCODING</code> assignment is
+ * read, from which on the given encoding is used. Bytes are read in bulk from a
+ * channel and kept, so the reader can be rewound at any time without reading the
+ * input again. Lines are split on the bytes of line feeds and carriage returns, like
+ * doxygen does, and malformed input is replaced instead of failing.
+ */
+final class DoxyfileReader {
+
+    /**
+     * the identifier of the setting giving the doxyfile encoding
+     */
+    static final String ENCODING = "DOXYFILE_ENCODING";
+
+    /**
+     * the default doxyfile encoding
+     */
+    static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * the size of the blocks read from channels of unknown size
+     */
+    private static final int BLOCK_SIZE = 8192;
+
+    /**
+     * the channel to read bytes from, or null once the end has been reached
+     */
+    private ReadableByteChannel channel;
+
+    /**
+     * the bytes read so far
+     */
+    private ByteBuffer bytes;
+
+    /**
+     * the index of the first byte of the next line
+     */
+    private int position;
+
+    /**
+     * the index of the first byte of the last line read
+     */
+    private int lineOffset;
+
+    /**
+     * the decoder for the current charset
+     */
+    private CharsetDecoder decoder;
+
+    /**
+     * the buffer receiving decoded lines, reused from line to line
+     */
+    private CharBuffer chars = CharBuffer.allocate(256);
+
+    /**
+     * the lexer used to recognize the encoding setting
+     */
+    private Lexer lexer = new Lexer();
+
+    /**
+     * Constructor
+     *
+     * @param   input   an input stream to read
+     */
+    DoxyfileReader(InputStream input) throws IOException {
+        int capacity = BLOCK_SIZE;
+        if (input instanceof FileInputStream) {
+            FileChannel fileChannel = ((FileInputStream) input).getChannel();
+            capacity = (int) Math.min(Integer.MAX_VALUE - 1, fileChannel.size() - fileChannel.position()) + 1;
+            this.channel = fileChannel;
+        } else {
+            this.channel = Channels.newChannel(input);
+        }
+        this.bytes = ByteBuffer.allocate(capacity);
+        this.rewind();
+    }
+
+    /**
+     * Restarts reading from the first line, with the default charset.
+     */
+    void rewind() throws IOException {
+        this.position = 0;
+        this.setCharset(DEFAULT_CHARSET);
+
+        // Skips the UTF-8 byte order mark.
+        while (bytes.position() < 3 && this.fill()) {
+        }
+        if (bytes.position() >= 3 && bytes.get(0) == (byte) 0xEF && bytes.get(1) == (byte) 0xBB && bytes.get(2) == (byte) 0xBF) {
+            this.position = 3;
+        }
+    }
+
+    /**
+     * Retrieves the charset currently used to decode lines.
+     *
+     * @return  a charset
+     */
+    Charset getCharset() {
+        return decoder.charset();
+    }
+
+    /**
+     * Retrieves the byte offset of the last line read.
+     *
+     * @return  the index of the first byte of the line
+     */
+    int getLineOffset() {
+        return lineOffset;
+    }
+
+    /**
+     * Retrieves the byte offset of the next line to read, which is also the end of the
+     * last line read, including its terminator.
+     *
+     * @return  a byte offset
+     */
+    int getOffset() {
+        return position;
+    }
+
+    /**
+     * Computes the checksum of the whole input, which must have been read entirely.
+     *
+     * @return  a CRC-32 checksum
+     */
+    long getChecksum() {
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes.array(), 0, bytes.position());
+        return checksum.getValue();
+    }
+
+    /**
+     * Reads the next line.
+     *
+     * @return  a string containing the line without its terminator, or null at the end of the input
+     */
+    String readLine() throws IOException {
+        // Searches the end of the line.
+        int end = this.position;
+        for (;;) {
+            if (end == bytes.position()) {
+                if (this.fill() == false) {
+                    break;
+                }
+            }
+            byte b = bytes.get(end);
+            if (b == '\n' || b == '\r') {
+                break;
+            }
+            end++;
+        }
+        if (end == this.position && end == bytes.position()) {
+            return null;
+        }
+
+        // Decodes the line and skips its terminator.
+        String line = this.decode(this.position, end);
+        this.lineOffset = this.position;
+        if (end < bytes.position()) {
+            if (bytes.get(end++) == '\r') {
+                if (end == bytes.position()) {
+                    this.fill();
+                }
+                if (end < bytes.position() && bytes.get(end) == '\n') {
+                    end++;
+                }
+            }
+        }
+        this.position = end;
+
+        // Switches the charset when the encoding setting is assigned.
+        if (line.startsWith(ENCODING) && lexer.lex(line) == Lexer.Kind.ASSIGNMENT && lexer.getIdentifier().equals(ENCODING)) {
+            this.switchCharset(lexer.getValue());
+        }
+        return line;
+    }
+
+    /**
+     * Decodes the given range of bytes.
+     *
+     * @param   start   the index of the first byte
+     * @param   end     the index after the last byte
+     *
+     * @return  a string containing the decoded characters
+     */
+    private String decode(int start, int end) {
+        int capacity = (int) ((end - start) * decoder.maxCharsPerByte()) + 1;
+        if (chars.capacity() < capacity) {
+            chars = CharBuffer.allocate(capacity);
+        }
+
+        ByteBuffer input = bytes.duplicate();
+        input.limit(end);
+        input.position(start);
+        chars.clear();
+        decoder.reset();
+        decoder.decode(input, chars, true);
+        decoder.flush(chars);
+        chars.flip();
+        return chars.toString();
+    }
+
+    /**
+     * Reads the next bytes from the channel.
+     *
+     * @return  true if some bytes have been read, false at the end of the input
+     */
+    private boolean fill() throws IOException {
+        if (channel == null) {
+            return false;
+        }
+        for (;;) {
+            if (bytes.hasRemaining() == false) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(bytes.capacity() * 2, BLOCK_SIZE));
+                bytes.flip();
+                grown.put(bytes);
+                bytes = grown;
+            }
+            int count = channel.read(bytes);
+            if (count == -1) {
+                channel = null;
+                return false;
+            } else if (count > 0) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Switches to the given encoding for the next lines, if it is supported.
+     *
+     * @param   encoding    a string containing an encoding name
+     */
+    private void switchCharset(String encoding) {
+        Charset charset = getCharset(encoding);
+        if (charset != null) {
+            this.setCharset(charset);
+        }
+    }
+
+    /**
+     * Retrieves the charset for the given DOXYFILE_ENCODING value.
+     *
+     * @param   encoding    a string containing an encoding name, possibly quoted
+     *
+     * @return  the charset, or null if the encoding is empty or not supported
+     */
+    static Charset getCharset(String encoding) {
+        encoding = encoding.trim();
+        if (encoding.length() >= 2 && encoding.startsWith("\"") && encoding.endsWith("\"")) {
+            encoding = encoding.substring(1, encoding.length() - 1).trim();
+        }
+        try {
+            if (encoding.length() > 0) {
+                return Charset.forName(encoding);
+            }
+        } catch (IllegalArgumentException exception) {
+            Plugin.getDefault().logWarning("Unsupported doxyfile encoding '" + encoding + "'.");
+        }
+        return null;
+    }
+
+    /**
+     * Updates the charset used to decode the next lines.
+     *
+     * @param   charset a charset
+     */
+    private void setCharset(Charset charset) {
+        if (decoder == null || decoder.charset().equals(charset) == false) {
+            decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles.io;
+
+/**
+ * Defines the interface for objects receiving the doxyfile content while it is
+ * streamed by the parser, without building the chunk model.
+ *
+ * Continued values are joined with a single space before being reported, so each
+ * assignment or increment is reported once, with its complete value. Every method
+ * returns a boolean telling the parser whether it should go on reading, which
+ * allows handlers to stop as soon as they have seen what they need.
+ *
+ * @see Parser#read(IParserHandler)
+ */
+public interface IParserHandler {
+
+    /**
+     * Notifies a setting assignment.
+     *
+     * @param   identifier  a string containing the setting identifier
+     * @param   value       a string containing the assigned value
+     * @param   line        the line number where the assignment starts
+     *
+     * @return  true to continue parsing, false to stop
+     */
+    boolean onSetting(String identifier, String value, int line);
+
+    /**
+     * Notifies a setting increment (<code>+=</code> operator).
+     *
+     * @param   identifier  a string containing the setting identifier
+     * @param   value       a string containing the appended value
+     * @param   line        the line number where the increment starts
+     *
+     * @return  true to continue parsing, false to stop
+     */
+    boolean onIncrement(String identifier, String value, int line);
+
+    /**
+     * Notifies an include directive (<code>@INCLUDE</code>).
+     *
+     * @param   file    a string containing the included file, as written in the doxyfile
+     * @param   line    the line number of the directive
+     *
+     * @return  true to continue parsing, false to stop
+     */
+    boolean onInclude(String file, int line);
+
+    /**
+     * Notifies an include path directive (<code>@INCLUDE_PATH</code>).
+     *
+     * @param   path    a string containing the include path, as written in the doxyfile
+     * @param   line    the line number of the directive
+     *
+     * @return  true to continue parsing, false to stop
+     */
+    boolean onIncludePath(String path, int line);
+
+    /**
+     * Notifies a line that is neither a setting nor a directive, like comments and empty lines.
+     *
+     * @param   text    a string containing the line text
+     * @param   line    the line number
+     *
+     * @return  true to continue parsing, false to stop
+     */
+    boolean onRawLine(String text, int line);
+
+}
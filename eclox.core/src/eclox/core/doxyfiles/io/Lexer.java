@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles.io;
+
+/**
+ * Implements a hand-written doxyfile line lexer.
+ *
+ * The lexer classifies a single line in one pass over its characters and
+ * extracts the parts of interest. It accepts exactly the same language as the
+ * regular expressions formerly used by the parser:
+ *
+ * <ul>
+ * <li>empty line:          <code>\s*</code></li>
+ * <li>comment:             <code>#.*</code></li>
+ * <li>assignment:          <code>(\w+)(\s*)=\s*(.*?)\s*(\\)?</code></li>
+ * <li>increment:           <code>(\w+)(\s*)\+=\s*(.*?)\s*(\\)?</code></li>
+ * <li>include:             <code>@INCLUDE\s*=\s*(.*)</code></li>
+ * <li>include path:        <code>@INCLUDE_PATH\s*=\s*(.*)</code></li>
+ * <li>continued value:     <code>\s*(.+?)\s*(\\)?</code></li>
+ * </ul>
+ *
+ * The results of the last call to {@link #lex(String)} are available through
+ * the accessors until the next call.
+ */
+final class Lexer {
+
+    /**
+     * Defines the kinds of line the lexer can recognize.
+     */
+    enum Kind {
+        EMPTY,
+        COMMENT,
+        ASSIGNMENT,
+        INCREMENT,
+        INCLUDE,
+        INCLUDE_PATH,
+        CONTINUATION,
+        INVALID
+    }
+
+    /**
+     * the include directive keyword
+     */
+    private static final String INCLUDE = "@INCLUDE";
+
+    /**
+     * the include path directive keyword
+     */
+    private static final String INCLUDE_PATH = "@INCLUDE_PATH";
+
+    /**
+     * the line being lexed
+     */
+    private String line;
+
+    /**
+     * the kind of the last lexed line
+     */
+    private Kind kind;
+
+    /**
+     * the identifier bounds (assignments and increments only)
+     */
+    private int identifierStart, identifierEnd;
+
+    /**
+     * the bounds of the spaces between the identifier and the operator
+     */
+    private int spacesEnd;
+
+    /**
+     * the value bounds
+     */
+    private int valueStart, valueEnd;
+
+    /**
+     * tells if the value is continued on the next line
+     */
+    private boolean continued;
+
+    /**
+     * Tells if the given character matches the <code>\s</code> regular expression class.
+     *
+     * @param   c   a character to test
+     *
+     * @return  true or false
+     */
+    static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Tells if the given character matches the <code>\w</code> regular expression class.
+     *
+     * @param   c   a character to test
+     *
+     * @return  true or false
+     */
+    static boolean isWord(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Tells if the given character is not matched by the <code>.</code> regular expression
+     * wildcard, because it is a line terminator.
+     *
+     * @param   c   a character to test
+     *
+     * @return  true or false
+     */
+    static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Lexes the given line.
+     *
+     * @param   line    a string containing the line text, without line separator
+     *
+     * @return  the kind of the line
+     */
+    Kind lex(String line) {
+        this.line = line;
+        this.identifierStart = this.identifierEnd = this.spacesEnd = 0;
+        this.valueStart = this.valueEnd = 0;
+        this.continued = false;
+        this.kind = doLex();
+        return this.kind;
+    }
+
+    /**
+     * Classifies the current line.
+     *
+     * @return  the kind of the current line
+     */
+    private Kind doLex() {
+        final int length = line.length();
+
+        // Skips the leading spaces and detects empty lines.
+        int position = 0;
+        while (position < length && isSpace(line.charAt(position))) {
+            position++;
+        }
+        if (position == length) {
+            return Kind.EMPTY;
+        }
+
+        // Only lines starting at the first column may be something else than a continued value.
+        if (position == 0) {
+            final char first = line.charAt(0);
+            if (first == '#') {
+                return lexRest(1) ? Kind.COMMENT : Kind.INVALID;
+            } else if (isWord(first)) {
+                Kind kind = lexSetting();
+                if (kind != null) {
+                    return kind;
+                }
+            } else if (first == '@') {
+                Kind kind = lexInclude();
+                if (kind != null) {
+                    return kind;
+                }
+            }
+        }
+
+        // Everything else is a continued value.
+        return lexValue(position, false) ? Kind.CONTINUATION : Kind.INVALID;
+    }
+
+    /**
+     * Lexes an assignment or increment line.
+     *
+     * @return  the found kind, or null if the line is no setting line
+     */
+    private Kind lexSetting() {
+        final int length = line.length();
+        int position = 0;
+        while (position < length && isWord(line.charAt(position))) {
+            position++;
+        }
+        identifierEnd = position;
+        while (position < length && isSpace(line.charAt(position))) {
+            position++;
+        }
+        spacesEnd = position;
+
+        Kind kind;
+        if (position < length && line.charAt(position) == '=') {
+            kind = Kind.ASSIGNMENT;
+            position += 1;
+        } else if (position + 1 < length && line.charAt(position) == '+' && line.charAt(position + 1) == '=') {
+            kind = Kind.INCREMENT;
+            position += 2;
+        } else {
+            return null;
+        }
+
+        while (position < length && isSpace(line.charAt(position))) {
+            position++;
+        }
+        return lexValue(position, true) ? kind : Kind.INVALID;
+    }
+
+    /**
+     * Lexes an include or include path directive line.
+     *
+     * @return  the found kind, or null if the line is no directive
+     */
+    private Kind lexInclude() {
+        if (line.startsWith(INCLUDE) == false) {
+            return null;
+        }
+
+        Kind kind;
+        int position = skipSpaces(INCLUDE.length());
+        if (position < line.length() && line.charAt(position) == '=') {
+            kind = Kind.INCLUDE;
+        } else if (line.startsWith(INCLUDE_PATH)) {
+            position = skipSpaces(INCLUDE_PATH.length());
+            if (position < line.length() && line.charAt(position) == '=') {
+                kind = Kind.INCLUDE_PATH;
+            } else {
+                return null;
+            }
+        } else {
+            return null;
+        }
+
+        valueStart = skipSpaces(position + 1);
+        valueEnd = line.length();
+        return lexRest(valueStart) ? kind : Kind.INVALID;
+    }
+
+    /**
+     * Lexes a value starting at the given position and up to the end of the line.
+     *
+     * @param   start       the position where the value starts
+     * @param   allowEmpty  tells if the value can be empty
+     *
+     * @return  true if the value is valid, false otherwise
+     */
+    private boolean lexValue(int start, boolean allowEmpty) {
+        if (lexRest(start) == false) {
+            return false;
+        }
+
+        // A trailing back-slash continues the value, unless it is the only character of a mandatory value.
+        int end = line.length();
+        if (end - start >= (allowEmpty ? 1 : 2) && line.charAt(end - 1) == '\\') {
+            continued = true;
+            end--;
+        }
+        while (end > start && isSpace(line.charAt(end - 1))) {
+            end--;
+        }
+        valueStart = start;
+        valueEnd = end;
+        return true;
+    }
+
+    /**
+     * Tells if the rest of the line starting at the given position can be matched by <code>.*</code>.
+     *
+     * @param   start   the position to start from
+     *
+     * @return  true or false
+     */
+    private boolean lexRest(int start) {
+        final int length = line.length();
+        for (int i = start; i < length; i++) {
+            if (isLineTerminator(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips the spaces starting at the given position.
+     *
+     * @param   position    the position to start from
+     *
+     * @return  the position of the first non space character or the line length
+     */
+    private int skipSpaces(int position) {
+        final int length = line.length();
+        while (position < length && isSpace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Retrieves the kind of the last lexed line.
+     *
+     * @return  a line kind
+     */
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Retrieves the setting identifier of the last lexed assignment or increment.
+     *
+     * @return  a string containing the identifier
+     */
+    String getIdentifier() {
+        return line.substring(identifierStart, identifierEnd);
+    }
+
+    /**
+     * Retrieves the spaces between identifier and operator of the last lexed assignment or increment.
+     *
+     * @return  a string containing the spaces
+     */
+    String getSpaces() {
+        return line.substring(identifierEnd, spacesEnd);
+    }
+
+    /**
+     * Retrieves the value of the last lexed line.
+     *
+     * @return  a string containing the value
+     */
+    String getValue() {
+        return line.substring(valueStart, valueEnd);
+    }
+
+    /**
+     * Tells if the last lexed value is continued on the next line.
+     *
+     * @return  true or false
+     */
+    boolean isContinued() {
+        return continued;
+    }
+
+}
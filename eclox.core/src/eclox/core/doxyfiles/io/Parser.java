@@ -18,12 +18,11 @@
 
 package eclox.core.doxyfiles.io;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 //import eclox.core.Services;
 import eclox.core.Plugin;
@@ -47,42 +46,43 @@ public class Parser {
     /**
      * The line reader used to parse the input stream.
      */
-    private BufferedReader reader;
+    private DoxyfileReader reader;
 
     /**
-     * The comment line pattern.
+     * the lines of the input stream, once read
      */
-    private Pattern commentPattern = Pattern.compile("#.*");
+    private List<String> lines;
 
     /**
-     * the empty line pattern
+     * the byte offsets of the lines of the input stream, once read, followed by the
+     * offset of the end of the last line
      */
-    private Pattern emptyPattern = Pattern.compile("\\s*");
+    private int[] lineOffsets;
 
     /**
-     * the setting assignment pattern
+     * the length of the input stream in bytes, once read
      */
-    private Pattern settingAssignmentPattern = Pattern.compile("(\\w+)(\\s*)=\\s*(.*?)\\s*(\\\\)?");
+    private int length;
 
     /**
-     * the setting increment pattern
+     * the checksum of the input stream, once read
      */
-    private Pattern settingIncrementPattern = Pattern.compile("(\\w+)(\\s*)\\+=\\s*(.*?)\\s*(\\\\)?");
+    private long checksum;
 
     /**
-     * the continued setting assignment pattern
+     * the lexer used to classify each line
      */
-    private Pattern continuedSettingAssignmentPattern = Pattern.compile("\\s*(.+?)\\s*(\\\\)?");
+    private Lexer lexer = new Lexer();
 
     /**
-     * the include directive pattern
+     * the setting whose value is being collected, or null if none
      */
-    private Pattern includePattern = Pattern.compile("@INCLUDE\\s*=\\s*(.*)");
+    private Setting pendingSetting;
 
     /**
-     * the include path pattern
+     * the value being collected for the pending setting
      */
-    private Pattern includePathPattern = Pattern.compile("@INCLUDE_PATH\\s*=\\s*(.*)");
+    private StringBuilder pendingValue = new StringBuilder();
 
     /**
      * Constructor.
@@ -90,8 +90,7 @@ public class Parser {
      * @param	input	an input stream instance to parse as a doxyfile
      */
     public Parser(InputStream input) throws IOException {
-        this.reader = new BufferedReader(new InputStreamReader(input));
-        this.reader.mark(0);
+        this.reader = new DoxyfileReader(input);
     }
 
     /**
@@ -102,98 +101,365 @@ public class Parser {
      * @return	a collection of the setting read from the input stream
      */
     public void read(Doxyfile doxyfile) throws IOException {
+        this.readLines(doxyfile, 1, Integer.MAX_VALUE);
+        doxyfile.setContentSignature(length, checksum);
+    }
+
+    /**
+     * Reads the input stream, which is the new content of the given doxyfile after
+     * an edit of some lines, and updates the doxyfile accordingly.
+     *
+     * Only the chunks around the changed lines are parsed again, including the whole
+     * continued settings they belong to, and the settings found again are patched in
+     * place, so their listeners stay attached. When the doxyfile structure does not
+     * allow a local update, like when a setting is assigned several times, all lines
+     * are parsed again but existing settings are still patched in place.
+     *
+     * Inserted lines are given by an empty old range (<code>oldLastLine</code> equals
+     * <code>firstLine - 1</code>) and removed lines by an empty new range.
+     *
+     * @param	doxyfile	a doxyfile previously read from the old content
+     * @param	firstLine	the first changed line (1-based)
+     * @param	oldLastLine	the last changed line in the old content
+     * @param	newLastLine	the last changed line in the new content
+     */
+    public void read(Doxyfile doxyfile, int firstLine, int oldLastLine, int newLastLine) throws IOException {
+        int count = doxyfile.getChunkCount();
+        if (doxyfile.isContiguous() == false || count == 0 || doxyfile.getChunk(count - 1).getEndOffset() < 0) {
+            this.readAll(doxyfile);
+            return;
+        }
+
+        // Searches the chunks covering the changed lines, plus one neighbour on each
+        // side since an edit may join or split adjacent chunks.
+        int lastLine = doxyfile.getChunk(count - 1).getLastLine();
+        int fromIndex = doxyfile.findChunkIndex(Math.min(firstLine, lastLine));
+        int toIndex = doxyfile.findChunkIndex(Math.min(Math.max(firstLine, oldLastLine), lastLine));
+        if (fromIndex == -1 || toIndex == -1) {
+            this.readAll(doxyfile);
+            return;
+        }
+        fromIndex = Math.max(fromIndex - 1, 0);
+        toIndex = Math.min(toIndex + 1, count - 1);
+
+        // Parses the lines of these chunks in their new state.
+        int delta = newLastLine - oldLastLine;
+        int windowFirstLine = doxyfile.getChunk(fromIndex).getFirstLine();
+        int windowLastLine = (toIndex == count - 1) ? Integer.MAX_VALUE : doxyfile.getChunk(toIndex).getLastLine() + delta;
+        Doxyfile window = new Doxyfile(doxyfile.getIFile(), doxyfile.getFile());
+        boolean complete = this.readLines(window, windowFirstLine, windowLastLine);
+
+        // Ensures the new chunks do not interfere with the chunks around.
+        if (complete == false || this.isIsolated(doxyfile, fromIndex, toIndex, window) == false) {
+            this.readAll(doxyfile);
+            return;
+        }
+        if (toIndex + 1 < count) {
+            int byteDelta = lineOffsets[windowLastLine] - doxyfile.getChunk(toIndex).getEndOffset();
+            doxyfile.shift(toIndex + 1, delta, byteDelta);
+        }
+        doxyfile.replaceChunks(fromIndex, toIndex + 1, this.getChunks(window));
+        doxyfile.setContentSignature(length, checksum);
+    }
+
+    /**
+     * Reads all lines again and replaces all chunks of the given doxyfile.
+     *
+     * @param	doxyfile	a doxyfile to update
+     */
+    private void readAll(Doxyfile doxyfile) throws IOException {
+        Doxyfile result = new Doxyfile(doxyfile.getIFile(), doxyfile.getFile());
+        this.readLines(result, 1, Integer.MAX_VALUE);
+        doxyfile.replaceChunks(0, doxyfile.getChunkCount(), this.getChunks(result));
+        doxyfile.setContiguous(result.isContiguous());
+        doxyfile.setContentSignature(length, checksum);
+    }
+
+    /**
+     * Tells if the chunks read for a window of the given doxyfile can replace the
+     * chunks of that window without affecting the others.
+     *
+     * @param	doxyfile	the doxyfile being updated
+     * @param	fromIndex	the index of the first chunk of the window
+     * @param	toIndex		the index of the last chunk of the window
+     * @param	window		a doxyfile containing the chunks read for the window
+     *
+     * @return	true or false
+     */
+    private boolean isIsolated(Doxyfile doxyfile, int fromIndex, int toIndex, Doxyfile window) {
+        if (window.isContiguous() == false) {
+            return false;
+        }
+        int count = window.getChunkCount();
+        if (count == 0) {
+            return true;
+        }
+
+        // Raw text chunks would be merged with raw text around.
+        if (window.getChunk(0) instanceof RawText && fromIndex > 0 && doxyfile.getChunk(fromIndex - 1) instanceof RawText) {
+            return false;
+        }
+        if (window.getChunk(count - 1) instanceof RawText && toIndex + 1 < doxyfile.getChunkCount() && doxyfile.getChunk(toIndex + 1) instanceof RawText) {
+            return false;
+        }
+
+        // New settings must not be assigned elsewhere.
+        for (int i = 0; i < count; i++) {
+            Chunk chunk = window.getChunk(i);
+            if (chunk instanceof Setting) {
+                Setting existing = doxyfile.getSetting(((Setting) chunk).getIdentifier());
+                if (existing != null) {
+                    int index = doxyfile.findChunkIndex(existing.getFirstLine());
+                    if (index < fromIndex || index > toIndex) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves all chunks of the given doxyfile.
+     *
+     * @param	doxyfile	a doxyfile
+     *
+     * @return	a list of chunks
+     */
+    private List<Chunk> getChunks(Doxyfile doxyfile) {
+        List<Chunk> chunks = new ArrayList<Chunk>(doxyfile.getChunkCount());
+        for (int i = 0; i < doxyfile.getChunkCount(); i++) {
+            chunks.add(doxyfile.getChunk(i));
+        }
+        return chunks;
+    }
+
+    /**
+     * Parses the given range of lines into the doxyfile.
+     *
+     * @param	doxyfile	a doxyfile where the parser results will be stored
+     * @param	firstLine	the first line to parse (1-based)
+     * @param	lastLine	the last line to parse
+     *
+     * @return	true if the input contains the whole range, or if the range ends with the input
+     */
+    private boolean readLines(Doxyfile doxyfile, int firstLine, int lastLine) throws IOException {
         // Initialization of the system.
-        this.reader.reset();
-        this.lineNumber = 0;
+        List<String> lines = this.getLines();
+        this.lineNumber = firstLine - 1;
+        this.pendingSetting = null;
 
-        // Reads and parses all lines.
+        // Parses the lines.
         try {
-            String line;
-            for (line = reader.readLine(); line != null; line = reader.readLine()) {
+            int end = Math.min(lastLine, lines.size());
+            while (lineNumber < end) {
                 lineNumber++;
-                this.matchLine(doxyfile, line);
+                this.matchLine(doxyfile, lines.get(lineNumber - 1));
+                this.updateOffsets(doxyfile);
             }
+            return lastLine == Integer.MAX_VALUE || lastLine <= lines.size();
         } catch (Throwable throwable) {
             throw new IOException("Syntax error at line " + lineNumber + ". " + throwable.getMessage());
+        } finally {
+            this.commitPendingValue();
+            for (int i = 0; i < doxyfile.getChunkCount(); i++) {
+                Chunk chunk = doxyfile.getChunk(i);
+                chunk.setModified(false);
+                if (chunk instanceof RawText) {
+                    ((RawText) chunk).trim();
+                }
+            }
         }
     }
 
     /**
-     * Matches the specified line.
+     * Updates the byte range of the last chunk of the given doxyfile when it covers
+     * the current line.
      *
-     * @param	doxyfile	a doxyfile where the result will be stored
-     * @param	line		a string containing the current line text
+     * @param	doxyfile	a doxyfile being read
      */
-    private void matchLine(Doxyfile doxyfile, String line) throws IOException {
-        Matcher matcher;
-
-        // Matches the current line against an empty line pattern
-        matcher = emptyPattern.matcher(line);
-        if (matcher.matches() == true) {
-            this.processAnyLine(doxyfile, line);
-            return;
+    private void updateOffsets(Doxyfile doxyfile) {
+        Chunk lastChunk = doxyfile.getLastChunk();
+        if (lastChunk != null && lastChunk.getLastLine() == lineNumber) {
+            int startOffset = (lastChunk.getFirstLine() == lineNumber) ? lineOffsets[lineNumber - 1] : lastChunk.getStartOffset();
+            lastChunk.setOffsets(startOffset, lineOffsets[lineNumber]);
         }
+    }
 
-        // Matches the current line against the comment pattern.
-        matcher = commentPattern.matcher(line);
-        if (matcher.matches() == true) {
-            this.processAnyLine(doxyfile, line);
-            return;
+    /**
+     * Retrieves all lines of the input stream, which are read once.
+     *
+     * @return	a list of strings containing the lines
+     */
+    private List<String> getLines() throws IOException {
+        if (this.lines == null) {
+            this.reader.rewind();
+            this.lines = new ArrayList<String>();
+            this.lineOffsets = new int[256];
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (this.lines.size() + 1 >= this.lineOffsets.length) {
+                    this.lineOffsets = Arrays.copyOf(this.lineOffsets, this.lineOffsets.length * 2);
+                }
+                this.lineOffsets[this.lines.size()] = reader.getLineOffset();
+                this.lines.add(line);
+            }
+            this.length = reader.getOffset();
+            this.lineOffsets[this.lines.size()] = this.length;
+            this.checksum = reader.getChecksum();
         }
+        return this.lines;
+    }
 
-        // Matches the current line against the setting assignment pattern.
-        matcher = settingAssignmentPattern.matcher(line);
-        if (matcher.matches() == true) {
-            // Retrieves the setting identifier and its values.
-            String identifier = matcher.group(1);
-            String spaces = matcher.group(2);
-            String values = matcher.group(3);
-            String continued = matcher.group(4);
-            // Call the traitement for the setting assignment and pull out.
-            this.processSettingAssignment(doxyfile, identifier, spaces, values, continued != null);
-            return;
-        }
+    /**
+     * Reads the input stream and reports its content to the given handler, without
+     * building the chunk model. Reading stops at the end of the input or as soon as
+     * the handler asks for it.
+     *
+     * @param	handler		a handler receiving the parser events
+     */
+    public void read(IParserHandler handler) throws IOException {
+        // Initialization of the system.
+        this.reader.rewind();
+        this.lineNumber = 0;
 
-        // Matches the current line against the setting increment pattern.
-        matcher = settingIncrementPattern.matcher(line);
-        if (matcher.matches() == true) {
-            // Retrieves the setting identifier and its values.
-            String identifier = matcher.group(1);
-            String spaces = matcher.group(2);
-            String values = matcher.group(3);
-            String continued = matcher.group(4);
-            // Call the treatment for the setting assignment and pull out.
-            this.processSettingIncrement(doxyfile, identifier, spaces, values, continued != null);
-            return;
+        // The setting whose continued value is being collected.
+        String identifier = null;
+        Lexer.Kind kind = null;
+        int settingLine = 0;
+
+        // Reads and parses lines until the end or the handler wants to stop.
+        try {
+            boolean more = true;
+            String line;
+            for (line = reader.readLine(); more && line != null; line = reader.readLine()) {
+                lineNumber++;
+                Lexer.Kind lineKind = lexer.lex(line);
+
+                // Continued values are collected, all other lines close the collected setting.
+                if (lineKind == Lexer.Kind.CONTINUATION) {
+                    if (identifier != null) {
+                        pendingValue.append(' ').append(lexer.getValue());
+                    }
+                    continue;
+                }
+                if (identifier != null) {
+                    more = this.fireSetting(handler, kind, identifier, settingLine);
+                    identifier = null;
+                    if (more == false) {
+                        break;
+                    }
+                }
+
+                switch (lineKind) {
+                case EMPTY:
+                case COMMENT:
+                    more = handler.onRawLine(line, lineNumber);
+                    break;
+                case INCLUDE:
+                    more = handler.onInclude(lexer.getValue(), lineNumber);
+                    break;
+                case INCLUDE_PATH:
+                    more = handler.onIncludePath(lexer.getValue(), lineNumber);
+                    break;
+                case ASSIGNMENT:
+                case INCREMENT:
+                    pendingValue.setLength(0);
+                    pendingValue.append(lexer.getValue());
+                    if (lexer.isContinued()) {
+                        identifier = lexer.getIdentifier();
+                        kind = lineKind;
+                        settingLine = lineNumber;
+                    } else {
+                        more = this.fireSetting(handler, lineKind, lexer.getIdentifier(), lineNumber);
+                    }
+                    break;
+                default:
+                    // The line has not been recognized.
+                    throw new IOException("Unable to match line.");
+                }
+            }
+            if (more && identifier != null) {
+                this.fireSetting(handler, kind, identifier, settingLine);
+            }
+        } catch (Throwable throwable) {
+            throw new IOException("Syntax error at line " + lineNumber + ". " + throwable.getMessage());
         }
+    }
 
-        // Matches the current line against the include directive pattern.
-        matcher = includePattern.matcher(line);
-        if (matcher.matches() == true) {
-            this.processAnyLine(doxyfile, line);
-            return;
+    /**
+     * Reports the collected setting value to the given handler.
+     *
+     * @param	handler		a handler receiving the parser events
+     * @param	kind		the kind of the setting line (assignment or increment)
+     * @param	identifier	a string containing the setting identifier
+     * @param	line		the line number where the setting starts
+     *
+     * @return	true to continue parsing, false to stop
+     */
+    private boolean fireSetting(IParserHandler handler, Lexer.Kind kind, String identifier, int line) {
+        String value = pendingValue.toString();
+        if (kind == Lexer.Kind.INCREMENT) {
+            return handler.onIncrement(identifier, value, line);
+        } else {
+            return handler.onSetting(identifier, value, line);
         }
+    }
 
-        // Matches the current line agains the include path directive pattern.
-        matcher = includePathPattern.matcher(line);
-        if (matcher.matches() == true) {
+    /**
+     * Matches the specified line.
+     *
+     * @param	doxyfile	a doxyfile where the result will be stored
+     * @param	line		a string containing the current line text
+     */
+    private void matchLine(Doxyfile doxyfile, String line) throws IOException {
+        switch (lexer.lex(line)) {
+        case EMPTY:
+        case COMMENT:
+        case INCLUDE:
+        case INCLUDE_PATH:
             this.processAnyLine(doxyfile, line);
-            return;
+            break;
+        case ASSIGNMENT:
+            this.processSettingAssignment(doxyfile, lexer.getIdentifier(), lexer.getSpaces(), lexer.getValue(), lexer.isContinued());
+            break;
+        case INCREMENT:
+            this.processSettingIncrement(doxyfile, lexer.getIdentifier(), lexer.getSpaces(), lexer.getValue(), lexer.isContinued());
+            break;
+        case CONTINUATION:
+            this.processContinuedSettingAssignment(doxyfile, lexer.getValue(), lexer.isContinued());
+            break;
+        default:
+            // The line has not been recognized.
+            throw new IOException("Unable to match line.");
         }
+    }
 
-        // Matches the current line against the continued setting assignment pattern.
-        matcher = continuedSettingAssignmentPattern.matcher(line);
-        if (matcher.matches() == true) {
-            // Retrieves the setting identifier and its values.
-            String values = matcher.group(1);
-            String continued = matcher.group(2);
-            // Call the treatment for the continued setting assignment and pull out.
-            this.processContinuedSettingAssignment(doxyfile, values, continued != null);
-            return;
+    /**
+     * Appends a value part to the given setting. The value is collected and only
+     * committed to the setting once all parts have been read.
+     *
+     * @param	setting		a setting to append the value part to
+     * @param	value		a string containing the value part to append
+     */
+    private void appendValue(Setting setting, String value) {
+        if (pendingSetting != setting) {
+            this.commitPendingValue();
+            pendingSetting = setting;
+            pendingValue.setLength(0);
+            pendingValue.append(setting.getValue());
         }
+        pendingValue.append(' ').append(value);
+    }
 
-        // The line has not been recognized.
-        throw new IOException("Unable to match line.");
+    /**
+     * Commits the collected value to the pending setting, if any.
+     */
+    private void commitPendingValue() {
+        if (pendingSetting != null) {
+            Setting setting = pendingSetting;
+            pendingSetting = null;
+            setting.setValue(pendingValue.toString());
+        }
     }
 
     /**
@@ -209,8 +475,10 @@ public class Parser {
         RawText rawText;
         if (lastChunk instanceof RawText) {
             rawText = (RawText) lastChunk;
+            rawText.setLines(rawText.getFirstLine(), lineNumber);
         } else {
             rawText = new RawText();
+            rawText.setLines(lineNumber, lineNumber);
             doxyfile.append(rawText);
         }
 
@@ -232,11 +500,18 @@ public class Parser {
         if (setting != null) {
             // Overwrites the continued setting's value,
             // because the last assignment operator wins!
-            setting.setValue(value);
+            if (pendingSetting != setting) {
+                this.commitPendingValue();
+                pendingSetting = setting;
+            }
+            pendingValue.setLength(0);
+            pendingValue.append(value);
             setting.setOperator(Setting.ASSIGNMENT);
             setting.setContinued(continued);
+            doxyfile.setContiguous(false);
         } else {
             setting = new Setting(identifier, spaces, value, Setting.ASSIGNMENT, continued);
+            setting.setLines(lineNumber, lineNumber);
             doxyfile.append(setting);
         }
 
@@ -256,11 +531,13 @@ public class Parser {
         if (setting != null) {
             // Updates the continued setting's value independent of the type (assignment or increment),
             // because the previous operator wins!
-            setting.setValue(setting.getValue() + " " + value);
+            this.appendValue(setting, value);
             setting.setContinued(continued);
+            doxyfile.setContiguous(false);
         } else {
             Plugin.getDefault().logWarning("At line " + lineNumber + ": the setting was not declared before. But it may be declared in included file!");
             setting = new Setting(identifier, spaces, value, Setting.INCREMENT, continued);
+            setting.setLines(lineNumber, lineNumber);
             doxyfile.append(setting);
         }
     }
@@ -280,12 +557,15 @@ public class Parser {
         if (lastChunk instanceof Setting) {
             Setting continuedSetting = (Setting) lastChunk;
             if (continuedSetting.isContinued()) {
-                continuedSetting.setValue(continuedSetting.getValue() + " " + value);
+                this.appendValue(continuedSetting, value);
+                continuedSetting.setLines(continuedSetting.getFirstLine(), lineNumber);
             } else {
                 Plugin.getDefault().logWarning("At line " + lineNumber + ": value delcared without a multiline (continued) setting.");
+                doxyfile.setContiguous(false);
             }
         } else {
             Plugin.getDefault().logWarning("At line " + lineNumber + ": value delcared without a setting name.");
+            doxyfile.setContiguous(false);
         }
     }
 }
@@ -19,20 +19,44 @@ package eclox.core.doxyfiles.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.util.Iterator;
+import java.util.zip.CRC32;
 
 import eclox.core.ListSeparateMode;
 import eclox.core.doxyfiles.Chunk;
 import eclox.core.doxyfiles.Doxyfile;
+import eclox.core.doxyfiles.Setting;
 import eclox.core.TagFormat;
 
 /**
  * Implements a doxyfile content serializer.
  *
+ * Each chunk is converted to text once and encoded into a reusable byte buffer.
+ * Like the parser, the text is encoded in UTF-8 up to the DOXYFILE_ENCODING
+ * setting and with the encoding it gives afterwards.
+ *
+ * When given the content the doxyfile has been read from, the serializer splices
+ * the modified chunks into that content: the original bytes of the unchanged chunks
+ * are copied as they are, so only the lines of the modified settings differ. The
+ * whole doxyfile is serialized again when the content changed in the meantime, when
+ * the doxyfile is not contiguous or when its encoding has been modified.
+ *
  * @author willy
  */
 public class Serializer extends InputStream {
 
+    /**
+     * the size of the byte buffer
+     */
+    private static final int BUFFER_SIZE = 8192;
+
     /**
      * The line separator.
      */
@@ -51,12 +75,97 @@ public class Serializer extends InputStream {
     /**
      * an iterator on the doxyfile chunks
      */
-    private Iterator<?> chunkIterator;
+    private Iterator<Chunk> chunkIterator;
 
     /**
-     * a string buffer containing the next character to red
+     * the encoder for the current charset
      */
-    private StringBuffer stringBuffer;
+    private CharsetEncoder encoder;
+
+    /**
+     * the charset to use once the current chunk has been encoded, or null
+     */
+    private Charset nextCharset;
+
+    /**
+     * the text of the chunk being encoded, or null when none
+     */
+    private CharBuffer chars;
+
+    /**
+     * tells if the encoder of the current chunk is being flushed
+     */
+    private boolean flushing;
+
+    /**
+     * the buffer containing the encoded bytes left to read
+     */
+    private ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * the doxyfile being serialized
+     */
+    private Doxyfile doxyfile;
+
+    /**
+     * the content the doxyfile has been read from, or null when not splicing
+     */
+    private byte[] original;
+
+    /**
+     * the offset of the first original byte not processed yet
+     */
+    private int originalOffset;
+
+    /**
+     * the offset of the next original byte to copy
+     */
+    private int rawOffset;
+
+    /**
+     * the offset after the last original byte to copy
+     */
+    private int rawEnd;
+
+    /**
+     * the chunk being serialized, or null when none
+     */
+    private Chunk chunk;
+
+    /**
+     * the index of the chunk being serialized
+     */
+    private int chunkIndex;
+
+    /**
+     * the output offset of the chunk being serialized
+     */
+    private int chunkOffset;
+
+    /**
+     * the number of lines of the chunk being serialized
+     */
+    private int chunkLineCount;
+
+    /**
+     * the output line and byte ranges of the serialized chunks, four integers per chunk
+     */
+    private int[] layout;
+
+    /**
+     * the first output line of the next chunk
+     */
+    private int outputLine = 1;
+
+    /**
+     * the number of bytes output by the previous fills of the byte buffer
+     */
+    private int outputLength;
+
+    /**
+     * the checksum of the bytes output so far
+     */
+    private CRC32 checksum = new CRC32();
 
     /**
      * Constructor
@@ -64,47 +173,286 @@ public class Serializer extends InputStream {
      * @param	doxyfile	a doxyfile to serialize
      */
     public Serializer(Doxyfile doxyfile, String lineSeparator, ListSeparateMode listSeparateMode, TagFormat tagFormat) {
-        this.lineSeparator = lineSeparator;
+        this(doxyfile, null, lineSeparator, listSeparateMode, tagFormat);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param	doxyfile	a doxyfile to serialize
+     * The modified chunks spliced into the original content use its line separator,
+     * so that they match the unchanged chunks, and the given one otherwise.
+     *
+     * @param	doxyfile	a doxyfile to serialize
+     * @param	original	the current content of the doxyfile, or null if unknown
+     */
+    public Serializer(Doxyfile doxyfile, byte[] original, String lineSeparator, ListSeparateMode listSeparateMode, TagFormat tagFormat) {
         this.listSeparateMode = listSeparateMode;
         this.tagFormat = tagFormat;
+        this.doxyfile = doxyfile;
+        this.original = canSplice(doxyfile, original) ? original : null;
+        this.lineSeparator = this.original != null ? getLineSeparator(this.original, lineSeparator) : lineSeparator;
         this.chunkIterator = doxyfile.iterator();
-        this.stringBuffer = getNextStringBuffer();
+        this.layout = new int[doxyfile.getChunkCount() * 4];
+        this.encoder = newEncoder(DoxyfileReader.DEFAULT_CHARSET);
+        this.bytes.flip();
+    }
+
+    /**
+     * Retrieves the line separator used by the given content.
+     *
+     * @param	content				the content of a doxyfile, or null
+     * @param	defaultSeparator	the line separator to use when the content has none
+     *
+     * @return	a string containing the first line separator found, the default one otherwise
+     */
+    public static String getLineSeparator(byte[] content, String defaultSeparator) {
+        if (content != null) {
+            for (int i = 0; i < content.length; i++) {
+                if (content[i] == '\n') {
+                    return "\n";
+                } else if (content[i] == '\r') {
+                    return (i + 1 < content.length && content[i + 1] == '\n') ? "\r\n" : "\r";
+                }
+            }
+        }
+        return defaultSeparator;
+    }
+
+    /**
+     * Tells if the modified chunks of the given doxyfile can be spliced into the
+     * given content.
+     *
+     * @param	doxyfile	a doxyfile
+     * @param	original	the current content of the doxyfile, or null
+     *
+     * @return	true or false
+     */
+    private static boolean canSplice(Doxyfile doxyfile, byte[] original) {
+        if (original == null || doxyfile.isContiguous() == false || doxyfile.isContent(original) == false) {
+            return false;
+        }
+        Setting encoding = doxyfile.getSetting(DoxyfileReader.ENCODING);
+        return encoding == null || encoding.isModified() == false;
+    }
+
+    /**
+     * Tells if the original bytes of the unchanged chunks are being copied.
+     *
+     * @return	true or false
+     */
+    public boolean isSplicing() {
+        return original != null;
+    }
+
+    /**
+     * Updates the doxyfile once its whole serialized content has been written, so
+     * that its chunks describe that content and are no longer modified. Next saves
+     * then splice the chunks modified from now on into that content.
+     */
+    public void commit() {
+        if (bytes.hasRemaining() || fill()) {
+            throw new IllegalStateException("The doxyfile has not been entirely serialized.");
+        }
+        for (int i = 0; i < chunkIndex; i++) {
+            Chunk serialized = doxyfile.getChunk(i);
+            serialized.setLines(layout[i * 4], layout[i * 4 + 1]);
+            serialized.setOffsets(layout[i * 4 + 2], layout[i * 4 + 3]);
+            serialized.setModified(false);
+        }
+        doxyfile.setContiguous(true);
+        doxyfile.setContentSignature(outputLength, checksum.getValue());
+    }
+
+    /**
+     * Retrieves the charset the serializer currently encodes with. Once the whole
+     * content has been serialized, it gives the encoding of text appended to it.
+     *
+     * @return	a charset
+     */
+    public Charset getCharset() {
+        return encoder.charset();
     }
 
     public int read() throws IOException {
-        int result;
-        if (stringBuffer != null) {
-            // Retrieves the next character from the current string buffer.
-            result = stringBuffer.charAt(0);
-            stringBuffer.deleteCharAt(0);
-
-            // If the current string buffer has been entierly read, gets the next string buffer.
-            if (stringBuffer.length() == 0) {
-                stringBuffer = getNextStringBuffer();
+        if (bytes.hasRemaining() == false && fill() == false) {
+            return -1;
+        }
+        return bytes.get() & 0xff;
+    }
+
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (bytes.hasRemaining() == false && fill() == false) {
+            return -1;
+        }
+        int count = Math.min(length, bytes.remaining());
+        bytes.get(buffer, offset, count);
+        return count;
+    }
+
+    public int available() throws IOException {
+        return bytes.remaining();
+    }
+
+    /**
+     * Writes the whole remaining content to the given channel, without any
+     * intermediate copy.
+     *
+     * @param	channel	a channel to write to, like a file channel
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        while (bytes.hasRemaining() || fill()) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
             }
-        } else {
-            result = -1;
         }
-        return result;
     }
 
     /**
-     * Retrieves the next string buffer to use for reading operations or null
-     * if no more chunk is left in the doxyfile.
+     * Encodes the next chunks into the byte buffer.
      *
-     * @return	a string buffer or null of none
+     * @return	true if bytes are available, false when the whole doxyfile has been read
      */
-    private StringBuffer getNextStringBuffer() {
-        // Pre-condition
-        assert chunkIterator != null;
+    private boolean fill() {
+        outputLength += bytes.limit();
+        bytes.clear();
+        while (bytes.hasRemaining()) {
+            // Gets the next chunk, or the original bytes following the last one.
+            if (chunk == null) {
+                if (chunkIterator.hasNext() == false) {
+                    if (original != null && originalOffset < original.length) {
+                        rawOffset = originalOffset;
+                        rawEnd = original.length;
+                        originalOffset = original.length;
+                    }
+                    copyRaw();
+                    break;
+                }
+                startChunk(chunkIterator.next());
+            }
 
-        // Retrieves the next string buffer.
-        StringBuffer result = null;
-        if (this.chunkIterator.hasNext() == true) {
-            Chunk chunk = (Chunk) this.chunkIterator.next();
-            result = new StringBuffer(chunk.getString(lineSeparator, listSeparateMode, tagFormat));
+            // Copies the original bytes, then encodes the text and flushes the encoder.
+            if (copyRaw() == false) {
+                break;
+            }
+            if (chars != null) {
+                if (flushing == false) {
+                    if (encoder.encode(chars, bytes, true) == CoderResult.OVERFLOW) {
+                        break;
+                    }
+                    flushing = true;
+                }
+                if (encoder.flush(bytes) == CoderResult.OVERFLOW) {
+                    break;
+                }
+                chars = null;
+                flushing = false;
+            }
+            endChunk();
+        }
+        bytes.flip();
+        checksum.update(bytes.array(), 0, bytes.limit());
+        return bytes.hasRemaining();
+    }
+
+    /**
+     * Prepares the serialization of the given chunk, either by copying its original
+     * bytes or by encoding its text.
+     *
+     * @param	next	the chunk to serialize
+     */
+    private void startChunk(Chunk next) {
+        chunk = next;
+        chunkOffset = outputLength + bytes.position();
+        nextCharset = getEncoding(chunk);
+
+        // Copies the original bytes preceding the chunk, and those of the chunk when unchanged.
+        int startOffset = chunk.getStartOffset();
+        if (original != null && startOffset >= originalOffset && chunk.getEndOffset() <= original.length) {
+            rawOffset = originalOffset;
+            chunkOffset += startOffset - originalOffset;
+            originalOffset = chunk.getEndOffset();
+            if (chunk.isModified() == false) {
+                rawEnd = chunk.getEndOffset();
+                chunkLineCount = chunk.getLastLine() - chunk.getFirstLine() + 1;
+                return;
+            }
+            rawEnd = startOffset;
+        }
+
+        // Encodes the text of the chunk.
+        String text = chunk.getString(lineSeparator, listSeparateMode, tagFormat);
+        chars = CharBuffer.wrap(text);
+        chunkLineCount = 0;
+        for (int index = text.indexOf(lineSeparator); index != -1; index = text.indexOf(lineSeparator, index + lineSeparator.length())) {
+            chunkLineCount++;
+        }
+        encoder.reset();
+    }
+
+    /**
+     * Records the output range of the serialized chunk and switches the charset when
+     * the chunk gives the encoding.
+     */
+    private void endChunk() {
+        int end = outputLength + bytes.position();
+        layout[chunkIndex * 4] = outputLine;
+        layout[chunkIndex * 4 + 1] = outputLine + chunkLineCount - 1;
+        layout[chunkIndex * 4 + 2] = chunkOffset;
+        layout[chunkIndex * 4 + 3] = end;
+        outputLine += chunkLineCount;
+        chunkIndex++;
+        chunk = null;
+        if (nextCharset != null && nextCharset.equals(encoder.charset()) == false) {
+            encoder = newEncoder(nextCharset);
+        }
+    }
+
+    /**
+     * Copies the pending original bytes into the byte buffer.
+     *
+     * @return	true if all pending bytes have been copied, false if the buffer is full
+     */
+    private boolean copyRaw() {
+        int count = Math.min(rawEnd - rawOffset, bytes.remaining());
+        if (count > 0) {
+            bytes.put(original, rawOffset, count);
+            rawOffset += count;
+        }
+        return rawOffset == rawEnd;
+    }
+
+    /**
+     * Retrieves the encoding given by the given chunk.
+     *
+     * @param	chunk	a chunk
+     *
+     * @return	the charset, or null if the chunk does not give the encoding
+     */
+    private static Charset getEncoding(Chunk chunk) {
+        if (chunk instanceof Setting) {
+            Setting setting = (Setting) chunk;
+            if (setting.getIdentifier().equals(DoxyfileReader.ENCODING)) {
+                return DoxyfileReader.getCharset(setting.getValue());
+            }
         }
-        return result;
+        return null;
+    }
+
+    /**
+     * Creates an encoder for the given charset.
+     *
+     * @param	charset	a charset
+     *
+     * @return	an encoder replacing characters that cannot be encoded
+     */
+    private static CharsetEncoder newEncoder(Charset charset) {
+        return charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
     }
 
 }
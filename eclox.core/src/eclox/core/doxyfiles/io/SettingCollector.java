@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxyfiles.io;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implements a parser handler that collects the values of some given settings.
+ *
+ * Like doxygen, the last assignment of a setting wins and increments are appended
+ * to the collected value, so the whole content is always parsed.
+ */
+public class SettingCollector implements IParserHandler {
+
+    /**
+     * the collected values, by identifier
+     */
+    private Map<String, String> values = new HashMap<String, String>();
+
+    /**
+     * the identifiers of the wanted settings
+     */
+    private String[] identifiers;
+
+    /**
+     * Constructor
+     *
+     * @param   identifiers the identifiers of the settings to collect
+     */
+    public SettingCollector(String... identifiers) {
+        this.identifiers = identifiers;
+    }
+
+    /**
+     * Retrieves the collected values.
+     *
+     * @return  a map containing the collected values by identifier, settings not found are missing
+     */
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    /**
+     * Retrieves the collected value of the given setting.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  a string containing the value, or null if the setting was not found
+     */
+    public String getValue(String identifier) {
+        return values.get(identifier);
+    }
+
+    /**
+     * Tells if the given identifier is wanted.
+     *
+     * @param   identifier  a string containing a setting identifier
+     *
+     * @return  true or false
+     */
+    private boolean isWanted(String identifier) {
+        for (String wanted : identifiers) {
+            if (wanted.equals(identifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean onSetting(String identifier, String value, int line) {
+        if (isWanted(identifier)) {
+            values.put(identifier, value);
+        }
+        return true;
+    }
+
+    public boolean onIncrement(String identifier, String value, int line) {
+        if (isWanted(identifier)) {
+            String previous = values.get(identifier);
+            values.put(identifier, (previous != null) ? previous + " " + value : value);
+        }
+        return true;
+    }
+
+    public boolean onInclude(String file, int line) {
+        return true;
+    }
+
+    public boolean onIncludePath(String path, int line) {
+        return true;
+    }
+
+    public boolean onRawLine(String text, int line) {
+        return true;
+    }
+
+}
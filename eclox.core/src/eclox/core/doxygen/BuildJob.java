@@ -29,15 +29,19 @@
 package eclox.core.doxygen;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
 import java.util.regex.Matcher;
@@ -62,8 +66,13 @@ import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.filesystem.URIUtil;
 
+import eclox.core.ListSeparateMode;
 import eclox.core.Plugin;
+import eclox.core.TagFormat;
 import eclox.core.doxyfiles.Doxyfile;
+import eclox.core.doxyfiles.DoxyfileUpgrader;
+import eclox.core.doxyfiles.Setting;
+import eclox.core.doxyfiles.io.Serializer;
 
 /**
  * Implement a build job.
@@ -201,6 +210,17 @@ public class BuildJob extends Job {
      */
     private boolean doBuildType;
 
+    /**
+     * the configuration piped to doxygen instead of reading the doxyfile, or null
+     */
+    private byte[] configuration;
+
+    /**
+     * the output directory of the piped configuration, or null when it is not
+     * set in the doxyfile itself
+     */
+    private String outputDirectory;
+
     /**
      * the buffer containing the whole build output log
      */
@@ -263,9 +283,12 @@ public class BuildJob extends Job {
         } else {
             result.setDoBuild(doBuild);
         }
+        result.configuration = null;
+        result.outputDirectory = null;
 
         // set new command
-        result.setCommand(Doxygen.getDefault().getCommand());
+        Doxygen doxygen = Doxygen.getDefault();
+        result.setCommand((doxygen != null) ? doxygen.getLaunchContext().getCommand() : null);
 
         // Job's done.
         return result;
@@ -367,9 +390,47 @@ public class BuildJob extends Job {
     }
 
     public void updateJobName() {
-        Doxygen.getDefault();
-        Doxygen.getDefault();
-        setName("Doxygen Build [" + command + " " + (doBuildType ? Doxygen.getCommandOptionBuild() : Doxygen.getCommandOptionUpdate()) + " " + doxyfile.getFullPath() + "]");
+        if (doBuildType && configuration != null) {
+            setName("Doxygen Build [" + command + " " + Doxygen.getCommandOptionBuild() + " " + Doxygen.getCommandOptionStdin() + " < " + doxyfile.getFullPath() + " (unsaved)]");
+        } else {
+            setName("Doxygen Build [" + command + " " + (doBuildType ? Doxygen.getCommandOptionBuild() : Doxygen.getCommandOptionUpdate()) + " " + doxyfile.getFullPath() + "]");
+        }
+    }
+
+    /**
+     * Lets the next build pipe the given doxyfile to doxygen, instead of letting
+     * doxygen read the doxyfile saved on disk. The doxyfile is serialized right
+     * away, so later changes do not affect the build.
+     *
+     * @param   source      the doxyfile to build, like the one of an editor with unsaved changes
+     * @param   overrides   the values of the settings to override for this build only, by identifier, or null
+     */
+    public void setConfiguration(Doxyfile source, Map<String, String> overrides) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Charset charset;
+        String pipedOutputDirectory;
+        synchronized (source) {
+            Serializer serializer = new Serializer(source, "\n", ListSeparateMode.listSeparateModeDoNotChange, TagFormat.tagFormatDoNotChange);
+            serializer.writeTo(Channels.newChannel(output));
+            charset = serializer.getCharset();
+            Setting outputSetting = source.getSetting(Doxyfile.OUTPUT_DIRECTORY);
+            pipedOutputDirectory = (outputSetting != null) ? outputSetting.getValue() : null;
+        }
+
+        // Appends the overrides, later assignments replacing earlier ones in doxygen.
+        if (overrides != null && overrides.isEmpty() == false) {
+            StringBuilder text = new StringBuilder("\n");
+            for (Map.Entry<String, String> override : overrides.entrySet()) {
+                text.append(override.getKey()).append(" = ").append(override.getValue()).append('\n');
+            }
+            output.write(text.toString().getBytes(charset));
+            if (overrides.containsKey(Doxyfile.OUTPUT_DIRECTORY)) {
+                pipedOutputDirectory = overrides.get(Doxyfile.OUTPUT_DIRECTORY);
+            }
+        }
+        configuration = output.toByteArray();
+        outputDirectory = pipedOutputDirectory;
+        updateJobName();
     }
 
     /**
@@ -408,7 +469,10 @@ public class BuildJob extends Job {
     Process createBuildProcess() throws InvokeException, RunException {
         IFile doxyIFile = getDoxyfile().getIFile();
         File doxyFile = getDoxyfile().getFile();
-        if (doBuildType) {
+        if (doBuildType && configuration != null) {
+            File directory = (doxyIFile != null) ? doxyIFile.getLocation().toFile().getParentFile() : doxyFile.getAbsoluteFile().getParentFile();
+            return Doxygen.getDefault().build(configuration, directory);
+        } else if (doBuildType) {
             if (doxyIFile != null) {
                 return Doxygen.getDefault().build(doxyIFile);
             } else {
@@ -423,13 +487,43 @@ public class BuildJob extends Job {
         }
     }
 
+    /**
+     * Upgrades the doxyfile in process and logs the obsolete settings like doxygen
+     * does, so they get marked.
+     *
+     * @param   upgrader    the upgrader describing the settings of the doxygen in use
+     *
+     * @throws  RunException    when the doxyfile could not be upgraded
+     */
+    private void upgradeDoxyfile(DoxyfileUpgrader upgrader) throws RunException {
+        IFile doxyIFile = getDoxyfile().getIFile();
+        File doxyFile = (doxyIFile != null) ? doxyIFile.getLocation().toFile() : getDoxyfile().getFile();
+        DoxyfileUpgrader.Result result = upgrader.upgradeFile((doxyIFile != null) ? doxyIFile : doxyFile);
+        if (result.isOK() == false) {
+            throw new RunException(String.valueOf(result.getError().getMessage()));
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (Setting setting : result.getObsoleteSettings()) {
+            text.append("warning: Tag `").append(setting.getIdentifier()).append("' at line ")
+                .append(setting.getFirstLine()).append(" of file `").append(doxyFile.getAbsolutePath())
+                .append("' has become obsolete.\n");
+        }
+        text.append("Upgraded ").append(doxyfile.getFullPath()).append(": ")
+            .append(result.getAddedSettings().size()).append(" setting(s) added.\n");
+        log.append(text);
+        fireLogUpdated(text.toString());
+    }
+
     private void refreshFiles(IFile doxyIFile, SubMonitor subMonitor) throws CoreException, FileNotFoundException, IOException {
         if (doxyIFile != null) {
             if (doBuildType) {
                 // Refreshes the container that has received the documentation outputs.
-                Doxyfile parsedDoxyfile = getDoxyfile();
-                parsedDoxyfile.load();
-                IContainer outputContainer = parsedDoxyfile.getOutputContainer();
+                // Piped builds use the output directory they have been given, others
+                // only read the output directory of the saved doxyfile.
+                IContainer outputContainer = (configuration != null && outputDirectory != null)
+                        ? getDoxyfile().getOutputContainer(outputDirectory)
+                        : getDoxyfile().readOutputContainer();
                 if (outputContainer != null) {
                     outputContainer.refreshLocal(IResource.DEPTH_INFINITE,
                             SubMonitor.convert(subMonitor, "Refresh doxygen output folder...", 1));
@@ -458,6 +552,17 @@ public class BuildJob extends Job {
             // Locks access to the doxyfile
             lockBuildFile(doxyIFile, subMonitor);
 
+            // Upgrades the doxyfile without doxygen when its template or the setting schema describes its version.
+            DoxyfileUpgrader upgrader = (doBuildType == false) ? Doxygen.getDefault().getUpgrader() : null;
+            if (upgrader != null) {
+                upgradeDoxyfile(upgrader);
+                subMonitor.worked(2);
+                doxyIFile = releaseBuildFile(doxyIFile);
+                createMarkers(subMonitor);
+                subMonitor.done();
+                return Status.OK_STATUS;
+            }
+
             // Creates the doxygen build process and log feeders.
             Process buildProcess = createBuildProcess();
 
@@ -534,7 +639,7 @@ public class BuildJob extends Job {
         // Searches documentation errors and warnings.
         matcher = problemPattern.matcher(log);
         while (matcher.find() == true) {
-            Path resourcePath = new Path(matcher.group(1));
+            Path resourcePath = getResourcePath(matcher.group(1));
             Integer lineNumer = new Integer(matcher.group(2));
             int severity = Marker.toMarkerSeverity(matcher.group(3));
             String message = new String(matcher.group(4));
@@ -548,12 +653,29 @@ public class BuildJob extends Job {
             String message = new String(matcher.group(0));
             String setting = new String(matcher.group(1));
             Integer lineNumer = new Integer(matcher.group(2));
-            Path resourcePath = new Path(matcher.group(3));
+            Path resourcePath = getResourcePath(matcher.group(3));
             createMarkersForResource(resourcePath, setting, lineNumer, IMarker.SEVERITY_WARNING, message);
         }
         matcher = null;
     }
 
+    /**
+     * Retrieves the path of the resource named in the log, the doxyfile when doxygen
+     * read the configuration from the standard input.
+     *
+     * @param   name    a string containing the file name given by doxygen
+     *
+     * @return  a path
+     */
+    private Path getResourcePath(String name) {
+        if (configuration != null && name.equals(Doxygen.getCommandOptionStdin())) {
+            IFile doxyIFile = getDoxyfile().getIFile();
+            File doxyFile = (doxyIFile != null) ? doxyIFile.getLocation().toFile() : getDoxyfile().getFile();
+            return new Path(doxyFile.getAbsolutePath());
+        }
+        return new Path(name);
+    }
+
     private void createMarkersForResource(Path resourcePath, String setting, Integer lineNumer, int severity,
             String message) throws CoreException {
         if (resourcePath != null) {
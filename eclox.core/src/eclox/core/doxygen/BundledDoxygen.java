@@ -20,7 +20,9 @@ package eclox.core.doxygen;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Vector;
 
 import org.eclipse.core.runtime.FileLocator;
@@ -40,6 +42,11 @@ public final class BundledDoxygen extends Doxygen {
      */
     private URL url;
 
+    /**
+     * the URLs of the bundled doxygen binaries, or null until collected
+     */
+    private static List<URL> bundledUrls;
+
     /**
      * Constructor
      */
@@ -61,6 +68,23 @@ public final class BundledDoxygen extends Doxygen {
      */
     public static Collection<BundledDoxygen> getAll() {
         Collection<BundledDoxygen> doxygens = new Vector<BundledDoxygen>();
+        for (URL url : getBundledUrls()) {
+            doxygens.add(new BundledDoxygen(url));
+        }
+        return doxygens;
+    }
+
+    /**
+     * Retrieves the URLs of the bundled doxygen binaries, collected once since
+     * it extracts the binaries and makes them executable.
+     *
+     * @return  a list of URLs
+     */
+    private static synchronized List<URL> getBundledUrls() {
+        if (bundledUrls != null) {
+            return bundledUrls;
+        }
+        List<URL> urls = new ArrayList<URL>();
         IExtensionRegistry registry = Platform.getExtensionRegistry();
         IExtensionPoint point = registry.getExtensionPoint("org.gna.eclox.core.doxygen");
         IExtension[] extensions = point.getExtensions();
@@ -91,7 +115,7 @@ public final class BundledDoxygen extends Doxygen {
                         if (!exe.canExecute()) {
                             exe.setExecutable(true);
                         }
-                        doxygens.add(new BundledDoxygen(new URL(url.toString() + fileName)));
+                        urls.add(new URL(url.toString() + fileName));
                     } catch (IOException e) {
                         //Plugin.getDefault().logError( path + ": not a valid doxygen path." );
                         Plugin.log(e);
@@ -99,7 +123,8 @@ public final class BundledDoxygen extends Doxygen {
                 }
             }
         }
-        return doxygens;
+        bundledUrls = urls;
+        return bundledUrls;
     }
 
     @Override
@@ -138,6 +163,7 @@ public final class BundledDoxygen extends Doxygen {
         assert (location.length() != 0);
         try {
             this.url = new URL(location);
+            invalidateLaunchContext();
         } catch (Throwable t) {
             Plugin.log(t);
         }
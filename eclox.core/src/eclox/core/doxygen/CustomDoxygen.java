@@ -90,6 +90,7 @@ public final class CustomDoxygen extends Doxygen {
         assert (location != null);
         assert (location.length() != 0);
         this.location = new String(location);
+        invalidateLaunchContext();
     }
 
     /**
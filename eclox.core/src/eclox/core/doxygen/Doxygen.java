@@ -26,28 +26,20 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IPreferencesService;
 import org.eclipse.core.runtime.preferences.InstanceScope;
-import org.eclipse.core.variables.IDynamicVariable;
-import org.eclipse.core.variables.IStringVariable;
-import org.eclipse.core.variables.IStringVariableManager;
-import org.eclipse.core.variables.IValueVariable;
-import org.eclipse.core.variables.VariablesPlugin;
 
 import eclox.core.IPreferences;
 import eclox.core.Plugin;
+import eclox.core.doxyfiles.DoxyfileUpgrader;
 
 /**
  * Implements the abstract doxygen frontend. Sub-classes provides concret
@@ -77,15 +69,47 @@ public abstract class Doxygen {
      */
     protected final static String COMMAND_OPTION_UPDATE = "-u";
 
+    /**
+     * a string containing the configuration file name making doxygen read the
+     * configuration from the standard input
+     */
+    protected final static String COMMAND_OPTION_STDIN = "-";
+
     /**
      * a string containing command option for 'generate'
      */
     protected final static String COMMAND_OPTION_GENERATE = "-g";
 
+    /**
+     * the default doxygen instance, or null when it must be retrieved again
+     */
+    private static Doxygen defaultDoxygen;
+
+    /**
+     * tells if the default doxygen has been retrieved, even if none matched
+     */
+    private static boolean defaultDoxygenKnown = false;
+
+    /**
+     * the listener forgetting the default doxygen once its preference changes, or null when not registered
+     */
+    private static IEclipsePreferences.IPreferenceChangeListener preferenceListener;
+
+    /**
+     * the launch context, or null when it must be resolved again
+     */
+    private volatile LaunchContext launchContext;
+
     /**
      * Retrieves the default doxygen instance to use.
+     *
+     * The instance is kept until the default doxygen preference changes.
      */
-    public static Doxygen getDefault() {
+    public static synchronized Doxygen getDefault() {
+        if (defaultDoxygenKnown == true) {
+            return defaultDoxygen;
+        }
+
         Doxygen doxygen = null;
         // get the actual default preference store
         //final String identifier  = Plugin.getDefault().getPluginPreferences().getString( IPreferences.DEFAULT_DOXYGEN );
@@ -105,9 +129,41 @@ public abstract class Doxygen {
             if (doxygen != null)
                 break;
         }
+
+        // Listens to the preference, so the default doxygen is retrieved again once changed.
+        if (preferenceListener == null) {
+            preferenceListener = new IEclipsePreferences.IPreferenceChangeListener() {
+                public void preferenceChange(IEclipsePreferences.PreferenceChangeEvent event) {
+                    if (IPreferences.DEFAULT_DOXYGEN.equals(event.getKey())) {
+                        synchronized (Doxygen.class) {
+                            defaultDoxygen = null;
+                            defaultDoxygenKnown = false;
+                        }
+                    }
+                }
+            };
+            instanceNode.addPreferenceChangeListener(preferenceListener);
+            defaultNode.addPreferenceChangeListener(preferenceListener);
+        }
+        defaultDoxygen = doxygen;
+        defaultDoxygenKnown = true;
         return doxygen;
     }
 
+    /**
+     * Forgets the default doxygen and stops listening to preference changes.
+     */
+    public static synchronized void disposeDefault() {
+        if (preferenceListener != null) {
+            final String PLUGIN_ID = Plugin.getDefault().getBundle().getSymbolicName();
+            InstanceScope.INSTANCE.getNode(PLUGIN_ID).removePreferenceChangeListener(preferenceListener);
+            DefaultScope.INSTANCE.getNode(PLUGIN_ID).removePreferenceChangeListener(preferenceListener);
+            preferenceListener = null;
+        }
+        defaultDoxygen = null;
+        defaultDoxygenKnown = false;
+    }
+
     public static Doxygen getFromClassAndIdentifier(Class<? extends Doxygen> doxygenClass, String identifier) {
         Doxygen doxygen = null;
         if (identifier.startsWith(doxygenClass.getName())) {
@@ -128,147 +184,51 @@ public abstract class Doxygen {
         return doxygen;
     }
 
-    private String resolveOneVariable(String key, IStringVariableManager variableManager, boolean dynamicAllowed) {
-        if (key != null) {
-            if (variableManager == null) {
-                variableManager = VariablesPlugin.getDefault().getStringVariableManager();
-            }
-            if (variableManager != null) {
-                // static variable
-                IValueVariable staticVar = variableManager.getValueVariable(key);
-                if (staticVar != null) {
-                    return staticVar.getValue();
-                }
-                // dynamic variable
-                else if (dynamicAllowed) {
-                    String varName = key;
-                    String valuePar = null;
-                    // check if parameterized and get parameter
-                    int index = key.indexOf(':');
-                    if (index > 1) {
-                        varName = key.substring(0, index);
-                        if (key.length() > index + 1)
-                            valuePar = key.substring(index + 1);
-                    }
-                    // get dynamic variable
-                    IDynamicVariable dynVar = variableManager.getDynamicVariable(varName);
-                    if (dynVar == null)
-                        return null;
-                    try {
-                        return dynVar.getValue(valuePar);
-                    } catch (CoreException e) {
-                        return null;
-                    }
-                }
-            }
-        }
-        return null;
-    }
-
-    private void resolveAllVariables(Map<String, String> varMap) {
-        IStringVariableManager variableManager = VariablesPlugin.getDefault().getStringVariableManager();
-        for (IStringVariable strVar : variableManager.getVariables()) {
-            String name = strVar.getName();
-            if (name != null && !name.isEmpty()) {
-                String value = resolveOneVariable(name, variableManager, false);
-                if (value != null) {
-                    varMap.put(name, value);
-                }
-            }
-        }
-    }
-
-    private void addAllVarsToEnvironment(Map<String, String> env) {
-        Map<String, String> resolvedVars = new HashMap<String, String>();
-        resolveAllVariables(resolvedVars);
-        env.putAll(resolvedVars);
-    }
-
-    /*
-    private void addEcloxVarsToEnvironment(Map<String, String> env) {
-        List<String> vars = new ArrayList<String>();
-        vars.add("GRAPHVIZ_PATH");
-        for (String name : vars) {
-            if (name != null && !name.isEmpty())
-            {
-                String value = resolveOneVariable(name, null, true);
-                if (value != null) {
-                    env.put(name, value);
-                }
-            }
+    /**
+     * Retrieves the context doxygen is launched with, resolved once until the
+     * location or the Eclipse value variables change.
+     *
+     * @return  the launch context
+     */
+    public LaunchContext getLaunchContext() {
+        LaunchContext context = this.launchContext;
+        if (context == null || context.isUpToDate() == false) {
+            context = new LaunchContext(getCommand(), getCommandFolder());
+            this.launchContext = context;
         }
+        return context;
     }
-    */
-
-    private void setEnvironment(ProcessBuilder pb) {
-    	// get passed system environment
-        Map<String, String> envs = pb.environment();
-        /*
-         * the library search path environment variable name differs between different systems:
-         * Windows: PATH
-         * Linux  : LD_LIBRARY_PATH
-         */
-        String commandFolder = getCommandFolder();
-        if ((commandFolder != null) && !commandFolder.isEmpty()) {
-            envs.put("PATH", commandFolder + File.pathSeparator + System.getenv("PATH"));
-            envs.put("LD_LIBRARY_PATH", commandFolder + File.pathSeparator + System.getenv("LD_LIBRARY_PATH"));
-        }
 
-        // add own variables, like GRAPHVIZ_PATH etc.
-        //addEcloxVarsToEnvironment(envs);
-        // add all defined variables
-        addAllVarsToEnvironment(envs);
+    /**
+     * Forgets the launch context, so it is resolved again on next launch.
+     */
+    protected void invalidateLaunchContext() {
+        this.launchContext = null;
     }
 
-    private Process createProcess(List<String> command, File workingDir) throws IOException {
-        ProcessBuilder pb = new ProcessBuilder(command);
-        setEnvironment(pb);
-        if ((workingDir != null) && workingDir.exists()) {
-        	pb.directory(workingDir);
-        }
-        return pb.start();
+    Process createProcess(List<String> command, File workingDir) throws IOException {
+        return getLaunchContext().createProcessBuilder(command, workingDir).start();
     }
 
 	/**
-     * Retrieves the version string of wrapped doxygen.
+     * Retrieves the version string of wrapped doxygen, from the installation
+     * registry when the binary has already been probed.
      *
      * @return	a string containing the doxygen version string
      */
     public String getVersion() {
-        try {
-        	List<String> command = new ArrayList<String>();
-        	command.add(getCommand());
-        	command.add(COMMAND_OPTION_HELP);
-        	Process process = createProcess(command, null);
-            process.waitFor();
-
-            BufferedReader input = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            BufferedReader error = new BufferedReader(new InputStreamReader(process.getErrorStream()));
-
-            // matches the doxygen welcome message
-            Pattern pattern = Pattern.compile("^doxygen\\s+version\\s+([\\d\\.]+).*",
-                    Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
-            Matcher matcher = null;
-            String inputLine = input.readLine();
-
-            if (inputLine != null && inputLine.length() > 0) {
-                matcher = pattern.matcher(inputLine);
-            }
+        DoxygenRegistry.Installation installation = getInstallation();
+        return (installation != null) ? installation.getVersion() : null;
+    }
 
-            if (matcher != null && matcher.matches()) {
-                return matcher.group(1);
-            } else {
-                String errorMessage = new String();
-                String line;
-                while ((line = error.readLine()) != null) {
-                    errorMessage = errorMessage.concat(line);
-                }
-                throw new RuntimeException("Unable to get doxygen version: " + errorMessage);
-            }
-        } catch (Throwable t) {
-            Plugin.log(t);
-            return null;
-        }
+    /**
+     * Retrieves the installation of the wrapped doxygen, probing its binary when
+     * it is not known by the installation registry or changed since.
+     *
+     * @return  the installation, or null when the doxygen binary cannot be found
+     */
+    public DoxygenRegistry.Installation getInstallation() {
+        return DoxygenRegistry.getDefault().getInstallation(this);
     }
 
     /**
@@ -285,11 +245,10 @@ public abstract class Doxygen {
         }
         try {
         	// create process with doxygen command
-        	List<String> command = new ArrayList<String>();
-        	command.add(getCommand());
-        	command.add(commandOption);
-        	command.add(file.getCanonicalPath());
-        	return createProcess(command, file.getParentFile().getAbsoluteFile());
+        	List<String> arguments = new ArrayList<String>();
+        	arguments.add(commandOption);
+        	arguments.add(file.getCanonicalPath());
+        	return getLaunchContext().start(arguments, file.getParentFile().getAbsoluteFile());
         } catch (IOException ioException) {
             throw new InvokeException(ioException);
         }
@@ -317,6 +276,53 @@ public abstract class Doxygen {
         return run(file, true, COMMAND_OPTION_BUILD);
     }
 
+    /**
+     * Launch a documentation build reading the configuration from the standard
+     * input, so unsaved configurations can be built without writing any file.
+     *
+     * @param   configuration   the content of the doxygen configuration, encoded like a doxyfile
+     * @param   directory       the directory relative paths of the configuration are resolved against
+     *
+     * @return  The process that run the build.
+     */
+    public Process build(final byte[] configuration, File directory) throws InvokeException, RunException {
+        DoxygenRegistry.Installation installation = getInstallation();
+        if (installation != null && installation.getVersion() != null
+                && installation.hasCapability(DoxygenRegistry.STDIN_CAPABILITY) == false) {
+            throw new RunException("Doxygen " + installation.getVersion() + " cannot read its configuration from the standard input.");
+        }
+        try {
+            List<String> arguments = new ArrayList<String>();
+            arguments.add(COMMAND_OPTION_BUILD);
+            arguments.add(COMMAND_OPTION_STDIN);
+            final Process process = getLaunchContext().start(arguments, directory);
+
+            // Feeds the configuration from another thread, so the caller can read the output meanwhile.
+            Thread feeder = new Thread(new Runnable() {
+                public void run() {
+                    OutputStream output = process.getOutputStream();
+                    try {
+                        output.write(configuration);
+                        output.flush();
+                    } catch (IOException exception) {
+                        // Doxygen stopped reading, its output tells why.
+                    } finally {
+                        try {
+                            output.close();
+                        } catch (IOException exception) {
+                            // Nothing more to feed.
+                        }
+                    }
+                }
+            }, "Doxygen configuration feeder");
+            feeder.setDaemon(true);
+            feeder.start();
+            return process;
+        } catch (IOException ioException) {
+            throw new InvokeException(ioException);
+        }
+    }
+
     /**
      * Generate an empty configuration file.
      *
@@ -332,13 +338,42 @@ public abstract class Doxygen {
         }
     }
 
+    /**
+     * Retrieves the upgrader bringing doxyfiles to the settings of the wrapped
+     * doxygen, built from its cached template. Without template, the setting schema
+     * is used when it describes the doxygen version.
+     *
+     * @return  the upgrader, or null when doxygen must upgrade doxyfiles itself
+     */
+    public DoxyfileUpgrader getUpgrader() {
+        try {
+            TemplateCache.Template template = TemplateCache.getDefault().getTemplate(this);
+            if (template != null) {
+                return template.getUpgrader();
+            }
+        } catch (InvokeException | RunException | IOException exception) {
+            Plugin.log(exception);
+        }
+        return DoxyfileUpgrader.isSupported(getVersion()) ? DoxyfileUpgrader.getDefault() : null;
+    }
+
     /**
      * Generate an empty configuration file.
      *
      * @param   file    the configuration file to generate.
      */
     public void generate(File file) throws InvokeException, RunException {
-        run_local(file, false, COMMAND_OPTION_GENERATE);
+        // Writes the cached template, so doxygen only runs once per version.
+        TemplateCache.Template template = TemplateCache.getDefault().getTemplate(this);
+        if (template != null) {
+            try {
+                template.writeTo(file);
+            } catch (IOException ioException) {
+                throw new RunException(ioException.toString());
+            }
+        } else {
+            run_local(file, false, COMMAND_OPTION_GENERATE);
+        }
     }
 
     /**
@@ -390,10 +425,21 @@ public abstract class Doxygen {
     /**
      * Launch update for configuration file.
      *
+     * The file is upgraded without running doxygen when the template or the setting
+     * schema describes the doxygen version. Otherwise, doxygen upgrades the file itself.
+     *
      * @param   file   the configuration file to update.
      */
     public void updateLocal(File file) throws InvokeException, RunException {
-        run_local(file, true, COMMAND_OPTION_UPDATE);
+        DoxyfileUpgrader upgrader = getUpgrader();
+        if (upgrader != null) {
+            DoxyfileUpgrader.Result result = upgrader.upgradeFile(file);
+            if (result.isOK() == false) {
+                throw new RunException(String.valueOf(result.getError().getMessage()));
+            }
+        } else {
+            run_local(file, true, COMMAND_OPTION_UPDATE);
+        }
     }
 
     /**
@@ -430,10 +476,53 @@ public abstract class Doxygen {
         return COMMAND_OPTION_UPDATE;
     }
 
+    public static String getCommandOptionStdin() {
+        return COMMAND_OPTION_STDIN;
+    }
+
     public static String getCommandOptionGenerate() {
         return COMMAND_OPTION_GENERATE;
     }
 
+    /**
+     * Retrieves the doxygen binary file, searched in the command folder and in the
+     * path when the command is not absolute.
+     *
+     * @return  the binary file, or null when not found
+     */
+    public File getCommandFile() {
+        LaunchContext context = getLaunchContext();
+        String command = context.getCommand();
+        if (command == null || command.isEmpty()) {
+            return null;
+        }
+        File file = new File(command);
+        if (file.isAbsolute()) {
+            return file.isFile() ? file : null;
+        }
+
+        List<String> folders = new ArrayList<String>();
+        String commandFolder = context.getCommandFolder();
+        if (commandFolder.isEmpty() == false) {
+            folders.add(commandFolder);
+        }
+        String path = System.getenv("PATH");
+        if (path != null) {
+            for (String folder : path.split(File.pathSeparator)) {
+                folders.add(folder);
+            }
+        }
+        for (String folder : folders) {
+            for (String name : new String[] { command, command + ".exe" }) {
+                file = new File(folder, name);
+                if (file.isFile()) {
+                    return file;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Updates the location of the custom doxygen.
      */
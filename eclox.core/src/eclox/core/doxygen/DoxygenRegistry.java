@@ -0,0 +1,561 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxygen;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import eclox.core.Plugin;
+
+/**
+ * Implements the registry of the known doxygen installations.
+ *
+ * Each doxygen binary is probed once with <code>doxygen --help</code> to get its
+ * version and the command options it supports. The results are stored in the
+ * plug-in state location along with the modification time and the size of the
+ * binary, so they survive restarts and a binary is only probed again once it
+ * changed. Several binaries are probed concurrently.
+ */
+public class DoxygenRegistry {
+
+    /**
+     * the name of the registry file in the plug-in state location
+     */
+    private static final String REGISTRY_FILE = "doxygens.properties";
+
+    /**
+     * the capability of reading the configuration from the standard input
+     */
+    public static final String STDIN_CAPABILITY = "-";
+
+    /**
+     * the pattern matching the version line of the help
+     */
+    private static final Pattern VERSION_PATTERN = Pattern.compile("^doxygen\\s+version\\s+([\\d\\.]+).*", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /**
+     * the pattern matching the usage lines of the help
+     */
+    private static final Pattern USAGE_PATTERN = Pattern.compile("^\\s*doxygen\\s+(.*)$");
+
+    /**
+     * the pattern matching the command options of a usage line
+     */
+    private static final Pattern OPTION_PATTERN = Pattern.compile("(?<![\\w-])-[A-Za-z]\\w*");
+
+    /**
+     * the pattern matching the help sentence about the standard input
+     */
+    private static final Pattern STDIN_PATTERN = Pattern.compile("standard\\s+input", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * the shared registry instance, created on first use
+     */
+    private static DoxygenRegistry defaultRegistry;
+
+    /**
+     * Implements a probed doxygen installation.
+     */
+    public static class Installation {
+
+        /**
+         * the doxygen binary
+         */
+        private final File binary;
+
+        /**
+         * the modification time of the binary when probed
+         */
+        private final long lastModified;
+
+        /**
+         * the size of the binary when probed
+         */
+        private final long size;
+
+        /**
+         * the version, or null when unknown
+         */
+        private final String version;
+
+        /**
+         * the supported command options
+         */
+        private final Set<String> capabilities;
+
+        /**
+         * Constructor
+         */
+        Installation(File binary, long lastModified, long size, String version, Set<String> capabilities) {
+            this.binary = binary;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.version = version;
+            this.capabilities = Collections.unmodifiableSet(capabilities);
+        }
+
+        /**
+         * Retrieves the doxygen binary.
+         *
+         * @return  the binary file
+         */
+        public File getBinary() {
+            return binary;
+        }
+
+        /**
+         * Retrieves the modification time of the binary when it has been probed.
+         *
+         * @return  a time in milliseconds
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Retrieves the size of the binary when it has been probed.
+         *
+         * @return  a size in bytes
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Retrieves the version of the installation.
+         *
+         * @return  a string containing the version, or null when the binary could not tell it
+         */
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * Retrieves the command options supported by the installation, like <code>-u</code>
+         * or <code>-x</code>, and {@link DoxygenRegistry#STDIN_CAPABILITY} when the
+         * configuration can be read from the standard input.
+         *
+         * @return  an unmodifiable set of strings
+         */
+        public Set<String> getCapabilities() {
+            return capabilities;
+        }
+
+        /**
+         * Tells if the installation supports the given capability.
+         *
+         * @param   capability  a string containing a command option
+         *
+         * @return  true or false
+         */
+        public boolean hasCapability(String capability) {
+            return capabilities.contains(capability);
+        }
+
+        /**
+         * Tells if the given binary is still the one that has been probed.
+         *
+         * @param   binary  a doxygen binary
+         *
+         * @return  true or false
+         */
+        boolean isUpToDate(File binary) {
+            return binary.lastModified() == lastModified && binary.length() == size;
+        }
+
+        /**
+         * Converts the installation into a registry entry.
+         *
+         * @return  a string containing the modification time, the size, the version and the capabilities
+         */
+        String toEntry() {
+            StringBuilder entry = new StringBuilder();
+            entry.append(lastModified).append(':').append(size).append(':').append((version != null) ? version : "").append(':');
+            boolean first = true;
+            for (String capability : capabilities) {
+                if (first == false) {
+                    entry.append(' ');
+                }
+                entry.append(capability);
+                first = false;
+            }
+            return entry.toString();
+        }
+
+        /**
+         * Creates an installation from a registry entry.
+         *
+         * @param   binary  the doxygen binary
+         * @param   entry   a string containing the registry entry
+         *
+         * @return  an installation, or null when the entry is invalid or has no version
+         */
+        static Installation fromEntry(File binary, String entry) {
+            String[] fields = entry.split(":", 4);
+            if (fields.length != 4 || fields[2].isEmpty()) {
+                return null;
+            }
+            try {
+                Set<String> capabilities = new TreeSet<String>();
+                for (String capability : fields[3].split(" ")) {
+                    if (capability.isEmpty() == false) {
+                        capabilities.add(capability);
+                    }
+                }
+                return new Installation(binary, Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2], capabilities);
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * the registry file
+     */
+    private final File file;
+
+    /**
+     * the known installations, by absolute binary path, or null until read
+     */
+    private Map<String, Installation> installations;
+
+    /**
+     * the installations whose probe failed, by absolute binary path, only kept in
+     * memory so they are probed again once the binary changed or after a restart
+     */
+    private final Map<String, Installation> failures = new HashMap<String, Installation>();
+
+    /**
+     * the locks serializing the probes of each binary, by absolute binary path
+     */
+    private final Map<String, Object> probeLocks = new HashMap<String, Object>();
+
+    /**
+     * Retrieves the shared registry, stored in the state location of the plug-in.
+     *
+     * @return  the shared registry
+     */
+    public static synchronized DoxygenRegistry getDefault() {
+        if (defaultRegistry == null) {
+            defaultRegistry = new DoxygenRegistry(Plugin.getDefault().getStateLocation().append(REGISTRY_FILE).toFile());
+        }
+        return defaultRegistry;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param   file    the registry file
+     */
+    public DoxygenRegistry(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Retrieves the installation of the given doxygen, probing its binary when it
+     * is not known yet or changed since.
+     *
+     * @param   doxygen a doxygen wrapper
+     *
+     * @return  the installation, or null when the doxygen binary cannot be found
+     */
+    public Installation getInstallation(Doxygen doxygen) {
+        File binary = doxygen.getCommandFile();
+        if (binary == null) {
+            return null;
+        }
+        Installation installation = getCachedInstallation(binary);
+        if (installation == null) {
+            installation = probe(doxygen, binary);
+            if (installation.getVersion() != null) {
+                store();
+            }
+        }
+        return installation;
+    }
+
+    /**
+     * Retrieves the known installation of the given binary, without probing it.
+     *
+     * @param   binary  a doxygen binary
+     *
+     * @return  the installation, without version when its probe failed, or null when
+     *          the binary is not probed yet or changed since
+     */
+    public synchronized Installation getCachedInstallation(File binary) {
+        String path = binary.getAbsolutePath();
+        Installation installation = getInstallations().get(path);
+        if (installation == null) {
+            installation = failures.get(path);
+        }
+        return (installation != null && installation.isUpToDate(binary)) ? installation : null;
+    }
+
+    /**
+     * Probes the binaries of the given doxygens in the background, concurrently,
+     * unless they are already known.
+     *
+     * @param   doxygens    a collection of doxygen wrappers
+     *
+     * @return  the scheduled job, to follow its completion
+     */
+    public Job probe(final Collection<? extends Doxygen> doxygens) {
+        final Collection<Doxygen> candidates = new ArrayList<Doxygen>(doxygens);
+        Job job = new Job("Probing doxygen installations") {
+            protected IStatus run(IProgressMonitor monitor) {
+                probeAll(candidates);
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+        return job;
+    }
+
+    /**
+     * Probes the binaries of the given doxygens concurrently, unless they are
+     * already known, and stores the results.
+     *
+     * @param   doxygens    a collection of doxygen wrappers
+     */
+    public void probeAll(Collection<? extends Doxygen> doxygens) {
+        // Collects the binaries to probe, once each.
+        Map<String, Callable<Installation>> probes = new LinkedHashMap<String, Callable<Installation>>();
+        for (final Doxygen doxygen : doxygens) {
+            final File binary = doxygen.getCommandFile();
+            if (binary != null && probes.containsKey(binary.getAbsolutePath()) == false && getCachedInstallation(binary) == null) {
+                probes.put(binary.getAbsolutePath(), new Callable<Installation>() {
+                    public Installation call() {
+                        return probe(doxygen, binary);
+                    }
+                });
+            }
+        }
+        if (probes.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(probes.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            executor.invokeAll(probes.values());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        store();
+    }
+
+    /**
+     * Forgets all known installations, so they are probed again.
+     */
+    public synchronized void clear() {
+        installations = new HashMap<String, Installation>();
+        failures.clear();
+        file.delete();
+    }
+
+    /**
+     * Probes the given binary, unless another thread just did it, and registers
+     * the result. Failed probes are only remembered in memory and interrupted
+     * probes are not remembered at all, so neither is stored in the registry file.
+     *
+     * @param   doxygen a doxygen wrapper, giving the process environment
+     * @param   binary  the doxygen binary
+     *
+     * @return  the installation
+     */
+    private Installation probe(Doxygen doxygen, File binary) {
+        String path = binary.getAbsolutePath();
+        Object lock;
+        synchronized (this) {
+            lock = probeLocks.get(path);
+            if (lock == null) {
+                lock = new Object();
+                probeLocks.put(path, lock);
+            }
+        }
+        synchronized (lock) {
+            Installation installation = getCachedInstallation(binary);
+            if (installation == null) {
+                // Takes the stamp first, so a binary replaced meanwhile is probed again.
+                long lastModified = binary.lastModified();
+                long size = binary.length();
+                Set<String> capabilities = new TreeSet<String>();
+                String version = runHelp(doxygen, binary, capabilities);
+                installation = new Installation(binary, lastModified, size, version, capabilities);
+                synchronized (this) {
+                    if (version != null) {
+                        getInstallations().put(path, installation);
+                        failures.remove(path);
+                    } else if (Thread.currentThread().isInterrupted() == false) {
+                        failures.put(path, installation);
+                    }
+                }
+            }
+            return installation;
+        }
+    }
+
+    /**
+     * Runs <code>doxygen --help</code> and parses its output.
+     *
+     * @param   doxygen         a doxygen wrapper, giving the process environment
+     * @param   binary          the doxygen binary
+     * @param   capabilities    the set receiving the supported command options
+     *
+     * @return  a string containing the version, or null when unknown
+     */
+    private static String runHelp(Doxygen doxygen, File binary, Set<String> capabilities) {
+        try {
+            List<String> command = new ArrayList<String>();
+            command.add(binary.getAbsolutePath());
+            command.add(Doxygen.getCommandOptionHelp());
+            Process process = doxygen.createProcess(command, null);
+            process.getOutputStream().close();
+
+            // Reads the whole output before waiting, so doxygen never blocks on a full pipe.
+            String version = null;
+            BufferedReader input = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            try {
+                String line;
+                boolean firstLine = true;
+                while ((line = input.readLine()) != null) {
+                    if (firstLine == true) {
+                        Matcher matcher = VERSION_PATTERN.matcher(line);
+                        if (matcher.matches()) {
+                            version = matcher.group(1);
+                        }
+                        firstLine = false;
+                    }
+                    Matcher usage = USAGE_PATTERN.matcher(line);
+                    if (usage.matches()) {
+                        Matcher option = OPTION_PATTERN.matcher(usage.group(1));
+                        while (option.find()) {
+                            capabilities.add(option.group());
+                        }
+                    }
+                    if (STDIN_PATTERN.matcher(line).find()) {
+                        capabilities.add(STDIN_CAPABILITY);
+                    }
+                }
+            } finally {
+                input.close();
+            }
+
+            String errorMessage = new String();
+            BufferedReader error = new BufferedReader(new InputStreamReader(process.getErrorStream()));
+            try {
+                String line;
+                while ((line = error.readLine()) != null) {
+                    errorMessage = errorMessage.concat(line);
+                }
+            } finally {
+                error.close();
+            }
+            process.waitFor();
+            if (version == null) {
+                throw new RuntimeException("Unable to get doxygen version: " + errorMessage);
+            }
+            return version;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Throwable t) {
+            Plugin.log(t);
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the known installations, reading the registry file on first use.
+     *
+     * @return  a map of installations by absolute binary path
+     */
+    private Map<String, Installation> getInstallations() {
+        if (installations == null) {
+            installations = new HashMap<String, Installation>();
+            if (file.isFile()) {
+                Properties properties = new Properties();
+                try {
+                    InputStream input = new FileInputStream(file);
+                    try {
+                        properties.load(input);
+                    } finally {
+                        input.close();
+                    }
+                } catch (IOException exception) {
+                    Plugin.log(exception);
+                }
+                for (String path : properties.stringPropertyNames()) {
+                    Installation installation = Installation.fromEntry(new File(path), properties.getProperty(path));
+                    if (installation != null) {
+                        installations.put(path, installation);
+                    }
+                }
+            }
+        }
+        return installations;
+    }
+
+    /**
+     * Writes the registry file, dropping the installations whose binary is gone.
+     */
+    private synchronized void store() {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Installation> entry : getInstallations().entrySet()) {
+            if (entry.getValue().getVersion() != null && entry.getValue().getBinary().isFile()) {
+                properties.setProperty(entry.getKey(), entry.getValue().toEntry());
+            }
+        }
+        try {
+            file.getParentFile().mkdirs();
+            OutputStream output = new FileOutputStream(file);
+            try {
+                properties.store(output, "doxygen installations by binary: mtime:size:version:capabilities");
+            } finally {
+                output.close();
+            }
+        } catch (IOException exception) {
+            Plugin.log(exception);
+        }
+    }
+
+}
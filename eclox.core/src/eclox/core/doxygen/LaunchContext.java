@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxygen;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import eclox.core.doxyfiles.VariableExpander;
+
+/**
+ * Implements the immutable context doxygen processes are launched with: the
+ * resolved command and the environment variables set on top of the process
+ * environment.
+ *
+ * A context is resolved once per doxygen wrapper and kept until its location or
+ * the Eclipse value variables change, so launching doxygen only costs starting
+ * the process.
+ */
+public final class LaunchContext {
+
+    /**
+     * the resolved doxygen command
+     */
+    private final String command;
+
+    /**
+     * the folder containing the doxygen command, empty when it is searched in the path
+     */
+    private final String commandFolder;
+
+    /**
+     * the environment variables set for the process, by name
+     */
+    private final Map<String, String> environment;
+
+    /**
+     * the Eclipse value variables the context has been resolved with
+     */
+    private final Map<String, String> eclipseVariables;
+
+    /**
+     * Constructor
+     *
+     * @param   command         a string containing the resolved doxygen command
+     * @param   commandFolder   a string containing the command folder, empty or null when searched in the path
+     */
+    LaunchContext(String command, String commandFolder) {
+        this.command = command;
+        this.commandFolder = (commandFolder != null) ? commandFolder : "";
+        this.eclipseVariables = VariableExpander.getEclipseVariables();
+
+        /*
+         * the library search path environment variable name differs between different systems:
+         * Windows: PATH
+         * Linux  : LD_LIBRARY_PATH
+         */
+        Map<String, String> environment = new HashMap<String, String>();
+        if (this.commandFolder.isEmpty() == false) {
+            environment.put("PATH", this.commandFolder + File.pathSeparator + System.getenv("PATH"));
+            environment.put("LD_LIBRARY_PATH", this.commandFolder + File.pathSeparator + System.getenv("LD_LIBRARY_PATH"));
+        }
+        // add all defined variables
+        environment.putAll(eclipseVariables);
+        this.environment = Collections.unmodifiableMap(environment);
+    }
+
+    /**
+     * Retrieves the resolved doxygen command.
+     *
+     * @return  a string containing the command
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Retrieves the folder containing the doxygen command.
+     *
+     * @return  a string containing a folder path, empty when the command is searched in the path
+     */
+    public String getCommandFolder() {
+        return commandFolder;
+    }
+
+    /**
+     * Retrieves the environment variables set for the process, on top of the
+     * environment of the platform.
+     *
+     * @return  an unmodifiable map of variable values, by name
+     */
+    public Map<String, String> getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Tells if the context still matches the Eclipse value variables.
+     *
+     * @return  true or false
+     */
+    boolean isUpToDate() {
+        return eclipseVariables == VariableExpander.getEclipseVariables();
+    }
+
+    /**
+     * Starts doxygen with the given arguments.
+     *
+     * @param   arguments           the command line arguments
+     * @param   workingDirectory    the working directory, or null to use the current one
+     *
+     * @return  the started process
+     */
+    public Process start(List<String> arguments, File workingDirectory) throws IOException {
+        List<String> commandLine = new ArrayList<String>(arguments.size() + 1);
+        commandLine.add(command);
+        commandLine.addAll(arguments);
+        return createProcessBuilder(commandLine, workingDirectory).start();
+    }
+
+    /**
+     * Creates the builder of a process running the given command line in this
+     * context.
+     *
+     * @param   commandLine         the command line, starting with the command
+     * @param   workingDirectory    the working directory, or null to use the current one
+     *
+     * @return  a process builder
+     */
+    ProcessBuilder createProcessBuilder(List<String> commandLine, File workingDirectory) {
+        ProcessBuilder pb = new ProcessBuilder(commandLine);
+        pb.environment().putAll(environment);
+        if ((workingDirectory != null) && workingDirectory.exists()) {
+            pb.directory(workingDirectory);
+        }
+        return pb;
+    }
+
+}
@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxygen;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import eclox.core.Plugin;
+import eclox.core.doxyfiles.Doxyfile;
+import eclox.core.doxyfiles.DoxyfileLinter;
+import eclox.core.doxyfiles.DoxyfileManager;
+import eclox.core.doxyfiles.DoxyfileSnapshot;
+import eclox.core.doxyfiles.IncludeResolver;
+
+/**
+ * Implements the background job checking doxyfiles with a {@link DoxyfileLinter}
+ * and reporting the problems as markers.
+ *
+ * Doxyfiles are queued when opened in the editor and each time they change, and
+ * checked shortly after, so a burst of changes leads to a single check. Markers
+ * are only replaced when the problems of a doxyfile changed. When resources are
+ * added or removed, the checked doxyfiles are queued again, so their paths get
+ * checked again. The settings known by the default doxygen, taken from its
+ * template once cached, are used to recognize unknown or obsolete settings;
+ * doxygen is never run to generate that template.
+ */
+public class LintJob extends Job {
+
+    /**
+     * the delay before checking queued doxyfiles, in milliseconds
+     */
+    private static final long DELAY = 500;
+
+    /**
+     * the shared job instance, created on first use
+     */
+    private static LintJob defaultJob;
+
+    /**
+     * the linter, remembering the results of the previous checks
+     */
+    private final DoxyfileLinter linter = new DoxyfileLinter();
+
+    /**
+     * the doxyfiles to check, guarded by itself
+     */
+    private final Set<IFile> queue = new LinkedHashSet<IFile>();
+
+    /**
+     * the problems reported as markers, by doxyfile
+     */
+    private final Map<IFile, List<DoxyfileLinter.Problem>> reportedProblems = new HashMap<IFile, List<DoxyfileLinter.Problem>>();
+
+    /**
+     * the version of the doxygen whose settings the linter knows, or null when none
+     */
+    private String supportedVersion;
+
+    /**
+     * tells if resources have been added or removed since the last run
+     */
+    private final AtomicBoolean resourcesChanged = new AtomicBoolean();
+
+    /**
+     * the resource change listener, or null when not registered
+     */
+    private MyResourceChangeListener resourceChangeListener;
+
+    /**
+     * Implements the resource change listener queuing the changed doxyfiles.
+     */
+    private class MyResourceChangeListener implements IResourceChangeListener, IResourceDeltaVisitor {
+
+        public void resourceChanged(IResourceChangeEvent event) {
+            IResourceDelta delta = event.getDelta();
+            if (delta != null) {
+                try {
+                    delta.accept(this);
+                } catch (CoreException exception) {
+                    Plugin.log(exception);
+                }
+            }
+        }
+
+        public boolean visit(IResourceDelta delta) {
+            IResource resource = delta.getResource();
+            if (resource.getType() == IResource.FILE) {
+                boolean changed = delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0;
+                if (Doxyfile.isDoxyfile(resource) && changed) {
+                    lint((IFile) resource);
+                }
+                if (changed && resource.getLocation() != null) {
+                    // The doxyfiles including the file may get other values.
+                    lintIncluders(resource.getLocation().toFile());
+                }
+            }
+            if ((delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.REMOVED) && resourcesChanged.getAndSet(true) == false) {
+                // Input paths may have appeared or disappeared.
+                schedule(DELAY);
+            }
+            return resource.getType() != IResource.FILE;
+        }
+    }
+
+    /**
+     * Constructor
+     */
+    private LintJob() {
+        super("Checking doxyfiles");
+        setSystem(true);
+        setPriority(Job.DECORATE);
+    }
+
+    /**
+     * Retrieves the shared job, registering its resource change listener on first use.
+     *
+     * @return  the shared job
+     */
+    public static synchronized LintJob getDefault() {
+        if (defaultJob == null) {
+            defaultJob = new LintJob();
+            defaultJob.resourceChangeListener = defaultJob.new MyResourceChangeListener();
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(defaultJob.resourceChangeListener, IResourceChangeEvent.POST_CHANGE);
+        }
+        return defaultJob;
+    }
+
+    /**
+     * Cancels the shared job and unregisters its resource change listener.
+     */
+    public static synchronized void disposeDefault() {
+        if (defaultJob != null) {
+            ResourcesPlugin.getWorkspace().removeResourceChangeListener(defaultJob.resourceChangeListener);
+            defaultJob.cancel();
+            defaultJob = null;
+        }
+    }
+
+    /**
+     * Queues the given doxyfile to be checked.
+     *
+     * @param   file    a doxyfile resource
+     */
+    public void lint(IFile file) {
+        synchronized (queue) {
+            queue.add(file);
+        }
+        schedule(DELAY);
+    }
+
+    /**
+     * Queues the doxyfiles of the workspace known to include the given file.
+     *
+     * @param   file    a file on the file system
+     */
+    private void lintIncluders(File file) {
+        try {
+            IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+            for (File includer : IncludeResolver.getDefault().getIncluders(file)) {
+                for (IFile includerFile : root.findFilesForLocationURI(includer.toURI())) {
+                    lint(includerFile);
+                }
+            }
+        } catch (IOException exception) {
+            Plugin.log(exception);
+        }
+    }
+
+    /**
+     * @see org.eclipse.core.runtime.jobs.Job#run(org.eclipse.core.runtime.IProgressMonitor)
+     */
+    protected IStatus run(IProgressMonitor monitor) {
+        updateSupportedSettings();
+        if (resourcesChanged.getAndSet(false)) {
+            linter.expirePathChecks();
+            synchronized (queue) {
+                queue.addAll(reportedProblems.keySet());
+            }
+        }
+        for (IFile file = poll(); file != null; file = poll()) {
+            if (monitor.isCanceled()) {
+                lint(file);
+                return Status.CANCEL_STATUS;
+            }
+            try {
+                if (file.isAccessible() == false) {
+                    // The markers are gone with the file.
+                    linter.forget(file);
+                    reportedProblems.remove(file);
+                    continue;
+                }
+                DoxyfileSnapshot snapshot = DoxyfileManager.getDefault().getSnapshot(file);
+                List<DoxyfileLinter.Problem> problems = linter.lint(file, snapshot, file.getLocation().toFile().getParentFile());
+                if (problems.equals(reportedProblems.get(file)) == false) {
+                    updateMarkers(file, problems, monitor);
+                    reportedProblems.put(file, problems);
+                }
+            } catch (Throwable throwable) {
+                Plugin.log(throwable);
+            }
+        }
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Retrieves the next queued doxyfile.
+     *
+     * @return  a doxyfile resource, or null when the queue is empty
+     */
+    private IFile poll() {
+        synchronized (queue) {
+            Iterator<IFile> i = queue.iterator();
+            if (i.hasNext() == false) {
+                return null;
+            }
+            IFile file = i.next();
+            i.remove();
+            return file;
+        }
+    }
+
+    /**
+     * Lets the linter know the settings of the default doxygen, once its template
+     * has been cached or when its version changed. Without cached template, the
+     * schema tells the known settings.
+     */
+    private void updateSupportedSettings() {
+        Doxygen doxygen = Doxygen.getDefault();
+        TemplateCache.Template template = (doxygen != null) ? TemplateCache.getDefault().getCachedTemplate(doxygen) : null;
+        String version = (template != null) ? template.getVersion() : null;
+        if ((version == null) ? supportedVersion != null : version.equals(supportedVersion) == false) {
+            linter.setSupportedIdentifiers((template != null) ? template.getDefaultValues().keySet() : null);
+            reportedProblems.clear();
+            supportedVersion = version;
+        }
+    }
+
+    /**
+     * Replaces the markers of the given doxyfile with the given problems.
+     *
+     * @param   file        a doxyfile resource
+     * @param   problems    the problems to report
+     * @param   monitor     a progress monitor
+     */
+    private static void updateMarkers(final IFile file, final List<DoxyfileLinter.Problem> problems, IProgressMonitor monitor) throws CoreException {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        workspace.run(new IWorkspaceRunnable() {
+            public void run(IProgressMonitor monitor) throws CoreException {
+                file.deleteMarkers(Marker.DOXYFILE_MARKER, false, IResource.DEPTH_ZERO);
+                for (DoxyfileLinter.Problem problem : problems) {
+                    IMarker marker = Marker.create(Marker.DOXYFILE_MARKER, file, problem.getLine(), problem.getMessage(), problem.getSeverity());
+                    if (marker != null) {
+                        marker.setAttribute(Marker.SETTING, problem.getIdentifier());
+                    }
+                }
+            }
+        }, workspace.getRuleFactory().markerRule(file), IWorkspace.AVOID_UPDATE, monitor);
+    }
+
+}
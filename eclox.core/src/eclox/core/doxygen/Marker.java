@@ -36,6 +36,7 @@ public class Marker {
     public static final String ECLOX_DOXYGEN_NAME = Plugin.getDefault().getBundle().getSymbolicName();
     public static final String DOXYGEN_MARKER = ECLOX_DOXYGEN_NAME + ".doxygen.marker"; ///< Defines the doxygen marker type attribute name
     public static final String SETTING = DOXYGEN_MARKER + ".setting"; ///< Defines the optional attribute name that hold the name of a setting
+    public static final String DOXYFILE_MARKER = ECLOX_DOXYGEN_NAME + ".doxyfile.marker"; ///< Defines the doxyfile problem marker type, found without building
 
     /**
      * Creates a single marker for the given file.
@@ -48,9 +49,24 @@ public class Marker {
      * @param	severity	a severity level
      */
     public static IMarker create(IFile file, int line, String message, int severity) throws CoreException {
+        return create(Marker.DOXYGEN_MARKER, file, line, message, severity);
+    }
+
+    /**
+     * Creates a single marker of the given type for the given file.
+     *
+     * If @c file is null, no marker will be created.
+     *
+     * @param	type		a marker type, like DOXYGEN_MARKER or DOXYFILE_MARKER
+     * @param	file		a resource file to create a marker for
+     * @param	line		a line number
+     * @param	message		a message explaining the problem
+     * @param	severity	a severity level
+     */
+    public static IMarker create(String type, IFile file, int line, String message, int severity) throws CoreException {
         IMarker marker = null;
         if (file != null && file.exists()) {
-            marker = file.createMarker(Marker.DOXYGEN_MARKER);
+            marker = file.createMarker(type);
             marker.setAttribute(IMarker.MESSAGE, message);
             marker.setAttribute(IMarker.LINE_NUMBER, line);
             marker.setAttribute(IMarker.LOCATION, file.getProjectRelativePath().toPortableString());
@@ -0,0 +1,381 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.core.doxygen;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import eclox.core.Plugin;
+import eclox.core.doxyfiles.DoxyfileUpgrader;
+import eclox.core.doxyfiles.io.IParserHandler;
+import eclox.core.doxyfiles.io.Parser;
+
+/**
+ * Implements a cache of the doxyfile templates generated by <code>doxygen -g</code>.
+ *
+ * Templates are generated once per doxygen installation, and stored in the plug-in
+ * state location under a name made of the binary, its stamp and its version, as
+ * known by the {@link DoxygenRegistry}. So a cached template is found without
+ * starting any process, and is generated again once the binary changed.
+ */
+public class TemplateCache {
+
+    /**
+     * the name of the directory of the cache in the plug-in state location
+     */
+    private static final String DIRECTORY = "templates";
+
+    /**
+     * the shared cache instance, created on first use
+     */
+    private static TemplateCache defaultCache;
+
+    /**
+     * Implements a template generated by doxygen.
+     */
+    public static class Template {
+
+        /**
+         * the version of doxygen that generated the template
+         */
+        private final String version;
+
+        /**
+         * the content of the template
+         */
+        private final byte[] content;
+
+        /**
+         * the default setting values, or null until first needed
+         */
+        private Map<String, String> defaultValues;
+
+        /**
+         * the upgrader to the settings of the template, or null until first needed
+         */
+        private DoxyfileUpgrader upgrader;
+
+        /**
+         * Constructor
+         *
+         * @param   version a string containing the doxygen version
+         * @param   content the content of the template
+         */
+        Template(String version, byte[] content) {
+            this.version = version;
+            this.content = content;
+        }
+
+        /**
+         * Retrieves the version of doxygen that generated the template.
+         *
+         * @return  a string containing a version
+         */
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * Retrieves the content of the template.
+         *
+         * @return  a copy of the template bytes
+         */
+        public byte[] getContent() {
+            return content.clone();
+        }
+
+        /**
+         * Writes the template to the given file.
+         *
+         * @param   file    a file to create or overwrite
+         */
+        public void writeTo(File file) throws IOException {
+            OutputStream output = new FileOutputStream(file);
+            try {
+                output.write(content);
+            } finally {
+                output.close();
+            }
+        }
+
+        /**
+         * Retrieves the upgrader bringing doxyfiles to the settings of the template,
+         * with their order, comments and default values.
+         *
+         * @return  the upgrader
+         */
+        public synchronized DoxyfileUpgrader getUpgrader() throws IOException {
+            if (upgrader == null) {
+                upgrader = new DoxyfileUpgrader(content);
+            }
+            return upgrader;
+        }
+
+        /**
+         * Retrieves the default values of the settings, as written in the template.
+         *
+         * @return  an unmodifiable map of values, by setting identifier
+         */
+        public synchronized Map<String, String> getDefaultValues() {
+            if (defaultValues == null) {
+                final Map<String, String> values = new LinkedHashMap<String, String>();
+                try {
+                    new Parser(new ByteArrayInputStream(content)).read(new IParserHandler() {
+                        public boolean onSetting(String identifier, String value, int line) {
+                            values.put(identifier, value);
+                            return true;
+                        }
+
+                        public boolean onIncrement(String identifier, String value, int line) {
+                            return true;
+                        }
+
+                        public boolean onInclude(String file, int line) {
+                            return true;
+                        }
+
+                        public boolean onIncludePath(String path, int line) {
+                            return true;
+                        }
+
+                        public boolean onRawLine(String text, int line) {
+                            return true;
+                        }
+                    });
+                } catch (IOException exception) {
+                    Plugin.log(exception);
+                }
+                defaultValues = Collections.unmodifiableMap(values);
+            }
+            return defaultValues;
+        }
+    }
+
+    /**
+     * the directory holding the cached templates
+     */
+    private final File directory;
+
+    /**
+     * the templates read so far, by file name
+     */
+    private final Map<String, Template> templates = new HashMap<String, Template>();
+
+    /**
+     * Retrieves the shared cache, stored in the state location of the plug-in.
+     *
+     * @return  the shared cache
+     */
+    public static synchronized TemplateCache getDefault() {
+        if (defaultCache == null) {
+            defaultCache = new TemplateCache(Plugin.getDefault().getStateLocation().append(DIRECTORY).toFile());
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param   directory   the directory holding the cached templates
+     */
+    public TemplateCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Retrieves the template of the given doxygen, from the cache when available.
+     * Otherwise, doxygen is run once to generate it.
+     *
+     * @param   doxygen a doxygen wrapper
+     *
+     * @return  the template, or null when the doxygen binary cannot be found or tell its version
+     */
+    public synchronized Template getTemplate(Doxygen doxygen) throws InvokeException, RunException {
+        DoxygenRegistry.Installation installation = doxygen.getInstallation();
+        if (installation == null || installation.getVersion() == null) {
+            return null;
+        }
+        Template template = getCachedTemplate(installation);
+        if (template == null) {
+            template = generateTemplate(doxygen, installation);
+        }
+        return template;
+    }
+
+    /**
+     * Retrieves the template of the given doxygen when it is already cached,
+     * without probing or running doxygen.
+     *
+     * @param   doxygen a doxygen wrapper
+     *
+     * @return  the template, or null when it is not cached or the installation not probed yet
+     */
+    public synchronized Template getCachedTemplate(Doxygen doxygen) {
+        File binary = doxygen.getCommandFile();
+        DoxygenRegistry.Installation installation = (binary != null) ? DoxygenRegistry.getDefault().getCachedInstallation(binary) : null;
+        if (installation == null || installation.getVersion() == null) {
+            return null;
+        }
+        return getCachedTemplate(installation);
+    }
+
+    /**
+     * Generates the template of the given doxygen in the background, so it is
+     * available once needed.
+     *
+     * @param   doxygen a doxygen wrapper
+     */
+    public void prefetch(final Doxygen doxygen) {
+        Job job = new Job("Caching doxyfile template") {
+            protected IStatus run(IProgressMonitor monitor) {
+                try {
+                    getTemplate(doxygen);
+                } catch (InvokeException exception) {
+                    // Reported when the template is really needed.
+                } catch (RunException exception) {
+                    // Reported when the template is really needed.
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    /**
+     * Removes all cached templates.
+     */
+    public synchronized void clear() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        templates.clear();
+    }
+
+    /**
+     * Retrieves the cached template of the given installation.
+     *
+     * @param   installation    a doxygen installation
+     *
+     * @return  the template, or null when none
+     */
+    private Template getCachedTemplate(DoxygenRegistry.Installation installation) {
+        String name = getTemplateName(installation);
+        Template template = templates.get(name);
+        if (template == null) {
+            File file = new File(directory, name);
+            if (file.isFile() == false) {
+                return null;
+            }
+            try {
+                template = new Template(installation.getVersion(), Files.readAllBytes(file.toPath()));
+                templates.put(name, template);
+            } catch (IOException exception) {
+                return null;
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Runs doxygen to generate its template and stores it in the cache, replacing
+     * the templates generated by previous versions of the same binary.
+     *
+     * @param   doxygen         a doxygen wrapper
+     * @param   installation    the installation of the doxygen
+     *
+     * @return  the template
+     */
+    private Template generateTemplate(Doxygen doxygen, DoxygenRegistry.Installation installation) throws InvokeException, RunException {
+        // Lets doxygen write the template to a new file, then moves it in place.
+        String name = getTemplateName(installation);
+        File file = new File(directory, name);
+        File temporary = new File(directory, name + ".tmp");
+        directory.mkdirs();
+        temporary.delete();
+        doxygen.run_local(temporary, false, Doxygen.getCommandOptionGenerate());
+        try {
+            byte[] content = Files.readAllBytes(temporary.toPath());
+            removeTemplates(installation.getBinary());
+            if (temporary.renameTo(file) == false) {
+                throw new IOException("Unable to store the template " + file + ".");
+            }
+            Template template = new Template(installation.getVersion(), content);
+            templates.put(name, template);
+            return template;
+        } catch (IOException exception) {
+            throw new InvokeException(exception);
+        } finally {
+            temporary.delete();
+        }
+    }
+
+    /**
+     * Removes the templates generated by the given binary.
+     *
+     * @param   binary  the doxygen binary
+     */
+    private void removeTemplates(File binary) {
+        String prefix = getTemplatePrefix(binary);
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().startsWith(prefix) && file.getName().endsWith(".tmp") == false) {
+                    templates.remove(file.getName());
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the prefix of the file names of the templates of the given binary.
+     *
+     * @param   binary  the doxygen binary
+     *
+     * @return  a string containing a file name prefix
+     */
+    private static String getTemplatePrefix(File binary) {
+        return "Doxyfile-" + Integer.toHexString(binary.getAbsolutePath().hashCode()) + "-";
+    }
+
+    /**
+     * Retrieves the file name of the template of the given installation.
+     *
+     * @param   installation    a doxygen installation
+     *
+     * @return  a string containing a file name
+     */
+    private static String getTemplateName(DoxygenRegistry.Installation installation) {
+        return getTemplatePrefix(installation.getBinary()) + installation.getLastModified() + "-" + installation.getSize() + "-"
+            + installation.getVersion().replaceAll("[^0-9A-Za-z.]", "_");
+    }
+
+}
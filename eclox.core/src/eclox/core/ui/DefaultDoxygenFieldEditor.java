@@ -16,10 +16,13 @@
 
 package eclox.core.ui;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Vector;
 
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jface.preference.FieldEditor;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionEvent;
@@ -28,6 +31,7 @@ import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
@@ -40,6 +44,7 @@ import eclox.core.doxygen.BundledDoxygen;
 import eclox.core.doxygen.CustomDoxygen;
 import eclox.core.doxygen.DefaultDoxygen;
 import eclox.core.doxygen.Doxygen;
+import eclox.core.doxygen.DoxygenRegistry;
 
 /**
  * @author Guillaume Brocker
@@ -91,6 +96,11 @@ public class DefaultDoxygenFieldEditor extends FieldEditor {
      */
     private boolean valid = true;
 
+    /**
+     * the table items whose doxygen has not been probed yet
+     */
+    private Collection<TableItem> unprobedItems = new Vector<TableItem>();
+
     /**
      * Implements a selection listener for the owned table control.
      *
@@ -153,14 +163,22 @@ public class DefaultDoxygenFieldEditor extends FieldEditor {
         // Item data preparation.
         final Doxygen doxygen = (Doxygen) item.getData();
         final String type = getDoxygenType(doxygen);
-        final String version = doxygen.getVersion();
+        final File binary = doxygen.getCommandFile();
+        final DoxygenRegistry.Installation installation = (binary != null) ? DoxygenRegistry.getDefault().getCachedInstallation(binary) : null;
+        final boolean probing = (binary != null && installation == null);
+        final String version = (installation != null) ? installation.getVersion() : null;
         final String description = doxygen.getDescription();
 
+        // Remembers the items to probe in the background.
+        if (probing == true && unprobedItems.contains(item) == false) {
+            unprobedItems.add(item);
+        }
+
         // Updates the item properties.
-        item.setImage((version == null)
+        item.setImage((version == null && probing == false)
                 ? PlatformUI.getWorkbench().getSharedImages().getImage(ISharedImages.IMG_OBJS_WARN_TSK)
                 : null);
-        item.setText(VERSION_COLUMN_INDEX, (version == null) ? "unknown" : version);
+        item.setText(VERSION_COLUMN_INDEX, (version == null) ? (probing ? "probing..." : "unknown") : version);
         item.setText(TYPE_COLUMN_INDEX, type);
         item.setText(DESCRIPTION_COLUMN_INDEX, description);
 
@@ -171,6 +189,37 @@ public class DefaultDoxygenFieldEditor extends FieldEditor {
         table.layout();
     }
 
+    /**
+     * Probes the doxygens of the items not probed yet in the background, and
+     * updates the items once done.
+     */
+    private void probeItems() {
+        if (unprobedItems.isEmpty()) {
+            return;
+        }
+        final Collection<TableItem> items = unprobedItems;
+        final Collection<Doxygen> doxygens = new Vector<Doxygen>();
+        for (TableItem item : items) {
+            doxygens.add((Doxygen) item.getData());
+        }
+        unprobedItems = new Vector<TableItem>();
+
+        final Display display = table.getDisplay();
+        DoxygenRegistry.getDefault().probe(doxygens).addJobChangeListener(new JobChangeAdapter() {
+            public void done(IJobChangeEvent event) {
+                display.asyncExec(new Runnable() {
+                    public void run() {
+                        for (TableItem item : items) {
+                            if (item.isDisposed() == false) {
+                                updateItem(item);
+                            }
+                        }
+                    }
+                });
+            }
+        });
+    }
+
     /**
      * Checkes the table item representing the given doxygen identifier.
      */
@@ -212,6 +261,7 @@ public class DefaultDoxygenFieldEditor extends FieldEditor {
         String directory = dialog.getTargetDirectory();
         if (directory != null) {
             addItem(new CustomDoxygen(directory));
+            probeItems();
         }
     }
 
@@ -238,6 +288,7 @@ public class DefaultDoxygenFieldEditor extends FieldEditor {
         if (directory != null) {
             customDoxygen.setLocation(directory);
             updateItem(selected[0]);
+            probeItems();
         }
     }
 
@@ -380,6 +431,9 @@ public class DefaultDoxygenFieldEditor extends FieldEditor {
             addItem((Doxygen) i.next());
         }
 
+        // Probes the doxygens not known yet.
+        probeItems();
+
         // Select the default doxygen wrapper
         checkItem(getPreferenceStore().getString(IPreferences.DEFAULT_DOXYGEN));
     }
@@ -390,6 +444,7 @@ public class DefaultDoxygenFieldEditor extends FieldEditor {
     protected void doLoadDefault() {
         // Adds default doxygen instance.
         addItem(new DefaultDoxygen());
+        probeItems();
 
         // Select the default doxygen wrapper
         checkItem(getPreferenceStore().getDefaultString(IPreferences.DEFAULT_DOXYGEN));
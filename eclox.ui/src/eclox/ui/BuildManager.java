@@ -20,6 +20,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
@@ -34,12 +35,15 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.PlatformUI;
 
 import eclox.core.doxyfiles.Doxyfile;
 import eclox.core.doxygen.BuildJob;
 import eclox.core.doxygen.IBuildJobListener;
 import eclox.ui.console.Console;
+import eclox.ui.editor.Editor;
 
 /**
  * This class is responsible to launch the build for the given doxyfile
@@ -123,14 +127,26 @@ public class BuildManager {
         // Retrieves the plug-in preferences.
         IPreferenceStore preferences = Plugin.getDefault().getPreferenceStore();
 
+        // Finds the editor whose unsaved content gets built, if wanted.
+        IWorkbenchPage page = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+        Editor unsavedEditor = (doBuild && preferences.getBoolean(IPreferences.BUILD_UNSAVED)) ? findDirtyEditor(page, doxyfile) : null;
+
         // Ask the user if he wants to save all opened editors before proceeding to build.
         final String autoSave = preferences.getString(IPreferences.AUTO_SAVE);
         if (autoSave.equals(IPreferences.AUTO_SAVE_ALWAYS)) {
-            PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage().saveAllEditors(false);
+            if (unsavedEditor != null) {
+                saveOtherEditors(page, unsavedEditor, false);
+            } else {
+                page.saveAllEditors(false);
+            }
         } else if (autoSave.equals(IPreferences.AUTO_SAVE_ASK)) {
             boolean saved;
 
-            saved = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage().saveAllEditors(true);
+            if (unsavedEditor != null) {
+                saved = saveOtherEditors(page, unsavedEditor, true);
+            } else {
+                saved = page.saveAllEditors(true);
+            }
             if (saved == false) {
                 return;
             }
@@ -145,6 +161,16 @@ public class BuildManager {
         // Retrieves the build job for the given doxyfile.
         BuildJob job = BuildJob.getJob(doxyfile, doBuild);
 
+        // Pipes the unsaved content to doxygen, the saved doxyfile is built otherwise.
+        if (unsavedEditor != null) {
+            try {
+                unsavedEditor.commitChanges();
+                job.setConfiguration(unsavedEditor.getDoxyfile(), null);
+            } catch (IOException exception) {
+                Plugin.log(exception);
+            }
+        }
+
         // Attaches a listener if applicable.
         if (jobHistory.contains(job) == false) {
             job.addBuidJobListener(new MyJobListener());
@@ -166,6 +192,41 @@ public class BuildManager {
         job.schedule(1000);
     }
 
+    /**
+     * Retrieves the doxyfile editor having unsaved changes of the given doxyfile.
+     *
+     * @param   page        the workbench page to search
+     * @param   doxyfile    a doxyfile
+     *
+     * @return  the editor, or null when none
+     */
+    private static Editor findDirtyEditor(IWorkbenchPage page, Doxyfile doxyfile) {
+        for (IEditorPart editor : page.getDirtyEditors()) {
+            if (editor instanceof Editor && doxyfile.equals(((Editor) editor).getDoxyfile())) {
+                return (Editor) editor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Saves the dirty editors, except the given one.
+     *
+     * @param   page        the workbench page whose editors get saved
+     * @param   excluded    the editor to leave unsaved
+     * @param   confirm     true to ask the user before saving each editor
+     *
+     * @return  false when the user canceled, true otherwise
+     */
+    private static boolean saveOtherEditors(IWorkbenchPage page, IEditorPart excluded, boolean confirm) {
+        for (IEditorPart editor : page.getDirtyEditors()) {
+            if (editor != excluded && page.saveEditor(editor, confirm) == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Retrieves the latest build jobs that have been registered in the history.
      *
@@ -75,6 +75,12 @@ public interface IPreferences {
      */
     public static final String AUTO_SAVE_ASK = "ask";
 
+    /**
+     * Constant name for building the unsaved content of open doxyfile editors,
+     * instead of the doxyfiles saved on disk.
+     */
+    public static final String BUILD_UNSAVED = "build.unsaved";
+
     /**
      * Constant name for the automatic value string escapes.
      */
@@ -73,6 +73,11 @@ public class PreferencePage extends org.eclipse.jface.preference.FieldEditorPref
         autoSaveField.setPreferenceStore(getPreferenceStore());
         addField(autoSaveField);
 
+        BooleanFieldEditor buildUnsaved = new BooleanFieldEditor(IPreferences.BUILD_UNSAVED,
+                "Build the unsaved content of open doxyfile editors without saving them", rootControl);
+        buildUnsaved.setPreferenceStore(getPreferenceStore());
+        addField(buildUnsaved);
+
         int lineSepLength = LineSeparator.values().length;
         String[][] lineSepNames = new String[lineSepLength][2];
         for(int i=0;i<lineSepLength;i++) {
@@ -38,6 +38,7 @@ public class PreferencesInitializer extends AbstractPreferenceInitializer {
         IPreferenceStore preferences = Plugin.getDefault().getPreferenceStore();
         preferences.setDefault(IPreferences.BUILD_HISTORY_SIZE, 5);
         preferences.setDefault(IPreferences.AUTO_SAVE, IPreferences.AUTO_SAVE_ASK);
+        preferences.setDefault(IPreferences.BUILD_UNSAVED, false);
         preferences.setDefault(IPreferences.HANDLE_ESCAPED_VALUES, true);
         preferences.setDefault(IPreferences.LINE_SEPARATOR, LineSeparator.lineSeparatorSystem.name());
         preferences.setDefault(IPreferences.LIST_SEPARATE_MODE, ListSeparateMode.listSeparateModeDoNotChange.name());
@@ -25,6 +25,7 @@ import java.net.URI;
 import java.util.Iterator;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IPath;
@@ -39,14 +40,18 @@ import org.eclipse.ui.IPersistableEditor;
 import org.eclipse.ui.dialogs.SaveAsDialog;
 import org.eclipse.ui.forms.editor.FormEditor;
 import org.eclipse.ui.ide.FileStoreEditorInput;
+import org.eclipse.ui.ide.IGotoMarker;
 import org.eclipse.ui.part.FileEditorInput;
 
 import eclox.core.ListSeparateMode;
 import eclox.core.TagFormat;
 import eclox.core.doxyfiles.Doxyfile;
-import eclox.core.doxyfiles.ISettingValueListener;
+import eclox.core.doxyfiles.IDoxyfileListener;
+import eclox.core.doxyfiles.ChangeSet;
 import eclox.core.doxyfiles.Setting;
 import eclox.core.doxyfiles.io.Serializer;
+import eclox.core.doxygen.LintJob;
+import eclox.core.doxygen.Marker;
 import eclox.ui.IPreferences;
 import eclox.ui.Plugin;
 import eclox.ui.editor.internal.ResourceChangeListener;
@@ -61,7 +66,7 @@ import eclox.ui.LineSeparator;
  * @author willy
  *
  */
-public class Editor extends FormEditor implements ISettingValueListener, IPersistableEditor {
+public class Editor extends FormEditor implements IDoxyfileListener, IPersistableEditor, IGotoMarker {
 
     public final static String PROP_SETTING_DIRTY = "dirty"; ///< the name of the property attached to a dirty setting.
     public final static String SAVED_ACTIVE_PAGE_ID = "SavedActivePageId"; ///< Identifies the memo entry containing the identifier if the saved active page identifier.
@@ -100,24 +105,30 @@ public class Editor extends FormEditor implements ISettingValueListener, IPersis
             final ListSeparateMode listSeparateMode = ListSeparateMode.getFromEnum(preferences.getString(IPreferences.LIST_SEPARATE_MODE));
             final TagFormat tagFormat = TagFormat.getFromEnum(preferences.getString(IPreferences.TAG_FORMAT));
 
+            // Reads the current content, so only the modified settings get rewritten.
+            byte[] original = null;
+            try {
+                original = doxyfile.readContent();
+            } catch (Exception e) {
+                // The whole doxyfile gets serialized again.
+            }
+
             // Stores the doxyfile content.
-            Serializer serializer = new Serializer(doxyfile, lineSeparator, listSeparateMode, tagFormat);
+            Serializer serializer = new Serializer(doxyfile, original, lineSeparator, listSeparateMode, tagFormat);
             if (ifile != null) {
                 if (ifile.exists()) {
                     ifile.setContents(serializer, false, true, monitor);
                 } else {
                     ifile.create(serializer, true, monitor);
                 }
+                serializer.commit();
             } else {
                 FileOutputStream outputStream = null;
                 try {
-                    // write the inputStream to a FileOutputStream
+                    // write the serialized content to the file channel
                     outputStream = new FileOutputStream(file);
-                    int read = 0;
-                    byte[] bytes = new byte[1024];
-                    while ((read = serializer.read(bytes)) != -1) {
-                        outputStream.write(bytes, 0, read);
-                    }
+                    serializer.writeTo(outputStream.getChannel());
+                    serializer.commit();
                 } catch (IOException e) {
                     e.printStackTrace();
                 } finally {
@@ -133,10 +144,15 @@ public class Editor extends FormEditor implements ISettingValueListener, IPersis
             }
 
             // Clears the dirty property set on some settings.
-            Iterator<?> i = doxyfile.settingIterator();
-            while (i.hasNext()) {
-                Setting setting = (Setting) i.next();
-                setting.removeProperty(PROP_SETTING_DIRTY);
+            doxyfile.beginChanges();
+            try {
+                Iterator<?> i = doxyfile.settingIterator();
+                while (i.hasNext()) {
+                    Setting setting = (Setting) i.next();
+                    setting.removeProperty(PROP_SETTING_DIRTY);
+                }
+            } finally {
+                doxyfile.commitChanges();
             }
 
             // Resets the dirty flag.
@@ -212,27 +228,59 @@ public class Editor extends FormEditor implements ISettingValueListener, IPersis
     }
 
     /**
-     * @see eclox.doxyfiles.ISettingListener#settingValueChanged(eclox.doxyfiles.Setting)
+     * @see eclox.core.doxyfiles.IDoxyfileListener#doxyfileChanged(eclox.core.doxyfiles.ChangeSet)
      */
-    public void settingValueChanged(Setting setting) {
+    public void doxyfileChanged(ChangeSet changes) {
+        if (changes.getValueChanges().isEmpty()) {
+            return;
+        }
+
         // Updates the internal editor state.
-        this.dirty = true;
-        this.firePropertyChange(IEditorPart.PROP_DIRTY);
+        if (this.dirty == false) {
+            this.dirty = true;
+            this.firePropertyChange(IEditorPart.PROP_DIRTY);
+        }
 
-        // Assigns a dynamic property to the setting.
-        setting.setProperty(PROP_SETTING_DIRTY, "yes");
+        // Assigns a dynamic property to the changed settings.
+        doxyfile.beginChanges();
+        try {
+            for (Setting setting : changes.getValueChanges()) {
+                setting.setProperty(PROP_SETTING_DIRTY, "yes");
+            }
+        } finally {
+            doxyfile.commitChanges();
+        }
+    }
+
+    /**
+     * @see org.eclipse.ui.ide.IGotoMarker#gotoMarker(org.eclipse.core.resources.IMarker)
+     */
+    public void gotoMarker(IMarker marker) {
+        // Retrieves the setting by name, or by line.
+        Setting setting = null;
+        String identifier = marker.getAttribute(Marker.SETTING, null);
+        if (identifier != null) {
+            setting = doxyfile.getSetting(identifier);
+        }
+        if (setting == null) {
+            setting = doxyfile.getSettingAt(marker.getAttribute(IMarker.LINE_NUMBER, 0));
+        }
+
+        // Shows the setting in the advanced page.
+        if (setting != null) {
+            Object page = setActivePage(eclox.ui.editor.advanced.Page.ID);
+            if (page instanceof eclox.ui.editor.advanced.Page) {
+                ((eclox.ui.editor.advanced.Page) page).selectSetting(setting);
+            }
+        }
     }
 
     /**
      * @see org.eclipse.ui.IWorkbenchPart#dispose()
      */
     public void dispose() {
-        // Unregisters the editor from the settings
-        Iterator<?> i = this.doxyfile.settingIterator();
-        while (i.hasNext() == true) {
-            Setting setting = (Setting) i.next();
-            setting.removeSettingListener(this);
-        }
+        // Unregisters the editor from the doxyfile
+        this.doxyfile.removeDoxyfileListener(this);
 
         // Un-references the doxyfile.
         this.doxyfile = null;
@@ -245,6 +293,13 @@ public class Editor extends FormEditor implements ISettingValueListener, IPersis
         super.dispose();
     }
 
+    /**
+     * Commits the pending changes of the pages into the doxyfile, without saving it.
+     */
+    public void commitChanges() {
+        commitPages(false);
+    }
+
     /**
      * @see org.eclipse.ui.ISaveablePart#isDirty()
      */
@@ -294,13 +349,14 @@ public class Editor extends FormEditor implements ISettingValueListener, IPersis
             resourceChangeListener = new ResourceChangeListener(this);
             ResourcesPlugin.getWorkspace().addResourceChangeListener(resourceChangeListener);
 
-            // Parses the doxyfile and attaches to all settings.
+            // Parses the doxyfile and attaches to it.
             this.doxyfile = new Doxyfile(ifile, file);
             this.doxyfile.load();
-            Iterator<?> i = this.doxyfile.settingIterator();
-            while (i.hasNext() == true) {
-                Setting setting = (Setting) i.next();
-                setting.addSettingListener(this);
+            this.doxyfile.addDoxyfileListener(this);
+
+            // Checks the doxyfile for problems in the background.
+            if (ifile != null) {
+                LintJob.getDefault().lint(ifile);
             }
 
             // Continue initialization.
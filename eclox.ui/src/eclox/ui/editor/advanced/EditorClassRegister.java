@@ -13,10 +13,11 @@
 
 package eclox.ui.editor.advanced;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 
 import eclox.core.doxyfiles.Setting;
+import eclox.core.doxyfiles.SettingType;
 import eclox.ui.Plugin;
 import eclox.ui.editor.editors.BooleanEditor;
 import eclox.ui.editor.editors.DirectoryEditor;
@@ -36,19 +37,20 @@ public class EditorClassRegister {
     /**
      * The map registering all editor classes.
      */
-    private Map<String, Class<?>> register = new HashMap<String, Class<?>>();
+    private Map<SettingType, Class<?>> register = new EnumMap<SettingType, Class<?>>(SettingType.class);
 
     /**
      * Constructor.
      */
     public EditorClassRegister() {
-        register.put("file", FileEditor.class);
-        register.put("directory", DirectoryEditor.class);
-        register.put("text", TextEditor.class);
-        register.put("boolean", BooleanEditor.class);
-        register.put("text list", TextListEditor.class);
-        register.put("directory list", DirectoryListEditor.class);
-        register.put("path list", PathListEditor.class);
+        register.put(SettingType.file, FileEditor.class);
+        register.put(SettingType.directory, DirectoryEditor.class);
+        register.put(SettingType.text, TextEditor.class);
+        register.put(SettingType.booleanValue, BooleanEditor.class);
+        register.put(SettingType.integer, TextEditor.class);
+        register.put(SettingType.textList, TextListEditor.class);
+        register.put(SettingType.directoryList, DirectoryListEditor.class);
+        register.put(SettingType.pathList, PathListEditor.class);
     }
 
     /**
@@ -60,8 +62,7 @@ public class EditorClassRegister {
      */
     public Class<?> find(Setting setting) {
         // Retrieves the editor class for that type
-        String type = setting.getProperty(Setting.TYPE);
-        Class<?> result = (Class<?>) register.get(type);
+        Class<?> result = (Class<?>) register.get(setting.getType());
 
         // Little fallback if no matching editor class was found.
         if (result == null) {
@@ -16,10 +16,8 @@
 package eclox.ui.editor.advanced;
 
 import java.text.Collator;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Collection;
 import java.util.Locale;
-import java.util.Set;
 
 import org.eclipse.jface.viewers.DoubleClickEvent;
 import org.eclipse.jface.viewers.IDoubleClickListener;
@@ -57,13 +55,15 @@ import org.eclipse.ui.forms.SectionPart;
 import org.eclipse.ui.forms.widgets.FormToolkit;
 import org.eclipse.ui.forms.widgets.Section;
 
+import eclox.core.doxyfiles.ChangeSet;
 import eclox.core.doxyfiles.Doxyfile;
-import eclox.core.doxyfiles.ISettingPropertyListener;
+import eclox.core.doxyfiles.IDoxyfileListener;
 import eclox.core.doxyfiles.Setting;
 import eclox.ui.editor.Editor;
 import eclox.ui.editor.advanced.filters.All;
 import eclox.ui.editor.advanced.filters.ByGroup;
 import eclox.ui.editor.advanced.filters.Custom;
+import eclox.ui.editor.advanced.filters.Differences;
 import eclox.ui.editor.advanced.filters.IFilter;
 import eclox.ui.editor.advanced.filters.Modified;
 
@@ -155,27 +155,21 @@ public class MasterPart extends SectionPart implements IPartSelectionListener {
     /**
      * Implements the label provider.
      */
-    private class MyLabelProvider extends LabelProvider implements ITableLabelProvider, ISettingPropertyListener {
+    private class MyLabelProvider extends LabelProvider implements ITableLabelProvider, IDoxyfileListener {
 
         /**
-         * the set of all settings the label provider has registered to
+         * Constructor
          */
-        private Set<Setting> settings = new HashSet<Setting>();
+        MyLabelProvider() {
+            // Registers as an observer of the doxyfile
+            doxyfile.addDoxyfileListener(this);
+        }
 
         /**
          * @see org.eclipse.jface.viewers.IBaseLabelProvider#dispose()
          */
         public void dispose() {
-            // Walks through all settings and unregisters from the listeners
-            Iterator<Setting> i = settings.iterator();
-            while (i.hasNext() == true) {
-                Object object = i.next();
-                Setting setting = (Setting) object;
-
-                setting.removeSettingListener(this);
-            }
-            settings.clear();
-
+            doxyfile.removeDoxyfileListener(this);
             super.dispose();
         }
 
@@ -197,10 +191,6 @@ public class MasterPart extends SectionPart implements IPartSelectionListener {
             // Retrieves the setting's text.
             Setting setting = (Setting) element;
 
-            // Registers as an observer of the setting
-            setting.addSettingListener(this);
-            settings.add(setting);
-
             // Determine the text to return according to the given column index.
             if (columnIndex == TEXT_COLUMN) {
                 return setting.getTextLabel(Editor.PROP_SETTING_DIRTY);
@@ -210,15 +200,13 @@ public class MasterPart extends SectionPart implements IPartSelectionListener {
             return null;
         }
 
-        public void settingPropertyChanged(Setting setting, String property) {
-            if (property.equals(Editor.PROP_SETTING_DIRTY)) {
-                fireLabelProviderChanged(new LabelProviderChangedEvent(this, setting));
-            }
-        }
-
-        public void settingPropertyRemoved(Setting setting, String property) {
-            if (property.equals(Editor.PROP_SETTING_DIRTY)) {
-                fireLabelProviderChanged(new LabelProviderChangedEvent(this, setting));
+        /**
+         * @see eclox.core.doxyfiles.IDoxyfileListener#doxyfileChanged(eclox.core.doxyfiles.ChangeSet)
+         */
+        public void doxyfileChanged(ChangeSet changes) {
+            Collection<Setting> settings = changes.getPropertyChanges(Editor.PROP_SETTING_DIRTY);
+            if (settings.isEmpty() == false) {
+                fireLabelProviderChanged(new LabelProviderChangedEvent(this, settings.toArray()));
             }
         }
 
@@ -314,6 +302,7 @@ public class MasterPart extends SectionPart implements IPartSelectionListener {
         addFilter(toolkit, new ByGroup());
         addFilter(toolkit, new Custom());
         addFilter(toolkit, new Modified());
+        addFilter(toolkit, new Differences());
 
         // Activates the default filter.
         activateFilter(defaultFilter);
@@ -612,6 +601,17 @@ public class MasterPart extends SectionPart implements IPartSelectionListener {
         getManagedForm().fireSelectionChanged(this, selection);
     }
 
+    /**
+     * Selects and reveals the given setting, activating the default filter so the
+     * setting is visible.
+     *
+     * @param	setting	the setting to select
+     */
+    public void selectSetting(Setting setting) {
+        activateFilter(defaultFilter);
+        setSelection(currentSelection.select(setting), true);
+    }
+
     /**
      * Reveals the given object into the managed table viewer by selecting it.
      *
@@ -13,9 +13,11 @@
 
 package eclox.ui.editor.advanced;
 
+import org.eclipse.ui.forms.IFormPart;
 import org.eclipse.ui.forms.IManagedForm;
 import org.eclipse.ui.forms.editor.FormPage;
 
+import eclox.core.doxyfiles.Setting;
 import eclox.ui.editor.Editor;
 
 /**
@@ -54,4 +56,20 @@ public class Page extends FormPage {
         managedForm.getForm().setText(this.getTitle());
         this.block.createContent(managedForm);
     }
+
+    /**
+     * Selects the given setting in the master part.
+     *
+     * @param	setting	the setting to select
+     */
+    public void selectSetting(Setting setting) {
+        IManagedForm managedForm = getManagedForm();
+        if (managedForm != null) {
+            for (IFormPart part : managedForm.getParts()) {
+                if (part instanceof MasterPart) {
+                    ((MasterPart) part).selectSetting(setting);
+                }
+            }
+        }
+    }
 }
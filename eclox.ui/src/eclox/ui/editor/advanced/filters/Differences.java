@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.ui.editor.advanced.filters;
+
+import java.io.File;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerFilter;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.ui.forms.IManagedForm;
+
+import eclox.core.doxyfiles.ChangeSet;
+import eclox.core.doxyfiles.Doxyfile;
+import eclox.core.doxyfiles.DoxyfileComparator;
+import eclox.core.doxyfiles.DoxyfileComparison;
+import eclox.core.doxyfiles.DoxyfileManager;
+import eclox.core.doxyfiles.IDoxyfileListener;
+import eclox.core.doxyfiles.Setting;
+import eclox.core.doxygen.Doxygen;
+import eclox.core.doxygen.TemplateCache;
+import eclox.ui.Plugin;
+
+/**
+ * Implements a filter that shows the settings differing from a reference, either
+ * the default values of doxygen or another doxyfile.
+ *
+ * The default values come from the template cached for the default doxygen and are
+ * retrieved in the background. Until the reference is available, all settings are
+ * shown. The comparison is computed again each time a setting value changes.
+ */
+public class Differences implements IFilter {
+
+    /**
+     * the combo index of the doxygen defaults reference
+     */
+    private static final int DEFAULTS = 0;
+
+    /**
+     * the combo index of the other doxyfile reference
+     */
+    private static final int OTHER = 1;
+
+    /**
+     * the combo text of the other doxyfile reference, when none has been chosen
+     */
+    private static final String OTHER_TEXT = "Other doxyfile...";
+
+    /**
+     * the doxyfile being filtered
+     */
+    private Doxyfile doxyfile;
+
+    /**
+     * the combo control allowing to choose the reference
+     */
+    private Combo combo;
+
+    /**
+     * the button allowing to browse for another doxyfile
+     */
+    private Button browseButton;
+
+    /**
+     * the saved combo selection index
+     */
+    private int savedComboSelection = DEFAULTS;
+
+    /**
+     * the other doxyfile used as reference, or null when none has been chosen
+     */
+    private File otherFile;
+
+    /**
+     * the comparator with the doxygen defaults, or null until retrieved
+     */
+    private DoxyfileComparator defaultsComparator;
+
+    /**
+     * tells if the doxygen defaults are being retrieved
+     */
+    private boolean fetchingDefaults;
+
+    /**
+     * the comparator with the other doxyfile, or null when none
+     */
+    private DoxyfileComparator otherComparator;
+
+    /**
+     * the current comparison, or null when the reference is not available
+     */
+    private DoxyfileComparison comparison;
+
+    /**
+     * the viewer being filtered
+     */
+    private StructuredViewer viewer;
+
+    /**
+     * the viewer filter installed in the viewer
+     */
+    private MyViewerFilter viewerFilter;
+
+    /**
+     * the doxyfile listener recomputing the comparison
+     */
+    private MyDoxyfileListener doxyfileListener;
+
+    /**
+     * Implements a viewer filter that only shows the differing settings.
+     */
+    private class MyViewerFilter extends ViewerFilter {
+
+        public boolean select(Viewer viewer, Object parentElement, Object element) {
+            // Pre-condition
+            assert element instanceof Setting;
+
+            Setting setting = (Setting) element;
+            return comparison == null || comparison.isDifferent(setting.getIdentifier());
+        }
+
+    }
+
+    /**
+     * Implements a doxyfile listener that recomputes the comparison once setting
+     * values changed.
+     */
+    private class MyDoxyfileListener implements IDoxyfileListener {
+
+        public void doxyfileChanged(ChangeSet changes) {
+            if (changes.getValueChanges().isEmpty() == false) {
+                update();
+            }
+        }
+
+    }
+
+    /**
+     * Implements a selection listener for the reference combo.
+     */
+    private class MyComboSelectionListener extends SelectionAdapter {
+
+        public void widgetSelected(SelectionEvent e) {
+            if (combo.getSelectionIndex() == OTHER && otherFile == null) {
+                browse();
+            } else {
+                update();
+            }
+        }
+
+    }
+
+    /**
+     * Implements a selection listener for the browse button.
+     */
+    private class MyBrowseSelectionListener extends SelectionAdapter {
+
+        public void widgetSelected(SelectionEvent e) {
+            browse();
+        }
+
+    }
+
+    public void setDoxyfile(Doxyfile doxyfile) {
+        if (doxyfile != null) {
+            this.doxyfile = doxyfile;
+            this.doxyfileListener = new MyDoxyfileListener();
+            this.doxyfile.addDoxyfileListener(this.doxyfileListener);
+        } else {
+            this.doxyfile.removeDoxyfileListener(this.doxyfileListener);
+            this.doxyfileListener = null;
+            this.doxyfile = null;
+            this.comparison = null;
+        }
+    }
+
+    public void createControls(IManagedForm managedForm, Composite parent) {
+        // Pre-condition
+        assert combo == null;
+        assert browseButton == null;
+
+        // Creates the combo listing the references.
+        combo = new Combo(parent, SWT.FLAT | SWT.BORDER | SWT.READ_ONLY);
+        combo.add("Doxygen defaults");
+        combo.add(otherFile != null ? otherFile.getPath() : OTHER_TEXT);
+        combo.select(savedComboSelection);
+        combo.addSelectionListener(new MyComboSelectionListener());
+
+        // Creates the browse button.
+        browseButton = managedForm.getToolkit().createButton(parent, "Browse...", SWT.FLAT);
+        browseButton.addSelectionListener(new MyBrowseSelectionListener());
+
+        // Installs the layout into the parent, and layout data on controls
+        GridLayout layout = new GridLayout(2, false);
+        layout.marginWidth = 0;
+        layout.marginHeight = 0;
+        parent.setLayout(layout);
+        combo.setLayoutData(new GridData(GridData.FILL_BOTH | GridData.GRAB_HORIZONTAL));
+
+        // Computes the comparison with the selected reference.
+        update();
+
+        // Post-condition
+        assert combo != null;
+        assert browseButton != null;
+    }
+
+    public void createViewerFilters(StructuredViewer viewer) {
+        // Pre-condition
+        assert this.viewer == null;
+        assert this.viewerFilter == null;
+
+        this.viewer = viewer;
+        this.viewerFilter = new MyViewerFilter();
+        this.viewer.addFilter(this.viewerFilter);
+
+        // Post-condition
+        assert this.viewer != null;
+        assert this.viewerFilter != null;
+    }
+
+    public void disposeControls() {
+        // Pre-condition
+        assert combo != null;
+        assert browseButton != null;
+
+        savedComboSelection = combo.getSelectionIndex();
+        combo.dispose();
+        browseButton.dispose();
+        combo = null;
+        browseButton = null;
+
+        // Post-condition
+        assert combo == null;
+        assert browseButton == null;
+    }
+
+    public void disposeViewerFilers(StructuredViewer viewer) {
+        // Pre-condition
+        assert this.viewer != null;
+        assert this.viewerFilter != null;
+
+        this.viewer.removeFilter(this.viewerFilter);
+        this.viewerFilter = null;
+        this.viewer = null;
+
+        // Post-condition
+        assert this.viewer == null;
+        assert this.viewerFilter == null;
+    }
+
+    public String getName() {
+        return "Differences";
+    }
+
+    /**
+     * Lets the user choose another doxyfile as reference.
+     */
+    private void browse() {
+        // Pre-condition
+        assert combo != null;
+
+        FileDialog dialog = new FileDialog(combo.getShell());
+        dialog.setText("Reference Doxyfile Selection");
+        if (otherFile != null) {
+            dialog.setFilterPath(otherFile.getParent());
+        } else if (doxyfile != null && doxyfile.getFile() != null) {
+            dialog.setFilterPath(doxyfile.getFile().getParent());
+        }
+        String path = dialog.open();
+        if (path != null) {
+            try {
+                Doxyfile reference = DoxyfileManager.getDefault().getDoxyfile(new File(path));
+                otherFile = new File(path);
+                otherComparator = DoxyfileComparator.withDoxyfile(reference);
+                combo.setItem(OTHER, path);
+                combo.select(OTHER);
+            } catch (Throwable throwable) {
+                Plugin.log(throwable);
+                combo.select(DEFAULTS);
+            }
+        } else if (otherFile == null) {
+            combo.select(DEFAULTS);
+        }
+        update();
+    }
+
+    /**
+     * Computes the comparison with the selected reference and refreshes the viewer.
+     */
+    private void update() {
+        if (doxyfile == null || combo == null) {
+            return;
+        }
+
+        DoxyfileComparator comparator;
+        if (combo.getSelectionIndex() == OTHER) {
+            comparator = otherComparator;
+        } else {
+            comparator = defaultsComparator;
+            if (comparator == null) {
+                fetchDefaults(combo.getDisplay());
+            }
+        }
+        comparison = (comparator != null) ? comparator.compare(doxyfile) : null;
+        if (comparison != null) {
+            combo.setToolTipText(comparison.size() + " setting(s) differ");
+        } else {
+            combo.setToolTipText(null);
+        }
+        if (viewer != null) {
+            viewer.refresh();
+        }
+    }
+
+    /**
+     * Retrieves the default values of doxygen in the background, then updates
+     * the comparison.
+     *
+     * @param   display the display to update the comparison in
+     */
+    private void fetchDefaults(final Display display) {
+        final Doxygen doxygen = Doxygen.getDefault();
+        if (doxygen == null || fetchingDefaults == true) {
+            return;
+        }
+        fetchingDefaults = true;
+        Job job = new Job("Retrieving doxygen defaults") {
+            protected IStatus run(IProgressMonitor monitor) {
+                Map<String, String> values = null;
+                try {
+                    TemplateCache.Template template = TemplateCache.getDefault().getTemplate(doxygen);
+                    if (template != null) {
+                        values = template.getDefaultValues();
+                    }
+                } catch (Throwable throwable) {
+                    Plugin.log(throwable);
+                }
+
+                // Updates the comparison in the user interface thread.
+                final Map<String, String> defaultValues = values;
+                if (display.isDisposed() == false) {
+                    display.asyncExec(new Runnable() {
+                        public void run() {
+                            fetchingDefaults = false;
+                            if (defaultValues != null && defaultsComparator == null) {
+                                defaultsComparator = DoxyfileComparator.withDefaults(defaultValues);
+                                update();
+                            }
+                        }
+                    });
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+}
@@ -13,7 +13,7 @@
 
 package eclox.ui.editor.advanced.filters;
 
-import java.util.Iterator;
+import java.util.Collection;
 
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.Viewer;
@@ -21,8 +21,9 @@ import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.ui.forms.IManagedForm;
 
+import eclox.core.doxyfiles.ChangeSet;
 import eclox.core.doxyfiles.Doxyfile;
-import eclox.core.doxyfiles.ISettingPropertyListener;
+import eclox.core.doxyfiles.IDoxyfileListener;
 import eclox.core.doxyfiles.Setting;
 import eclox.ui.editor.Editor;
 
@@ -74,10 +75,10 @@ public class Modified implements IFilter {
     }
 
     /**
-     * Implements a setting property listener that will trigger
-     * the viewer refresh as soon as a setting dirty property changed.
+     * Implements a doxyfile listener that will trigger
+     * the viewer refresh as soon as setting dirty properties changed.
      */
-    private class MySettingPropertyListener implements ISettingPropertyListener {
+    private class MySettingPropertyListener implements IDoxyfileListener {
 
         /**
          * the doxyfile being listened
@@ -96,14 +97,9 @@ public class Modified implements IFilter {
             // Pre-condition
             assert this.doxyfile == null;
 
-            // References the doxyfile for later use.
+            // References the doxyfile for later use and attaches to it.
             this.doxyfile = doxyfile;
-            // Attaches to all settings.
-            Iterator<?> i = doxyfile.settingIterator();
-            while (i.hasNext()) {
-                Setting setting = (Setting) i.next();
-                setting.addSettingListener(this);
-            }
+            this.doxyfile.addDoxyfileListener(this);
 
             // Post-condition
             assert this.doxyfile != null;
@@ -118,12 +114,8 @@ public class Modified implements IFilter {
             // Pre-condition
             assert this.doxyfile != null;
 
-            // Detaches the listener instace from all settings
-            Iterator<?> i = this.doxyfile.settingIterator();
-            while (i.hasNext()) {
-                Setting setting = (Setting) i.next();
-                setting.removeSettingListener(this);
-            }
+            // Detaches the listener instance from the doxyfile
+            this.doxyfile.removeDoxyfileListener(this);
             // Unreferences the managed doxyfile.
             this.doxyfile = null;
 
@@ -131,18 +123,14 @@ public class Modified implements IFilter {
             assert this.doxyfile == null;
         }
 
-        public void settingPropertyChanged(Setting setting, String property) {
-            // Pre-condition
-            assert viewer != null;
-
-            viewer.update(setting, new String[] { Editor.PROP_SETTING_DIRTY });
-        }
-
-        public void settingPropertyRemoved(Setting setting, String property) {
+        public void doxyfileChanged(ChangeSet changes) {
             // Pre-condition
             assert viewer != null;
 
-            viewer.update(setting, new String[] { Editor.PROP_SETTING_DIRTY });
+            Collection<Setting> settings = changes.getPropertyChanges(Editor.PROP_SETTING_DIRTY);
+            if (settings.isEmpty() == false) {
+                viewer.update(settings.toArray(), new String[] { Editor.PROP_SETTING_DIRTY });
+            }
         }
 
     }
@@ -17,6 +17,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 
+import eclox.core.doxyfiles.Doxyfile;
 import eclox.core.doxyfiles.Setting;
 import eclox.ui.editor.editors.AbstractEditor;
 
@@ -27,16 +28,6 @@ import eclox.ui.editor.editors.AbstractEditor;
  */
 public abstract class MultiEditor extends AbstractEditor {
 
-    /**
-     * symbolic constant value for yes
-     */
-    private static final String YES = "YES";
-
-    /**
-     * symbolic constant value for no
-     */
-    private static final String NO = "NO";
-
     protected class State {
         private String name;
         private Set<Setting> selectedSettings = new HashSet<Setting>();
@@ -70,7 +61,7 @@ public abstract class MultiEditor extends AbstractEditor {
             while (i.hasNext()) {
                 Setting setting = (Setting) i.next();
 
-                wanted = wanted && setting.getValue().equals(YES);
+                wanted = wanted && setting.getBoolean(false) == true;
             }
 
             // Updates the selection according to the value of settings owned by the state.
@@ -78,7 +69,7 @@ public abstract class MultiEditor extends AbstractEditor {
             while (i.hasNext()) {
                 Setting setting = (Setting) i.next();
 
-                wanted = wanted && setting.getValue().equals(NO);
+                wanted = wanted && setting.getBoolean(true) == false;
             }
 
             // Job's done.
@@ -86,21 +77,40 @@ public abstract class MultiEditor extends AbstractEditor {
         }
 
         void commit() {
-            Iterator<Setting> i;
+            // Reports all changes of the state at once.
+            Doxyfile doxyfile = getOwner();
+            if (doxyfile != null) {
+                doxyfile.beginChanges();
+            }
+            try {
+                Iterator<Setting> i;
 
-            i = selectedSettings.iterator();
-            while (i.hasNext()) {
-                Setting setting = (Setting) i.next();
+                i = selectedSettings.iterator();
+                while (i.hasNext()) {
+                    Setting setting = (Setting) i.next();
 
-                setting.setValue(YES);
-            }
+                    setting.setBoolean(true);
+                }
 
-            i = deselectedSettings.iterator();
-            while (i.hasNext()) {
-                Setting setting = (Setting) i.next();
+                i = deselectedSettings.iterator();
+                while (i.hasNext()) {
+                    Setting setting = (Setting) i.next();
+
+                    setting.setBoolean(false);
+                }
+            } finally {
+                if (doxyfile != null) {
+                    doxyfile.commitChanges();
+                }
+            }
+        }
 
-                setting.setValue(NO);
+        private Doxyfile getOwner() {
+            Iterator<Setting> i = selectedSettings.iterator();
+            if (i.hasNext() == false) {
+                i = deselectedSettings.iterator();
             }
+            return i.hasNext() ? i.next().getOwner() : null;
         }
 
     }
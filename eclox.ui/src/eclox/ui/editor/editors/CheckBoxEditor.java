@@ -149,7 +149,7 @@ public class CheckBoxEditor extends SettingEditor {
 
         if (hasInput()) {
             // Updates the button state.
-            button.setSelection(getInput().getValue().equalsIgnoreCase(YES));
+            button.setSelection(getInput().getBoolean(false));
 
             fireEditorChanged();
         }
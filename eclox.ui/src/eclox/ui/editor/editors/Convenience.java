@@ -29,6 +29,7 @@ import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Shell;
 
 import eclox.core.doxyfiles.Doxyfile;
+import eclox.core.doxyfiles.VariableExpander;
 import eclox.ui.IPreferences;
 import eclox.ui.Plugin;
 
@@ -168,7 +169,7 @@ public final class Convenience {
      */
     public static String browseFileSystemForFile(Shell shell, Doxyfile doxyfile, String path) {
         // Retrieves the initial path.
-        IPath initialPath = new Path(path);
+        IPath initialPath = new Path(VariableExpander.getDefault().expand(path));
         if (initialPath.isAbsolute() == false) {
             initialPath = doxyfile.getIFile().getParent().getLocation().append(initialPath);
         }
@@ -210,7 +211,7 @@ public final class Convenience {
      */
     public static String browseFileSystemForDirectory(Shell shell, Doxyfile doxyfile, String path) {
         // Retrieves the initial path.
-        IPath initialPath = new Path(path);
+        IPath initialPath = new Path(VariableExpander.getDefault().expand(path));
         if (initialPath.isAbsolute() == false) {
             initialPath = doxyfile.getIFile().getParent().getLocation().append(initialPath);
         }
@@ -13,7 +13,6 @@
 
 package eclox.ui.editor.editors;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Vector;
@@ -293,8 +292,7 @@ public abstract class ListEditor extends SettingEditor {
         assert listViewer != null;
 
         if (hasInput()) {
-            valueCompounds = new Vector<String>();
-            getInput().getSplittedValue(valueCompounds);
+            valueCompounds = new Vector<String>(getInput().getSplittedValue());
             listViewer.setInput(valueCompounds);
 
             updateButtons();
@@ -316,10 +314,7 @@ public abstract class ListEditor extends SettingEditor {
         boolean result = false;
 
         if (hasInput()) {
-            Collection<String> values = new Vector<String>();
-
-            getInput().getSplittedValue(values);
-            result = valueCompounds.equals(values) == false;
+            result = valueCompounds.equals(getInput().getSplittedValue()) == false;
         }
         return result;
     }
@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (C) 2026, Andre Bossert
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Andre Bossert - first implementation
+ *
+ ******************************************************************************/
+
+package eclox.ui.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.DoubleClickEvent;
+import org.eclipse.jface.viewers.IDoubleClickListener;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.ide.IDE;
+import org.eclipse.ui.part.ViewPart;
+
+import eclox.core.doxyfiles.SettingIndex;
+import eclox.core.doxyfiles.SettingQuery;
+import eclox.core.doxyfiles.SettingSchema;
+import eclox.ui.Plugin;
+
+/**
+ * Implements a view querying the settings of all doxyfiles of the workspace and
+ * listing the matching doxyfiles, which are opened on double click.
+ *
+ * Queries run in the background against the shared {@link SettingIndex}.
+ */
+public class QueryView extends ViewPart {
+
+    /**
+     * the identifier of the view
+     */
+    public static final String ID = "eclox.ui.query.QueryView";
+
+    /**
+     * the labels of the conditions, in combo order
+     */
+    private static final String[] CONDITIONS = { "is defined", "equals", "contains item", "contains item matching", "matches" };
+
+    /**
+     * the combo control containing the setting identifier
+     */
+    private Combo identifierCombo;
+
+    /**
+     * the combo control containing the condition
+     */
+    private Combo conditionCombo;
+
+    /**
+     * the text control containing the expected value
+     */
+    private Text valueText;
+
+    /**
+     * the label showing the query status
+     */
+    private Label statusLabel;
+
+    /**
+     * the viewer showing the matches
+     */
+    private TableViewer viewer;
+
+    /**
+     * Implements a selection listener running the query once the button is pressed
+     * or enter is hit in a text control.
+     */
+    private class MySearchSelectionListener extends SelectionAdapter {
+
+        /**
+         * tells if plain selections run the query, like for buttons
+         */
+        private final boolean onSelection;
+
+        /**
+         * Constructor
+         *
+         * @param   onSelection true to run the query on plain selections too
+         */
+        MySearchSelectionListener(boolean onSelection) {
+            this.onSelection = onSelection;
+        }
+
+        public void widgetSelected(SelectionEvent e) {
+            if (onSelection == true) {
+                search();
+            }
+        }
+
+        public void widgetDefaultSelected(SelectionEvent e) {
+            search();
+        }
+
+    }
+
+    /**
+     * Implements a double click listener opening the selected doxyfiles.
+     */
+    private class MyDoubleClickListener implements IDoubleClickListener {
+
+        public void doubleClick(DoubleClickEvent event) {
+            for (Object element : ((IStructuredSelection) event.getSelection()).toList()) {
+                try {
+                    IDE.openEditor(getSite().getPage(), ((SettingIndex.Match) element).getFile());
+                } catch (PartInitException exception) {
+                    Plugin.log(exception);
+                }
+            }
+        }
+
+    }
+
+    public void createPartControl(Composite parent) {
+        parent.setLayout(new GridLayout(4, false));
+
+        // Creates the query controls.
+        identifierCombo = new Combo(parent, SWT.BORDER);
+        identifierCombo.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, false, false));
+        List<String> identifiers = new ArrayList<String>();
+        for (SettingSchema.Entry entry : SettingSchema.getDefault().getOrderedEntries()) {
+            identifiers.add(entry.getIdentifier());
+        }
+        identifierCombo.setItems(identifiers.toArray(new String[identifiers.size()]));
+        identifierCombo.addSelectionListener(new MySearchSelectionListener(false));
+
+        conditionCombo = new Combo(parent, SWT.BORDER | SWT.READ_ONLY);
+        conditionCombo.setItems(CONDITIONS);
+        conditionCombo.select(1);
+
+        valueText = new Text(parent, SWT.BORDER);
+        valueText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        valueText.addSelectionListener(new MySearchSelectionListener(false));
+
+        Button searchButton = new Button(parent, SWT.PUSH);
+        searchButton.setText("Search");
+        searchButton.addSelectionListener(new MySearchSelectionListener(true));
+
+        statusLabel = new Label(parent, SWT.NONE);
+        statusLabel.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 4, 1));
+
+        // Creates the viewer of the matches.
+        viewer = new TableViewer(parent, SWT.BORDER | SWT.MULTI | SWT.FULL_SELECTION | SWT.V_SCROLL);
+        viewer.getTable().setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 4, 1));
+        viewer.getTable().setHeaderVisible(true);
+        viewer.setContentProvider(ArrayContentProvider.getInstance());
+        TableViewerColumn fileColumn = new TableViewerColumn(viewer, SWT.NONE);
+        fileColumn.getColumn().setText("Doxyfile");
+        fileColumn.getColumn().setWidth(300);
+        fileColumn.setLabelProvider(new ColumnLabelProvider() {
+            public String getText(Object element) {
+                return ((SettingIndex.Match) element).getFile().getFullPath().toString();
+            }
+        });
+        TableViewerColumn valueColumn = new TableViewerColumn(viewer, SWT.NONE);
+        valueColumn.getColumn().setText("Value");
+        valueColumn.getColumn().setWidth(300);
+        valueColumn.setLabelProvider(new ColumnLabelProvider() {
+            public String getText(Object element) {
+                return ((SettingIndex.Match) element).getValue(0);
+            }
+        });
+        viewer.addDoubleClickListener(new MyDoubleClickListener());
+        getSite().setSelectionProvider(viewer);
+    }
+
+    public void setFocus() {
+        identifierCombo.setFocus();
+    }
+
+    /**
+     * Runs the query given by the controls in the background and shows the matches.
+     */
+    private void search() {
+        String identifier = identifierCombo.getText().trim();
+        if (identifier.isEmpty()) {
+            statusLabel.setText("Enter a setting identifier.");
+            return;
+        }
+        final SettingQuery query;
+        try {
+            query = createQuery(identifier, conditionCombo.getSelectionIndex(), valueText.getText());
+        } catch (PatternSyntaxException exception) {
+            statusLabel.setText(exception.getDescription());
+            return;
+        }
+
+        statusLabel.setText("Searching...");
+        final Display display = viewer.getControl().getDisplay();
+        Job job = new Job("Querying doxyfile settings") {
+            protected IStatus run(IProgressMonitor monitor) {
+                try {
+                    final List<SettingIndex.Match> matches = SettingIndex.getDefault().query(monitor, query);
+                    display.asyncExec(new Runnable() {
+                        public void run() {
+                            showMatches(query, matches);
+                        }
+                    });
+                    return Status.OK_STATUS;
+                } catch (OperationCanceledException exception) {
+                    display.asyncExec(new Runnable() {
+                        public void run() {
+                            if (statusLabel.isDisposed() == false) {
+                                statusLabel.setText("The query has been canceled.");
+                            }
+                        }
+                    });
+                    return Status.CANCEL_STATUS;
+                } catch (Throwable throwable) {
+                    display.asyncExec(new Runnable() {
+                        public void run() {
+                            if (statusLabel.isDisposed() == false) {
+                                statusLabel.setText("The query failed.");
+                            }
+                        }
+                    });
+                    return new Status(IStatus.ERROR, Plugin.getDefault().getBundle().getSymbolicName(), "Unable to query the doxyfile settings.", throwable);
+                }
+            }
+        };
+        job.schedule();
+    }
+
+    /**
+     * Shows the given matches.
+     *
+     * @param   query   the query that has been run
+     * @param   matches the matches of the query
+     */
+    private void showMatches(SettingQuery query, Collection<SettingIndex.Match> matches) {
+        if (viewer.getControl().isDisposed()) {
+            return;
+        }
+        viewer.setInput(matches.toArray());
+        statusLabel.setText(matches.size() + " doxyfile(s) where " + query);
+    }
+
+    /**
+     * Creates the query of the given condition.
+     *
+     * @param   identifier  a string containing a setting identifier
+     * @param   condition   the index of the condition
+     * @param   value       a string containing the value to test against
+     *
+     * @return  a new query
+     */
+    private static SettingQuery createQuery(String identifier, int condition, String value) {
+        switch (condition) {
+        case 0:
+            return SettingQuery.isDefined(identifier);
+        case 2:
+            return SettingQuery.hasToken(identifier, value.trim());
+        case 3:
+            return SettingQuery.hasTokenMatching(identifier, Pattern.compile(value.trim()));
+        case 4:
+            return SettingQuery.isMatching(identifier, Pattern.compile(value.trim()));
+        default:
+            return SettingQuery.isEqual(identifier, value);
+        }
+    }
+
+}
@@ -25,6 +25,7 @@ import org.eclipse.ui.IWorkbench;
 import eclox.core.doxygen.Doxygen;
 import eclox.core.doxygen.InvokeException;
 import eclox.core.doxygen.RunException;
+import eclox.core.doxygen.TemplateCache;
 import eclox.ui.Plugin;
 
 /**
@@ -54,6 +55,11 @@ public class NewDoxyfileWizard extends Wizard implements INewWizard {
         m_page = new NewDoxyfileWizardPage(selection);
         addPage(m_page);
         setWindowTitle("New Doxygen Configuration");
+        // Generates the template while the user chooses the file name.
+        Doxygen doxygen = Doxygen.getDefault();
+        if (doxygen != null) {
+            TemplateCache.getDefault().prefetch(doxygen);
+        }
     }
 
     /**